@@ -7,8 +7,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 
 @SpringBootApplication(scanBasePackages = {"de.leipzig.htwk.gitrdf.listener", "de.leipzig.htwk.gitrdf.database.common"})
-@EntityScan(basePackages = "de.leipzig.htwk.gitrdf.database.common.entity")
-@EnableJpaRepositories(basePackages = "de.leipzig.htwk.gitrdf.database.common.repository")
+@EntityScan(basePackages = {"de.leipzig.htwk.gitrdf.database.common.entity", "de.leipzig.htwk.gitrdf.listener.domain.entity"})
+@EnableJpaRepositories(basePackages = {"de.leipzig.htwk.gitrdf.database.common.repository", "de.leipzig.htwk.gitrdf.listener.repository"})
 public class ListenerApplication {
 
 	public static void main(String[] args) {
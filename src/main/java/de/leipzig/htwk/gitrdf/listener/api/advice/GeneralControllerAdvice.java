@@ -2,24 +2,35 @@ package de.leipzig.htwk.gitrdf.listener.api.advice;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.stream.Collectors;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
 import de.leipzig.htwk.gitrdf.listener.api.exception.NotFoundException;
+import de.leipzig.htwk.gitrdf.listener.api.exception.RangeNotSatisfiableException;
 import de.leipzig.htwk.gitrdf.listener.api.exception.RatingsNotFoundException;
 import de.leipzig.htwk.gitrdf.listener.api.model.response.error.BadRequestErrorResponse;
 import de.leipzig.htwk.gitrdf.listener.api.model.response.error.InternalServerErrorResponse;
 import de.leipzig.htwk.gitrdf.listener.api.model.response.error.NotFoundErrorResponse;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.error.RangeNotSatisfiableErrorResponse;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.error.ServiceUnavailableErrorResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 
 @ControllerAdvice
 @Slf4j
 public class GeneralControllerAdvice {
 
+    private static final int DOWNLOAD_RETRY_AFTER_SECONDS = 5;
+
     @ExceptionHandler(value = BadRequestException.class)
     public ResponseEntity<BadRequestErrorResponse> handleBadRequestException(BadRequestException ex) {
 
@@ -31,6 +42,16 @@ public class GeneralControllerAdvice {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(value = MethodArgumentNotValidException.class)
+    public ResponseEntity<BadRequestErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
+
+        String fieldErrors = ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> String.format("'%s' %s", error.getField(), error.getDefaultMessage()))
+                .collect(Collectors.joining(", "));
+
+        return handleBadRequestException(BadRequestException.invalidRequestBody(fieldErrors));
+    }
+
     @ExceptionHandler(value = NotFoundException.class)
     public ResponseEntity<NotFoundErrorResponse> handleNotFoundException(NotFoundException ex) {
 
@@ -51,6 +72,36 @@ public class GeneralControllerAdvice {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(value = RangeNotSatisfiableException.class)
+    public ResponseEntity<RangeNotSatisfiableErrorResponse> handleRangeNotSatisfiableException(RangeNotSatisfiableException ex) {
+
+        log.info("Range not satisfiable exception during request handling.", ex);
+
+        RangeNotSatisfiableErrorResponse response = new RangeNotSatisfiableErrorResponse(ex.getStatus(), ex.getReason(),
+                ex.getSolution());
+
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + ex.getContentLength())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    @ExceptionHandler(value = TaskRejectedException.class)
+    public ResponseEntity<ServiceUnavailableErrorResponse> handleTaskRejectedException(
+            TaskRejectedException ex,
+            HttpServletResponse response) {
+
+        log.warn("Download rejected, all download threads and queue slots are in use. Exception is '{}'", ex.getMessage());
+
+        // the headers of the rejected download were already set, but the response isn't committed yet
+        response.reset();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(DOWNLOAD_RETRY_AFTER_SECONDS))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ServiceUnavailableErrorResponse.downloadsSaturated());
+    }
+
     @ExceptionHandler(value = IOException.class)
     public ResponseEntity<InternalServerErrorResponse> handleIOException(IOException ex) {
 
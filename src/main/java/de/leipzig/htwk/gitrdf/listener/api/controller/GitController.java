@@ -21,8 +21,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.*;
 import java.sql.SQLException;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 /**
  * Deprecated. Either remove or update this controller, so it uses with the newest GitHub conversion functionality
@@ -58,12 +56,7 @@ public class GitController {
             throw BadRequestException.unsupportedContentType(expectedContentType);
         }
 
-        boolean isValidDotGitZip = multipartFileIsZipFileAndOnlyContainsDotGitFolderStructure(file);
-
-        if (!isValidDotGitZip) {
-            throw BadRequestException.invalidZipFile();
-        }
-
+        // the zip entries are validated while the file is stored, so it is read only once
         Long id = null;
         try (InputStream inputStream = new BufferedInputStream(file.getInputStream())) {
             id = gitService.insertGitMultipartFileIntoQueue(inputStream, file.getSize(), fileName);
@@ -96,44 +89,4 @@ public class GitController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
-    private boolean multipartFileIsZipFileAndOnlyContainsDotGitFolderStructure(MultipartFile file) throws IOException {
-
-        try (ZipInputStream zipStream = new ZipInputStream(file.getInputStream())) {
-
-            ZipEntry zipEntry;
-
-            while ((zipEntry = zipStream.getNextEntry()) != null) {
-
-                if (isTopLevelDirectory(zipEntry)) {
-
-                    String entryName = removeTrailingSlash(zipEntry.getName());
-
-                    if (!entryName.equals(".git")) {
-                        return false;
-                    }
-
-                } else if (!entryIsPartOfDotGitFileParent(zipEntry)) {
-                    return false;
-                }
-
-                zipStream.closeEntry();
-            }
-
-        }
-
-        return true;
-    }
-
-    private boolean isTopLevelDirectory(ZipEntry zipEntry) {
-        return zipEntry.isDirectory() && !removeTrailingSlash(zipEntry.getName()).contains("/");
-    }
-
-    private boolean entryIsPartOfDotGitFileParent(ZipEntry zipEntry) {
-        return zipEntry.getName().startsWith(".git");
-    }
-
-    private String removeTrailingSlash(String value) {
-        return value.substring(0, value.length() - 1);
-    }
-
 }
@@ -0,0 +1,122 @@
+package de.leipzig.htwk.gitrdf.listener.api.controller;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import de.leipzig.htwk.gitrdf.listener.api.documentation.GeneralInternalServerErrorApiResponse;
+import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
+import de.leipzig.htwk.gitrdf.listener.api.model.request.InitGitUploadRequestBody;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.GitRepositorySavedResponse;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.GitUploadResponse;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.error.BadRequestErrorResponse;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.error.NotFoundErrorResponse;
+import de.leipzig.htwk.gitrdf.listener.service.GitUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Uploads of .git repository zip files, either as a single request body or in chunks. Unlike a single upload an
+ * interrupted chunked upload can be resumed with its missing chunks.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/listener-service/api/v1/git/uploads")
+@Tag(name = "Git Upload API")
+public class GitUploadController {
+
+    private static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-SHA256";
+
+    private static final String ZIP_MEDIA_TYPE = "application/zip";
+
+    private final GitUploadService gitUploadService;
+
+    @Operation(summary = "Upload a zip file in a single request", description = "The request body is the zip file, sent with its Content-Length. It is validated while it is stored and never spooled to disk.")
+    @ApiResponse(responseCode = "200", description = "Added the uploaded file to the queue", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GitRepositorySavedResponse.class)))
+    @ApiResponse(responseCode = "400", description = "No file name, an invalid size or an invalid zip file was given", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
+    @GeneralInternalServerErrorApiResponse
+    @PostMapping(path = "/zip", consumes = ZIP_MEDIA_TYPE)
+    public GitRepositorySavedResponse uploadZip(
+            @Parameter(description = "Name of the file") @RequestParam("name") String fileName,
+            HttpServletRequest request) throws IOException {
+
+        if (StringUtils.isBlank(fileName)) {
+            throw BadRequestException.noFileNameWasGiven();
+        }
+
+        try (InputStream inputStream = new BufferedInputStream(request.getInputStream())) {
+            return new GitRepositorySavedResponse(
+                    gitUploadService.uploadZip(inputStream, request.getContentLengthLong(), fileName));
+        }
+    }
+
+    @Operation(summary = "Start a chunked upload", description = "The response defines the chunk size and the number of chunks of the upload.")
+    @ApiResponse(responseCode = "200", description = "Started the upload", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GitUploadResponse.class)))
+    @ApiResponse(responseCode = "400", description = "No file name or an invalid size was given", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
+    @GeneralInternalServerErrorApiResponse
+    @PostMapping
+    public GitUploadResponse initUpload(@RequestBody InitGitUploadRequestBody requestBody) {
+
+        if (StringUtils.isBlank(requestBody.getFileName())) {
+            throw BadRequestException.noFileNameWasGiven();
+        }
+
+        return GitUploadResponse.from(gitUploadService.initUpload(requestBody.getFileName(), requestBody.getTotalSize()));
+    }
+
+    @Operation(summary = "Get an upload", description = "Lists the missing chunks, e.g. to resume an interrupted upload.")
+    @ApiResponse(responseCode = "200", description = "The upload", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GitUploadResponse.class)))
+    @ApiResponse(responseCode = "404", description = "No upload found, e.g. because it expired", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NotFoundErrorResponse.class)))
+    @GeneralInternalServerErrorApiResponse
+    @GetMapping(path = "/{uploadId}")
+    public GitUploadResponse getUpload(@PathVariable("uploadId") String uploadId) {
+        return GitUploadResponse.from(gitUploadService.getUpload(uploadId));
+    }
+
+    @Operation(summary = "Upload a chunk", description = "Chunks can be sent in any order and again. A chunk with an unexpected length or checksum isn't stored.")
+    @ApiResponse(responseCode = "200", description = "Stored the chunk", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GitUploadResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid chunk index, length or checksum", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "No upload found, e.g. because it expired", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NotFoundErrorResponse.class)))
+    @GeneralInternalServerErrorApiResponse
+    @PutMapping(path = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public GitUploadResponse uploadChunk(
+            @PathVariable("uploadId") String uploadId,
+            @PathVariable("index") int index,
+            @Parameter(description = "Hex encoded SHA-256 checksum of the chunk") @RequestHeader(CHUNK_CHECKSUM_HEADER) String sha256Checksum,
+            HttpServletRequest request) throws IOException {
+
+        try (InputStream inputStream = request.getInputStream()) {
+            return GitUploadResponse.from(gitUploadService.uploadChunk(
+                    uploadId, index, inputStream, request.getContentLengthLong(), sha256Checksum));
+        }
+    }
+
+    @Operation(summary = "Complete an upload", description = "Validates the uploaded zip file and adds it to the queue. An invalid zip file ends the upload.")
+    @ApiResponse(responseCode = "200", description = "Added the uploaded file to the queue", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GitRepositorySavedResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Missing chunks or invalid zip file", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "No upload found, e.g. because it expired", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NotFoundErrorResponse.class)))
+    @GeneralInternalServerErrorApiResponse
+    @PostMapping(path = "/{uploadId}/complete")
+    public GitRepositorySavedResponse completeUpload(@PathVariable("uploadId") String uploadId) {
+        return new GitRepositorySavedResponse(gitUploadService.completeUpload(uploadId));
+    }
+
+}
@@ -1,16 +1,14 @@
 package de.leipzig.htwk.gitrdf.listener.api.controller;
 
-import java.io.BufferedInputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,33 +18,66 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
-import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.listener.api.documentation.DownloadsSaturatedServiceUnavailableApiResponse;
 import de.leipzig.htwk.gitrdf.listener.api.documentation.GeneralInternalServerErrorApiResponse;
 import de.leipzig.htwk.gitrdf.listener.api.documentation.InvalidLongIdBadRequestApiResponse;
 import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
 import de.leipzig.htwk.gitrdf.listener.api.model.request.AddGithubRepoFilterRequestBody;
+import de.leipzig.htwk.gitrdf.listener.api.model.request.AddGithubReposBulkRequestBody;
 import de.leipzig.htwk.gitrdf.listener.api.model.request.AddGithupRepoRequestBody;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.GithubRepositoryBulkSavedItemResponse;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.GithubRepositoryBulkSavedResponse;
 import de.leipzig.htwk.gitrdf.listener.api.model.response.GithubRepositoryOrderResponse;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.GithubRepositoryOrderStatusEventResponse;
 import de.leipzig.htwk.gitrdf.listener.api.model.response.GithubRepositorySavedResponse;
 import de.leipzig.htwk.gitrdf.listener.api.model.response.error.BadRequestErrorResponse;
 import de.leipzig.htwk.gitrdf.listener.api.model.response.error.NotFoundErrorResponse;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.error.RangeNotSatisfiableErrorResponse;
+import de.leipzig.htwk.gitrdf.listener.domain.model.ByteRange;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryOrderPage;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryOrderPageRequest;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryQueueEntry;
+import de.leipzig.htwk.gitrdf.listener.domain.model.RdfFileVersion;
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.ContentEncoding;
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.RdfFormat;
 import de.leipzig.htwk.gitrdf.listener.factory.GithubRepositoryFilterFactory;
+import de.leipzig.htwk.gitrdf.listener.metrics.ListenerMetrics;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.AnalysisRdfInfo;
+import de.leipzig.htwk.gitrdf.listener.service.DownloadCachePolicy;
+import de.leipzig.htwk.gitrdf.listener.service.DownloadCompressor;
+import de.leipzig.htwk.gitrdf.listener.service.DownloadConcurrencyLimiter;
 import de.leipzig.htwk.gitrdf.listener.service.GithubService;
+import de.leipzig.htwk.gitrdf.listener.service.OrderStatusEventPublisher;
 import de.leipzig.htwk.gitrdf.listener.service.RatingsService;
+import de.leipzig.htwk.gitrdf.listener.service.RdfConversionService;
+import de.leipzig.htwk.gitrdf.listener.utils.ByteRangeUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.ContentEncodingUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.CursorUtils;
 import de.leipzig.htwk.gitrdf.listener.utils.LongUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.RdfFormatUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -57,9 +88,33 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Github API")
 public class GithubController {
 
+        private static final int DEFAULT_PAGE_SIZE = 100;
+
+        private static final int MAX_PAGE_SIZE = 1000;
+
+        private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+        private static final int MAX_BULK_SIZE = 1000;
+
+        private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+        private static final String IDEMPOTENCY_KEY_DESCRIPTION = "Optional unique key of the request, e.g. a UUID. Retries with the same key return the order of the first request.";
+
+        private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+        private static final long MAX_WAIT_SECONDS = 60;
+
+        private static final String BUNDLE_COMPRESSION_DESCRIPTION = "The bundle is compressed with gzip or deflate if the 'Accept-Encoding' header allows it and it exceeds the configured minimum size.";
+
         private final GithubService githubService;
         private final RatingsService ratingsService; // Add this dependency
         private final GithubRepositoryFilterFactory githubRepositoryFilterFactory;
+        private final ListenerMetrics listenerMetrics;
+        private final DownloadConcurrencyLimiter downloadConcurrencyLimiter;
+        private final OrderStatusEventPublisher orderStatusEventPublisher;
+        private final RdfConversionService rdfConversionService;
+        private final DownloadCompressor downloadCompressor;
+        private final DownloadCachePolicy downloadCachePolicy;
 
         @Operation(summary = "Get order IDs that have expert analyses")
         @ApiResponse(responseCode = "200", description = "List of order IDs with expert analyses", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Long.class))))
@@ -69,46 +124,67 @@ public class GithubController {
                 return ratingsService.getOrderIdsWithExperts();
         }
 
-        @Operation(summary = "Get all github order entries")
-        @ApiResponse(responseCode = "200", description = "All github order entries", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = GithubRepositoryOrderResponse.class))))
+        @Operation(summary = "Get a page of github order entries", description = "Pages are ordered by id. If there are more entries, the cursor for the next page is returned in the 'X-Next-Cursor' header.")
+        @ApiResponse(responseCode = "200", description = "A page of github order entries", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = GithubRepositoryOrderResponse.class))))
+        @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
         @GeneralInternalServerErrorApiResponse
         @GetMapping
-        public List<GithubRepositoryOrderResponse> getAllGithubRepositoryOrderEntries() {
-                List<GithubRepositoryOrderEntity> results = githubService.findAll();
+        public ResponseEntity<List<GithubRepositoryOrderResponse>> getAllGithubRepositoryOrderEntries(
+                        @Parameter(description = "Cursor of the 'X-Next-Cursor' header of the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Maximum number of entries per page (1 - " + MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                        @Parameter(description = "Only entries with this status") @RequestParam(required = false) String status,
+                        @Parameter(description = "Only entries of this owner (case insensitive)") @RequestParam(required = false) String owner,
+                        @Parameter(description = "Only entries of this repository (case insensitive)") @RequestParam(required = false) String repository) {
+
+                if (size < 1 || size > MAX_PAGE_SIZE) {
+                        throw BadRequestException.invalidPageSize(size, MAX_PAGE_SIZE);
+                }
+
+                GithubRepositoryOrderPageRequest pageRequest = new GithubRepositoryOrderPageRequest(
+                                cursor == null ? null : CursorUtils.decodeIdCursorOrThrowException(cursor),
+                                size,
+                                parseOrderStatusOrThrowException(status),
+                                StringUtils.trimToNull(owner),
+                                StringUtils.trimToNull(repository));
 
-                // Convert to response with ratings and statistics counts
-                return results.stream()
+                GithubRepositoryOrderPage page = githubService.findPage(pageRequest);
+
+                // One grouped query for the counts of the whole page instead of statistics queries per order
+                Map<Long, RatingsService.OrderAnalysisCounts> countsByOrderId = ratingsService.getAnalysisCountsByOrderIds(
+                                page.getOrders().stream().map(GithubRepositoryOrderEntity::getId).toList());
+
+                List<GithubRepositoryOrderResponse> responses = page.getOrders().stream()
                                 .map(entity -> {
-                                        try {
-                                                // Get the statistics for this order
-                                                RatingsService.OrderStatistics stats = ratingsService
-                                                                .getOrderStatistics(entity.getId());
-
-                                                // Use the fromWithRatings method to include the counts
-                                                return GithubRepositoryOrderResponse.fromWithRatings(
-                                                                entity,
-                                                                stats.getTotalRatings(),
-                                                                stats.getTotalStatistics(),
-                                                                stats.getTotalExperts());
-                                        } catch (Exception e) {
-                                                // If there's an error getting statistics, log it and return basic
-                                                // response
-                                                log.warn("Could not get statistics for order ID {}: {}", entity.getId(),
-                                                                e.getMessage());
-                                                return GithubRepositoryOrderResponse.from(entity);
-                                        }
+                                        RatingsService.OrderAnalysisCounts counts = countsByOrderId.getOrDefault(
+                                                        entity.getId(), RatingsService.OrderAnalysisCounts.EMPTY);
+
+                                        return GithubRepositoryOrderResponse.fromWithRatings(
+                                                        entity,
+                                                        counts.getTotalRatings(),
+                                                        counts.getTotalStatistics(),
+                                                        counts.getTotalExperts());
                                 })
                                 .collect(Collectors.toList());
+
+                ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+
+                if (page.hasNextPage()) {
+                        responseBuilder.header(NEXT_CURSOR_HEADER, CursorUtils.encodeIdCursor(page.getNextAfterId()));
+                }
+
+                return responseBuilder.body(responses);
         }
 
-        @Operation(summary = "Add a github entry to the queue")
+        @Operation(summary = "Add a github entry to the queue", description = "If an equal entry (same repository and filter) is still received or processing, its id is returned instead of queueing the repository again.")
         @ApiResponse(responseCode = "200", description = "Added the specified github entry to the queue", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GithubRepositorySavedResponse.class)))
         @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class), examples = {
                         @ExampleObject(name = "No owner was specified", description = "No owner was specified", value = "{\"status\": \"Bad Request\", \"reason\": \"No owner was specified\", \"solution\": \"Specify an owner. For example: 'dotnet' (who is the owner for example of the repo 'core')\"}"),
                         @ExampleObject(name = "No repository was specified", description = "No repository was specified", value = "{\"status\": \"Bad Request\", \"reason\": \"No repository was specified\", \"solution\": \"Specify a repository. For example: 'core' (the owner 'dotnet' provides for example a 'core' repository)\"}") }))
         @GeneralInternalServerErrorApiResponse
         @PostMapping("/queue")
-        public GithubRepositorySavedResponse addGithubRepo(@RequestBody AddGithupRepoRequestBody requestBody) {
+        public GithubRepositorySavedResponse addGithubRepo(
+                        @RequestBody AddGithupRepoRequestBody requestBody,
+                        @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
                 if (StringUtils.isBlank(requestBody.getOwner())) {
                         throw BadRequestException.noOwnerSpecified();
@@ -121,12 +197,13 @@ public class GithubController {
                 long id = githubService.insertGithubRepositoryIntoQueue(
                                 requestBody.getOwner(),
                                 requestBody.getRepository(),
-                                GithubRepositoryFilter.DEFAULT);
+                                GithubRepositoryFilter.DEFAULT,
+                                validateIdempotencyKeyOrThrowException(idempotencyKey));
 
                 return new GithubRepositorySavedResponse(id);
         }
 
-        @Operation(summary = "Add a github entry to the queue while also specifying filter properties", description = "At least one filter property has to be set. Left out filter properties will be disabled.")
+        @Operation(summary = "Add a github entry to the queue while also specifying filter properties", description = "At least one filter property has to be set. Left out filter properties will be disabled. If an equal entry (same repository and filter) is still received or processing, its id is returned instead of queueing the repository again.")
         @ApiResponse(responseCode = "200", description = "Added the specified github entry with the specified filter properties to the queue", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GithubRepositorySavedResponse.class)))
         @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class), examples = {
                         @ExampleObject(name = "No owner was specified", description = "No owner was specified", value = "{\"status\": \"Bad Request\", \"reason\": \"No owner was specified\", \"solution\": \"Specify an owner. For example: 'dotnet' (who is the owner for example of the repo 'core')\"}"),
@@ -136,7 +213,8 @@ public class GithubController {
         @GeneralInternalServerErrorApiResponse
         @PostMapping("/queue/filter")
         public GithubRepositorySavedResponse addGithubRepoWithFilter(
-                        @RequestBody AddGithubRepoFilterRequestBody requestBody) {
+                        @RequestBody AddGithubRepoFilterRequestBody requestBody,
+                        @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
                 if (StringUtils.isBlank(requestBody.getOwner())) {
                         throw BadRequestException.noOwnerSpecified();
@@ -159,46 +237,122 @@ public class GithubController {
                 long id = githubService.insertGithubRepositoryIntoQueue(
                                 requestBody.getOwner(),
                                 requestBody.getRepository(),
-                                githubRepositoryFilter);
+                                githubRepositoryFilter,
+                                validateIdempotencyKeyOrThrowException(idempotencyKey));
 
                 return new GithubRepositorySavedResponse(id);
         }
 
-        @Operation(summary = "Check if RDF file is available for download")
+        @Operation(summary = "Add many github entries to the queue at once", description = "All valid entries are added within a single transaction. Entries without a repository filter use the default filter. Entries equal to a received or processing entry get the id of that entry. Invalid entries are reported per entry and don't prevent the valid ones from being added.")
+        @ApiResponse(responseCode = "200", description = "Ids of the added entries and errors of the invalid entries", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GithubRepositoryBulkSavedResponse.class)))
+        @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class), examples = {
+                        @ExampleObject(name = "Invalid number of repositories", description = "No or too many repositories were given", value = "{\"status\": \"Bad Request\", \"reason\": \"Invalid number of repositories '0' was given\", \"solution\": \"Provide between 1 and 1000 repositories per request\"}") }))
+        @GeneralInternalServerErrorApiResponse
+        @PostMapping("/queue/bulk")
+        public GithubRepositoryBulkSavedResponse addGithubReposInBulk(@Valid @RequestBody AddGithubReposBulkRequestBody requestBody) {
+
+                List<AddGithubRepoFilterRequestBody> repositories = requestBody.getRepositories();
+
+                if (repositories.isEmpty() || repositories.size() > MAX_BULK_SIZE) {
+                        throw BadRequestException.invalidBulkSize(repositories.size(), MAX_BULK_SIZE);
+                }
+
+                GithubRepositoryBulkSavedItemResponse[] items = new GithubRepositoryBulkSavedItemResponse[repositories.size()];
+                List<Integer> validIndexes = new ArrayList<>(repositories.size());
+                List<GithubRepositoryQueueEntry> validEntries = new ArrayList<>(repositories.size());
+
+                for (int i = 0; i < repositories.size(); i++) {
+
+                        AddGithubRepoFilterRequestBody repository = repositories.get(i);
+
+                        if (repository == null) {
+                                items[i] = GithubRepositoryBulkSavedItemResponse.failed(i, null, null, "No repository entry was given");
+                                continue;
+                        }
+
+                        try {
+                                validEntries.add(toQueueEntryOrThrowException(repository));
+                                validIndexes.add(i);
+                        } catch (BadRequestException ex) {
+                                items[i] = GithubRepositoryBulkSavedItemResponse.failed(
+                                                i, repository.getOwner(), repository.getRepository(), ex.getReason());
+                        }
+                }
+
+                if (!validEntries.isEmpty()) {
+
+                        List<Long> ids = githubService.insertGithubRepositoriesIntoQueue(validEntries);
+
+                        for (int i = 0; i < validIndexes.size(); i++) {
+                                GithubRepositoryQueueEntry entry = validEntries.get(i);
+                                items[validIndexes.get(i)] = GithubRepositoryBulkSavedItemResponse.saved(
+                                                validIndexes.get(i), entry.getOwner(), entry.getRepository(), ids.get(i));
+                        }
+                }
+
+                return GithubRepositoryBulkSavedResponse.from(Arrays.asList(items));
+        }
+
+        @Operation(summary = "Check if RDF file is available for download", description = "With waitSeconds the request waits up to the given number of seconds for the order to be done before it answers. Instead of polling this endpoint, subscribe to /orders/{id}/events to be notified when the order is done.")
         @ApiResponse(responseCode = "200", description = "RDF file availability status")
         @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
         @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NotFoundErrorResponse.class)))
         @GeneralInternalServerErrorApiResponse
         @InvalidLongIdBadRequestApiResponse
         @GetMapping("/rdf/{id}")
-        public ResponseEntity<String> checkRdfAvailability(@PathVariable String id) {
+        public CompletableFuture<ResponseEntity<String>> checkRdfAvailability(
+                        @PathVariable String id,
+                        @Parameter(description = "Optional time in seconds (at most 60) to wait for the RDF file to become available") @RequestParam(required = false) Long waitSeconds) {
 
                 // Use the correct method to validate and convert string to long
                 long parsedId = LongUtils.convertStringToLongIdOrThrowException(id);
-                boolean isAvailable = githubService.isRdfFileAvailable(parsedId);
 
-                if (isAvailable) {
-                        return ResponseEntity.ok("RDF file is available");
-                } else {
-                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("RDF file not available");
+                if (waitSeconds != null && (waitSeconds < 0 || waitSeconds > MAX_WAIT_SECONDS)) {
+                        throw BadRequestException.invalidWaitSeconds(waitSeconds, MAX_WAIT_SECONDS);
+                }
+
+                if (waitSeconds == null || waitSeconds == 0) {
+                        return CompletableFuture.completedFuture(toRdfAvailabilityResponse(githubService.isRdfFileAvailable(parsedId)));
                 }
+
+                // the request thread is released while waiting, the status transitions complete the future
+                return orderStatusEventPublisher
+                                .awaitDone(parsedId, Duration.ofSeconds(waitSeconds), () -> githubService.isRdfFileAvailable(parsedId))
+                                .thenApply(this::toRdfAvailabilityResponse);
+        }
+
+        @Operation(summary = "Subscribe to the status of an order", description = "Server-sent event stream. Sends the current status right away and every status transition afterwards as 'status' event. The stream ends when the order is done, or with a 'deleted' event when the order is deleted.")
+        @ApiResponse(responseCode = "200", description = "Stream of status events", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = GithubRepositoryOrderStatusEventResponse.class)))
+        @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
+        @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NotFoundErrorResponse.class)))
+        @GeneralInternalServerErrorApiResponse
+        @InvalidLongIdBadRequestApiResponse
+        @GetMapping(value = "/orders/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter subscribeToOrderStatus(@PathVariable String id) {
+
+                long parsedId = LongUtils.convertStringToLongIdOrThrowException(id);
+                return orderStatusEventPublisher.subscribe(parsedId);
         }
 
-        @Operation(summary = "Download all expert RDF files for an order")
+        @Operation(summary = "Download all expert RDF files for an order", description = BUNDLE_COMPRESSION_DESCRIPTION)
         @ApiResponse(responseCode = "200", description = "Expert RDF files download", content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE))
         @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
         @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NotFoundErrorResponse.class)))
         @GeneralInternalServerErrorApiResponse
+        @DownloadsSaturatedServiceUnavailableApiResponse
         @InvalidLongIdBadRequestApiResponse
         @GetMapping(value = "/rdf/experts/download/{orderId}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
         @ResponseBody
-        public ResponseEntity<Resource> downloadExpertRdfFiles(@PathVariable String orderId) throws SQLException, IOException {
+        public ResponseEntity<StreamingResponseBody> downloadExpertRdfFiles(
+                        @PathVariable String orderId,
+                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncodingHeader,
+                        HttpServletResponse response) {
 
                 // Use the correct method to validate and convert string to long
                 long parsedOrderId = LongUtils.convertStringToLongIdOrThrowException(orderId);
 
                 // Get all expert analyses with RDF data for this order
-                List<GithubRepositoryOrderAnalysisEntity> experts = ratingsService.getExpertsWithRdfByOrderId(parsedOrderId);
+                List<AnalysisRdfInfo> experts = ratingsService.getRdfInfosWithRdfByOrderId(parsedOrderId, AnalysisType.EXPERT);
                 
                 if (experts.isEmpty()) {
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -222,25 +376,31 @@ public class GithubController {
                 
                 return ResponseEntity.ok()
                                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + filename)
+                                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
                                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                                .body(downloadResult.getResource());
+                                .body(downloadConcurrencyLimiter.limit(listenerMetrics.instrumentDownload("experts",
+                                                compressBundle(downloadResult.getBody(), acceptEncodingHeader, response))));
         }
 
-        @Operation(summary = "Download all rating RDF files for an order")
+        @Operation(summary = "Download all rating RDF files for an order", description = BUNDLE_COMPRESSION_DESCRIPTION)
         @ApiResponse(responseCode = "200", description = "Rating RDF files download", content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE))
         @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
         @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NotFoundErrorResponse.class)))
         @GeneralInternalServerErrorApiResponse
+        @DownloadsSaturatedServiceUnavailableApiResponse
         @InvalidLongIdBadRequestApiResponse
         @GetMapping(value = "/rdf/ratings/download/{orderId}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
         @ResponseBody
-        public ResponseEntity<Resource> downloadRatingRdfFiles(@PathVariable String orderId) throws SQLException, IOException {
+        public ResponseEntity<StreamingResponseBody> downloadRatingRdfFiles(
+                        @PathVariable String orderId,
+                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncodingHeader,
+                        HttpServletResponse response) {
 
                 // Use the correct method to validate and convert string to long
                 long parsedOrderId = LongUtils.convertStringToLongIdOrThrowException(orderId);
 
                 // Get all rating analyses with RDF data for this order
-                List<GithubRepositoryOrderAnalysisEntity> ratings = ratingsService.getRatingsWithRdfByOrderId(parsedOrderId);
+                List<AnalysisRdfInfo> ratings = ratingsService.getRdfInfosWithRdfByOrderId(parsedOrderId, AnalysisType.RATING);
                 
                 if (ratings.isEmpty()) {
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -264,32 +424,105 @@ public class GithubController {
                 
                 return ResponseEntity.ok()
                                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + filename)
+                                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
                                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                                .body(downloadResult.getResource());
+                                .body(downloadConcurrencyLimiter.limit(listenerMetrics.instrumentDownload("ratings",
+                                                compressBundle(downloadResult.getBody(), acceptEncodingHeader, response))));
         }
 
-        @Operation(summary = "Download RDF file")
-        @ApiResponse(responseCode = "200", description = "RDF file download", content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE))
+        @Operation(summary = "Download RDF file", description = "The format is negotiated with the 'Accept' header: 'text/turtle' (the stored file), 'application/n-triples' or 'application/rdf+thrift'. "
+                        + "Without a specific rdf format, the stored turtle file is downloaded as octet stream. "
+                        + "Compressed turtle files are sent gzip encoded if the 'Accept-Encoding' header allows it, otherwise they are decompressed while they are streamed. "
+                        + "Supports resuming downloads with a single byte range in the 'Range' header, except for decompressed files. Multiple ranges are rejected. "
+                        + "Responses carry a strong 'ETag' and 'Last-Modified', conditional requests with 'If-None-Match' or 'If-Modified-Since' are answered with 304 if the file didn't change.")
+        @ApiResponse(responseCode = "200", description = "RDF file download", content = {
+                        @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE),
+                        @Content(mediaType = RdfFormat.TURTLE_VALUE),
+                        @Content(mediaType = RdfFormat.N_TRIPLES_VALUE),
+                        @Content(mediaType = RdfFormat.RDF_THRIFT_VALUE) })
+        @ApiResponse(responseCode = "206", description = "Requested byte range of the RDF file", content = {
+                        @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE),
+                        @Content(mediaType = RdfFormat.TURTLE_VALUE),
+                        @Content(mediaType = RdfFormat.N_TRIPLES_VALUE),
+                        @Content(mediaType = RdfFormat.RDF_THRIFT_VALUE) })
+        @ApiResponse(responseCode = "304", description = "The RDF file matches the 'If-None-Match' or 'If-Modified-Since' header of the request")
         @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BadRequestErrorResponse.class)))
         @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NotFoundErrorResponse.class)))
+        @ApiResponse(responseCode = "406", description = "None of the accepted media types is available")
+        @ApiResponse(responseCode = "416", description = "Range Not Satisfiable", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RangeNotSatisfiableErrorResponse.class)))
         @GeneralInternalServerErrorApiResponse
+        @DownloadsSaturatedServiceUnavailableApiResponse
         @InvalidLongIdBadRequestApiResponse
-        @GetMapping(value = "/rdf/download/{id}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+        @GetMapping(value = "/rdf/download/{id}", produces = {
+                        MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                        RdfFormat.TURTLE_VALUE,
+                        RdfFormat.N_TRIPLES_VALUE,
+                        RdfFormat.RDF_THRIFT_VALUE })
         @ResponseBody
-        public ResponseEntity<Resource> downloadRdfFile(@PathVariable String id) throws SQLException, IOException {
+        public ResponseEntity<StreamingResponseBody> downloadRdfFile(
+                        @PathVariable String id,
+                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String acceptHeader,
+                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncodingHeader,
+                        @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+                        @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRangeHeader,
+                        WebRequest webRequest,
+                        HttpServletResponse response) {
 
                 // Use the correct method to validate and convert string to long
                 long parsedId = LongUtils.convertStringToLongIdOrThrowException(id);
 
-                File rdfFile = githubService.getTempRdfFile(parsedId);
-                InputStreamResource resource = new InputStreamResource(
-                                new BufferedInputStream(new FileInputStream(rdfFile)));
+                RdfFormat rdfFormat = RdfFormatUtils.negotiate(acceptHeader);
+                boolean gzipAccepted = ContentEncodingUtils.acceptsGzip(acceptEncodingHeader);
 
-                return ResponseEntity.ok()
-                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + rdfFile.getName())
-                                .contentLength(rdfFile.length())
-                                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                                .body(resource);
+                // the validators are derived from metadata only, so not modified responses never open the large object
+                RdfFileVersion rdfFileVersion = githubService.getRdfFileVersion(parsedId);
+                String eTag = rdfFileVersion.toETag(toRepresentation(rdfFileVersion, rdfFormat, gzipAccepted));
+
+                // set on the response itself, so that they are sent with not modified responses as well
+                response.setHeader(HttpHeaders.CACHE_CONTROL, downloadCachePolicy.getCacheControl(rdfFileVersion).getHeaderValue());
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+
+                // also adds the 'ETag' and 'Last-Modified' headers to the response
+                if (webRequest.checkNotModified(eTag, rdfFileVersion.getLastModifiedMillis())) {
+                        return null;
+                }
+
+                GithubService.RdfFileDownload rdfFileDownload = rdfFormat == null || rdfFormat.isStoredFormat()
+                                ? githubService.getRdfFileDownload(rdfFileVersion, gzipAccepted)
+                                : rdfConversionService.getRdfFileDownload(rdfFileVersion, rdfFormat);
+
+                MediaType contentType = rdfFormat == null ? MediaType.APPLICATION_OCTET_STREAM : rdfFormat.getMediaType();
+
+                // files which are decompressed while they are streamed have no known length, a range header is ignored
+                if (!rdfFileDownload.isContentLengthKnown()) {
+                        return ResponseEntity.ok()
+                                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + rdfFileDownload.getFileName())
+                                        .header(HttpHeaders.ACCEPT_RANGES, "none")
+                                        .contentType(contentType)
+                                        .body(downloadConcurrencyLimiter.limit(listenerMetrics.instrumentDownload("rdf", rdfFileDownload.getBody())));
+                }
+
+                // a range of a different version of the file can't be resumed, so the whole file is sent instead
+                if (StringUtils.isBlank(rangeHeader)
+                                || !ByteRangeUtils.isIfRangeMatching(ifRangeHeader, eTag, rdfFileVersion.getLastModified())) {
+                        return withContentEncoding(ResponseEntity.ok(), rdfFileDownload)
+                                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + rdfFileDownload.getFileName())
+                                        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                                        .contentLength(rdfFileDownload.getContentLength())
+                                        .contentType(contentType)
+                                        .body(downloadConcurrencyLimiter.limit(listenerMetrics.instrumentDownload("rdf", rdfFileDownload.getBody())));
+                }
+
+                ByteRange range = ByteRangeUtils.resolveSingleRangeOrThrowException(
+                                rangeHeader, rdfFileDownload.getContentLength());
+
+                return withContentEncoding(ResponseEntity.status(HttpStatus.PARTIAL_CONTENT), rdfFileDownload)
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + rdfFileDownload.getFileName())
+                                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                                .header(HttpHeaders.CONTENT_RANGE, range.toContentRangeHeaderValue(rdfFileDownload.getContentLength()))
+                                .contentLength(range.getLength())
+                                .contentType(contentType)
+                                .body(downloadConcurrencyLimiter.limit(listenerMetrics.instrumentDownload("rdf", rdfFileDownload.getBody(range))));
         }
 
         @Operation(summary = "Complete delete of github repository and all connected resources")
@@ -307,4 +540,106 @@ public class GithubController {
 
                 return ResponseEntity.ok("Repository and all connected resources have been successfully deleted");
         }
-}
\ No newline at end of file
+
+        private GitRepositoryOrderStatus parseOrderStatusOrThrowException(String status) {
+
+                if (StringUtils.isBlank(status)) {
+                        return null;
+                }
+
+                try {
+                        return GitRepositoryOrderStatus.valueOf(status.trim().toUpperCase());
+                } catch (IllegalArgumentException ex) {
+                        throw BadRequestException.invalidOrderStatus(status, Arrays.toString(GitRepositoryOrderStatus.values()));
+                }
+        }
+
+        // the bundle size is only known while it is written, so the content encoding header is set by the body itself
+        private StreamingResponseBody compressBundle(
+                        StreamingResponseBody body,
+                        String acceptEncodingHeader,
+                        HttpServletResponse response) {
+
+                ContentEncoding contentEncoding = downloadCompressor.negotiate(acceptEncodingHeader);
+
+                if (contentEncoding == null) {
+                        return body;
+                }
+
+                return downloadCompressor.compress(body, contentEncoding,
+                                () -> response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding.getHeaderValue()));
+        }
+
+        // each representation of the rdf file needs its own entity tag, since their bytes differ
+        private static String toRepresentation(RdfFileVersion rdfFileVersion, RdfFormat rdfFormat, boolean gzipAccepted) {
+
+                String representation = rdfFormat == null ? "octet-stream" : rdfFormat.getFileExtension();
+                boolean storedFormat = rdfFormat == null || rdfFormat.isStoredFormat();
+
+                // the stored file is passed through gzip compressed or decompressed, depending on the client
+                if (storedFormat && rdfFileVersion.isGzipCompressed() && gzipAccepted) {
+                        return representation + "-gzip";
+                }
+
+                return representation;
+        }
+
+        private static ResponseEntity.BodyBuilder withContentEncoding(
+                        ResponseEntity.BodyBuilder bodyBuilder,
+                        GithubService.RdfFileDownload rdfFileDownload) {
+
+                if (rdfFileDownload.getContentEncoding() != null) {
+                        bodyBuilder.header(HttpHeaders.CONTENT_ENCODING, rdfFileDownload.getContentEncoding());
+                }
+
+                return bodyBuilder;
+        }
+
+        private ResponseEntity<String> toRdfAvailabilityResponse(boolean isAvailable) {
+
+                if (isAvailable) {
+                        return ResponseEntity.ok("RDF file is available");
+                } else {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("RDF file not available");
+                }
+        }
+
+        private String validateIdempotencyKeyOrThrowException(String idempotencyKey) {
+
+                if (idempotencyKey == null) {
+                        return null;
+                }
+
+                if (StringUtils.isBlank(idempotencyKey) || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                        throw BadRequestException.invalidIdempotencyKey(MAX_IDEMPOTENCY_KEY_LENGTH);
+                }
+
+                return idempotencyKey;
+        }
+
+        // same validation as the single queue endpoints, entries without a filter use the default filter like '/queue'
+        private GithubRepositoryQueueEntry toQueueEntryOrThrowException(AddGithubRepoFilterRequestBody requestBody) {
+
+                if (StringUtils.isBlank(requestBody.getOwner())) {
+                        throw BadRequestException.noOwnerSpecified();
+                }
+
+                if (StringUtils.isBlank(requestBody.getRepository())) {
+                        throw BadRequestException.noRepositorySpecified();
+                }
+
+                if (requestBody.isRepositoryFilterEmpty()) {
+                        return new GithubRepositoryQueueEntry(
+                                        requestBody.getOwner(), requestBody.getRepository(), GithubRepositoryFilter.DEFAULT);
+                }
+
+                if (requestBody.getRepositoryFilter().areAllFilterOptionsDisabled()) {
+                        throw BadRequestException.cantDisableAllRepositoryFilterOptions();
+                }
+
+                return new GithubRepositoryQueueEntry(
+                                requestBody.getOwner(),
+                                requestBody.getRepository(),
+                                githubRepositoryFilterFactory.fromRepoFilterRequestModel(requestBody.getRepositoryFilter()));
+        }
+}
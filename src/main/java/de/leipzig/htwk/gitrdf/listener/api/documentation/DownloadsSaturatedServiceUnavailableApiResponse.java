@@ -0,0 +1,25 @@
+package de.leipzig.htwk.gitrdf.listener.api.documentation;
+
+import de.leipzig.htwk.gitrdf.listener.api.model.response.error.ServiceUnavailableErrorResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.http.MediaType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ApiResponse(
+        responseCode = "503",
+        description = "All download threads and queue slots are in use",
+        content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ServiceUnavailableErrorResponse.class),
+                examples = @ExampleObject("{\"status\": \"Service Unavailable\", \"reason\": \"All download slots are in use\", \"solution\": \"Please retry the download after the time given in the 'Retry-After' header\"}")))
+public @interface DownloadsSaturatedServiceUnavailableApiResponse {
+}
@@ -102,6 +102,149 @@ public class BadRequestException extends RuntimeException {
         return new BadRequestException(message, status, reason, solution);
     }
 
+    public static BadRequestException invalidCursor(String cursor) {
+
+        String status = "Bad Request";
+        String reason = String.format("Invalid cursor '%s' was given", cursor);
+        String solution = "Use the cursor of the 'X-Next-Cursor' header of the previous page or leave it out to start at the first page";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidPageSize(int pageSize, int maxPageSize) {
+
+        String status = "Bad Request";
+        String reason = String.format("Invalid page size '%d' was given", pageSize);
+        String solution = String.format("Provide a page size between 1 and %d", maxPageSize);
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidOrderStatus(String orderStatus, String supportedOrderStatuses) {
+
+        String status = "Bad Request";
+        String reason = String.format("Invalid order status '%s' was given", orderStatus);
+        String solution = String.format("Provide one of the order status values %s", supportedOrderStatuses);
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidBulkSize(int size, int maxSize) {
+
+        String status = "Bad Request";
+        String reason = String.format("Invalid number of repositories '%d' was given", size);
+        String solution = String.format("Provide between 1 and %d repositories per request", maxSize);
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidUploadSize(long totalSize, long maxSize) {
+
+        String status = "Bad Request";
+        String reason = String.format("Invalid upload size of '%d' bytes was given", totalSize);
+        String solution = String.format("Provide a size between 1 and %d bytes", maxSize);
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidUploadChunkIndex(int index, int chunkCount) {
+
+        String status = "Bad Request";
+        String reason = String.format("Invalid chunk index '%d' was given", index);
+        String solution = String.format("Provide a chunk index between 0 and %d", chunkCount - 1);
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidUploadChunkLength(int index, long expectedLength, long length) {
+
+        String status = "Bad Request";
+        String reason = String.format("Chunk '%d' has '%d' bytes, but '%d' bytes were expected", index, length, expectedLength);
+        String solution = "Send every chunk with the chunk size of the upload, only the last chunk may be shorter";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException uploadChunkChecksumMismatch(int index) {
+
+        String status = "Bad Request";
+        String reason = String.format("The SHA-256 checksum of chunk '%d' doesn't match its content", index);
+        String solution = "Send the chunk again with the hex encoded SHA-256 checksum of its content";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException uploadIncomplete(int missingChunks) {
+
+        String status = "Bad Request";
+        String reason = String.format("The upload is missing '%d' chunks", missingChunks);
+        String solution = "Send the missing chunks listed by the upload before completing it";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidWaitSeconds(long waitSeconds, long maxWaitSeconds) {
+
+        String status = "Bad Request";
+        String reason = String.format("Invalid wait time of '%d' seconds was given", waitSeconds);
+        String solution = String.format("Provide a wait time between 0 and %d seconds", maxWaitSeconds);
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException idempotencyKeyReused(String idempotencyKey) {
+
+        String status = "Bad Request";
+        String reason = String.format("Idempotency key '%s' was already used for a different repository or filter", idempotencyKey);
+        String solution = "Use a new idempotency key for every distinct request";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidIdempotencyKey(int maxLength) {
+
+        String status = "Bad Request";
+        String reason = "Invalid idempotency key was given";
+        String solution = String.format("Provide a non blank idempotency key with at most %d characters, e.g. a UUID", maxLength);
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
+    public static BadRequestException invalidRequestBody(String fieldErrors) {
+
+        String status = "Bad Request";
+        String reason = String.format("Invalid request body was given: %s", fieldErrors);
+        String solution = "Correct the listed fields of the request body";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new BadRequestException(message, status, reason, solution);
+    }
+
     private final String status;
     private final String reason;
     private final String solution;
@@ -32,6 +32,16 @@ public class NotFoundException extends RuntimeException {
         return String.format("Status: %s, Reason: %s, Solution: %s", status, reason, solution);
     }
 
+    public static NotFoundException gitUploadNotFound(String uploadId) {
+        String status = "Not found";
+        String reason = String.format("No upload found for id '%s'", uploadId);
+        String solution = "Provide the id of a started upload. Uploads expire if no chunk is received for a while";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new NotFoundException(message, status, reason, solution);
+    }
+
     public static NotFoundException githubRepositoryOrderNotFound(Long id) {
         String status = "Not found";
         String reason = String.format("No github repository order found for id '%d'", id);
@@ -0,0 +1,47 @@
+package de.leipzig.htwk.gitrdf.listener.api.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RangeNotSatisfiableException extends RuntimeException {
+
+    public static RangeNotSatisfiableException invalidRange(String rangeHeader, long contentLength) {
+
+        String status = "Range Not Satisfiable";
+        String reason = String.format("Range '%s' can't be satisfied for a file of %d bytes", rangeHeader, contentLength);
+        String solution = "Request a single byte range inside the file. Example range: 'bytes=1024-'";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new RangeNotSatisfiableException(message, status, reason, solution, contentLength);
+    }
+
+    public static RangeNotSatisfiableException multipleRanges(String rangeHeader, long contentLength) {
+
+        String status = "Range Not Satisfiable";
+        String reason = String.format("Multiple ranges '%s' were requested", rangeHeader);
+        String solution = "Request only a single byte range per request. Example range: 'bytes=1024-'";
+
+        String message = getMessageFrom(status, reason, solution);
+
+        return new RangeNotSatisfiableException(message, status, reason, solution, contentLength);
+    }
+
+    private final String status;
+    private final String reason;
+    private final String solution;
+    private final long contentLength;
+
+    private RangeNotSatisfiableException(String message, String status, String reason, String solution, long contentLength) {
+        super(message);
+
+        this.status = status;
+        this.reason = reason;
+        this.solution = solution;
+        this.contentLength = contentLength;
+    }
+
+    private static String getMessageFrom(String status, String reason, String solution) {
+        return String.format("Status: %s, Reason: %s, Solution: %s", status, reason, solution);
+    }
+}
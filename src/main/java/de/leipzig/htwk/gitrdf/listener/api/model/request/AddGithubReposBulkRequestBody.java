@@ -0,0 +1,24 @@
+package de.leipzig.htwk.gitrdf.listener.api.model.request;
+
+import java.beans.ConstructorProperties;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+public class AddGithubReposBulkRequestBody {
+
+    @NotEmpty
+    @Schema(description = "Github repositories to add to the queue. Repositories without a repository filter use the default filter.")
+    private final List<AddGithubRepoFilterRequestBody> repositories;
+
+    @ConstructorProperties({"repositories"})
+    public AddGithubReposBulkRequestBody(List<AddGithubRepoFilterRequestBody> repositories) {
+        this.repositories = repositories;
+    }
+
+    public List<AddGithubRepoFilterRequestBody> getRepositories() {
+        return this.repositories == null ? List.of() : this.repositories;
+    }
+
+}
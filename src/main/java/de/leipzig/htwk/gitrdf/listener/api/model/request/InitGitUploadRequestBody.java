@@ -0,0 +1,19 @@
+package de.leipzig.htwk.gitrdf.listener.api.model.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+@Getter
+public class InitGitUploadRequestBody {
+
+    @Schema(example = "kubernetes.zip")
+    private final String fileName;
+
+    @Schema(description = "Size of the whole zip file in bytes", example = "2147483648")
+    private final long totalSize;
+
+    public InitGitUploadRequestBody(String fileName, long totalSize) {
+        this.fileName = fileName;
+        this.totalSize = totalSize;
+    }
+}
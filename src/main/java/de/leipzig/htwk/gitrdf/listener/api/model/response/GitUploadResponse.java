@@ -0,0 +1,35 @@
+package de.leipzig.htwk.gitrdf.listener.api.model.response;
+
+import java.util.List;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GitUploadSessionEntity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+@Value
+public class GitUploadResponse {
+
+    public static GitUploadResponse from(GitUploadSessionEntity session) {
+        return new GitUploadResponse(
+                session.getId(),
+                session.getFileName(),
+                session.getTotalSize(),
+                session.getChunkSize(),
+                session.getChunkCount(),
+                session.getMissingChunks());
+    }
+
+    String uploadId;
+
+    String fileName;
+
+    long totalSize;
+
+    @Schema(description = "Size of every chunk in bytes, except for the last one")
+    int chunkSize;
+
+    int chunkCount;
+
+    @Schema(description = "Indexes of the chunks which weren't received yet")
+    List<Integer> missingChunks;
+}
@@ -0,0 +1,31 @@
+package de.leipzig.htwk.gitrdf.listener.api.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+@Value
+public class GithubRepositoryBulkSavedItemResponse {
+
+    public static GithubRepositoryBulkSavedItemResponse saved(int index, String owner, String repository, long id) {
+        return new GithubRepositoryBulkSavedItemResponse(index, owner, repository, id, null);
+    }
+
+    public static GithubRepositoryBulkSavedItemResponse failed(int index, String owner, String repository, String error) {
+        return new GithubRepositoryBulkSavedItemResponse(index, owner, repository, null, error);
+    }
+
+    @Schema(description = "Position of the repository in the request")
+    int index;
+
+    @Schema(example = "dotnet")
+    String owner;
+
+    @Schema(example = "core")
+    String repository;
+
+    @Schema(description = "Id of the queued order, null if the repository couldn't be added")
+    Long id;
+
+    @Schema(description = "Reason why the repository couldn't be added, null if it was added")
+    String error;
+}
@@ -0,0 +1,18 @@
+package de.leipzig.htwk.gitrdf.listener.api.model.response;
+
+import java.util.List;
+
+import lombok.Value;
+
+@Value
+public class GithubRepositoryBulkSavedResponse {
+
+    public static GithubRepositoryBulkSavedResponse from(List<GithubRepositoryBulkSavedItemResponse> items) {
+        int saved = (int) items.stream().filter(item -> item.getId() != null).count();
+        return new GithubRepositoryBulkSavedResponse(saved, items.size() - saved, items);
+    }
+
+    int saved;
+    int failed;
+    List<GithubRepositoryBulkSavedItemResponse> items;
+}
@@ -0,0 +1,14 @@
+package de.leipzig.htwk.gitrdf.listener.api.model.response;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+@Value
+public class GithubRepositoryOrderStatusEventResponse {
+
+    long id;
+
+    @Schema(description = "Current status of the order, null if the order was deleted")
+    GitRepositoryOrderStatus status;
+}
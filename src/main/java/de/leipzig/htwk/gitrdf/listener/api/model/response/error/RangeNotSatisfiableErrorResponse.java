@@ -0,0 +1,10 @@
+package de.leipzig.htwk.gitrdf.listener.api.model.response.error;
+
+import lombok.Value;
+
+@Value
+public class RangeNotSatisfiableErrorResponse {
+    String status;
+    String reason;
+    String solution;
+}
@@ -0,0 +1,19 @@
+package de.leipzig.htwk.gitrdf.listener.api.model.response.error;
+
+import lombok.Value;
+
+@Value
+public class ServiceUnavailableErrorResponse {
+
+    public static ServiceUnavailableErrorResponse downloadsSaturated() {
+        return new ServiceUnavailableErrorResponse(
+                "Service Unavailable",
+                "All download slots are in use",
+                "Please retry the download after the time given in the 'Retry-After' header");
+    }
+
+    String status;
+    String reason;
+    String solution;
+
+}
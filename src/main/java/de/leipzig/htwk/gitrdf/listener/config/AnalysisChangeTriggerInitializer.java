@@ -0,0 +1,90 @@
+package de.leipzig.htwk.gitrdf.listener.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderAnalysisChangeEntity;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the trigger recording the orders whose analyses changed, for the incremental summary refresh.
+ * The analyses are written by other services, in any commit order and possibly updated later on, e.g. when the rdf
+ * blob is stored after the analysis itself. A trigger sees every one of these writes, unlike a watermark over the ids.
+ * Table and column names are resolved from the hibernate mapping, like in the {@link DatabaseIndexInitializer}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisChangeTriggerInitializer {
+
+    private static final String FUNCTION_NAME = "listener_record_analysis_change";
+
+    private static final String TRIGGER_NAME = "listener_analysis_change";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTrigger() {
+
+        AbstractEntityPersister analysisPersister = getPersister(GithubRepositoryOrderAnalysisEntity.class);
+        AbstractEntityPersister changePersister = getPersister(GithubRepositoryOrderAnalysisChangeEntity.class);
+
+        String orderColumn = analysisPersister.getPropertyColumnNames("githubRepositoryOrder")[0];
+
+        String createFunction = String.format("""
+                CREATE OR REPLACE FUNCTION %1$s() RETURNS trigger AS $$
+                BEGIN
+                    IF TG_OP <> 'INSERT' THEN
+                        INSERT INTO %2$s (%3$s) VALUES (OLD.%4$s);
+                    END IF;
+                    IF TG_OP <> 'DELETE' THEN
+                        INSERT INTO %2$s (%3$s) VALUES (NEW.%4$s);
+                    END IF;
+                    RETURN NULL;
+                END
+                $$ LANGUAGE plpgsql""",
+                FUNCTION_NAME,
+                changePersister.getTableName(),
+                changePersister.getPropertyColumnNames("orderId")[0],
+                orderColumn);
+
+        // a single statement string runs in one transaction, so concurrently starting instances never miss the trigger
+        String replaceTrigger = String.format(
+                "DROP TRIGGER IF EXISTS %1$s ON %2$s; "
+                        + "CREATE TRIGGER %1$s AFTER INSERT OR DELETE OR UPDATE OF %3$s, %4$s, %5$s, %6$s ON %2$s "
+                        + "FOR EACH ROW EXECUTE FUNCTION %7$s()",
+                TRIGGER_NAME,
+                analysisPersister.getTableName(),
+                orderColumn,
+                analysisPersister.getPropertyColumnNames("analysisType")[0],
+                analysisPersister.getPropertyColumnNames("metricId")[0],
+                analysisPersister.getPropertyColumnNames("rdfBlob")[0],
+                FUNCTION_NAME);
+
+        try {
+            jdbcTemplate.execute(createFunction);
+            jdbcTemplate.execute(replaceTrigger);
+            log.debug("Ensured analysis change trigger '{}'", TRIGGER_NAME);
+        } catch (RuntimeException ex) {
+            log.warn("Couldn't create the analysis change trigger '{}'. Summaries are only updated by the reconciliation. "
+                    + "Exception is '{}'", TRIGGER_NAME, ex.getMessage(), ex);
+        }
+    }
+
+    private AbstractEntityPersister getPersister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+
+}
@@ -0,0 +1,72 @@
+package de.leipzig.htwk.gitrdf.listener.config;
+
+import java.util.List;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the secondary indexes the listener queries rely on.
+ * The entities live in the shared database commons project, therefore the indexes can't be declared on the entities
+ * themselves. Table and column names are resolved from the hibernate mapping, so naming strategy changes don't break this.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseIndexInitializer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+
+        AbstractEntityPersister analysisPersister = getPersister(GithubRepositoryOrderAnalysisEntity.class);
+
+        createIndexIfNotExists(
+                "idx_listener_analysis_metric_type",
+                analysisPersister,
+                List.of("metricId", "analysisType"));
+
+        createIndexIfNotExists(
+                "idx_listener_analysis_type_order",
+                analysisPersister,
+                List.of("analysisType", "githubRepositoryOrder"));
+    }
+
+    private AbstractEntityPersister getPersister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+
+    private void createIndexIfNotExists(String indexName, AbstractEntityPersister persister, List<String> properties) {
+
+        String columns = String.join(", ", properties.stream()
+                .map(property -> persister.getPropertyColumnNames(property)[0])
+                .toList());
+
+        String sql = String.format("CREATE INDEX IF NOT EXISTS %s ON %s (%s)",
+                indexName, persister.getTableName(), columns);
+
+        try {
+            jdbcTemplate.execute(sql);
+            log.debug("Ensured index with statement '{}'", sql);
+        } catch (RuntimeException ex) {
+            log.warn("Couldn't create index '{}'. Queries will still work, but slower. Exception is '{}'",
+                    indexName, ex.getMessage(), ex);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package de.leipzig.htwk.gitrdf.listener.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.listener.service.OrderStatusNotificationListener;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the trigger which notifies the {@link OrderStatusNotificationListener} about every inserted order, every
+ * status change and every deleted order, regardless of which service changed it.
+ * Table and column names are resolved from the hibernate mapping, like in {@link DatabaseIndexInitializer}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusNotificationInitializer {
+
+    private static final String FUNCTION_NAME = "listener_notify_order_status";
+
+    private static final String TRIGGER_NAME = "listener_order_status_notification";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTrigger() {
+
+        AbstractEntityPersister orderPersister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(GithubRepositoryOrderEntity.class);
+
+        String tableName = orderPersister.getTableName();
+        String idColumn = orderPersister.getIdentifierColumnNames()[0];
+        String statusColumn = orderPersister.getPropertyColumnNames("status")[0];
+
+        // the notification is delivered on commit, so listeners never see a status before it is readable
+        String createFunction = String.format("""
+                CREATE OR REPLACE FUNCTION %1$s() RETURNS trigger AS $$
+                BEGIN
+                    IF TG_OP = 'DELETE' THEN
+                        PERFORM pg_notify('%2$s', OLD.%3$s || ':');
+                    ELSIF TG_OP = 'INSERT' OR NEW.%4$s IS DISTINCT FROM OLD.%4$s THEN
+                        PERFORM pg_notify('%2$s', NEW.%3$s || ':' || coalesce(NEW.%4$s::text, ''));
+                    END IF;
+                    RETURN NULL;
+                END
+                $$ LANGUAGE plpgsql""",
+                FUNCTION_NAME, OrderStatusNotificationListener.CHANNEL, idColumn, statusColumn);
+
+        String createTrigger = String.format(
+                "CREATE OR REPLACE TRIGGER %s AFTER INSERT OR UPDATE OF %s OR DELETE ON %s FOR EACH ROW EXECUTE FUNCTION %s()",
+                TRIGGER_NAME, statusColumn, tableName, FUNCTION_NAME);
+
+        try {
+            jdbcTemplate.execute(createFunction);
+            jdbcTemplate.execute(createTrigger);
+            log.debug("Ensured order status notification trigger on table '{}'", tableName);
+        } catch (RuntimeException ex) {
+            log.warn("Couldn't create order status notification trigger. Order status event streams will only "
+                    + "receive the initial status. Exception is '{}'", ex.getMessage(), ex);
+        }
+    }
+
+}
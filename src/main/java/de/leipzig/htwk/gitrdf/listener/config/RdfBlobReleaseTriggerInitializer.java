@@ -0,0 +1,110 @@
+package de.leipzig.htwk.gitrdf.listener.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.lob.GithubRepositoryOrderEntityLobs;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.RdfBlobEntity;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the triggers releasing the reference to a deduplicated large object when an order or an analysis holding it
+ * is deleted or its rdf file or rdf blob is replaced. Both are also written and removed by other services, only a
+ * trigger sees all of these writes. The large object is deleted together with its last reference.
+ * Table and column names are resolved from the hibernate mapping, like in the {@link AnalysisChangeTriggerInitializer}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RdfBlobReleaseTriggerInitializer {
+
+    /**
+     * Transaction local setting, which is on while the listener moves references from one large object to another.
+     * Moved references aren't released.
+     */
+    public static final String MOVING_REFERENCES_SETTING = "listener.moving_rdf_blob_references";
+
+    private static final String RDF_FILE_TRIGGER_NAME = "listener_release_rdf_file";
+
+    private static final String RDF_BLOB_TRIGGER_NAME = "listener_release_rdf_blob";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTriggers() {
+        createTrigger(RDF_FILE_TRIGGER_NAME, GithubRepositoryOrderEntityLobs.class, "rdfFile");
+        createTrigger(RDF_BLOB_TRIGGER_NAME, GithubRepositoryOrderAnalysisEntity.class, "rdfBlob");
+    }
+
+    /**
+     * Creates the trigger and its function of the same name for the given large object column.
+     */
+    private void createTrigger(String triggerName, Class<?> entityClass, String property) {
+
+        AbstractEntityPersister persister = getPersister(entityClass);
+        AbstractEntityPersister rdfBlobPersister = getPersister(RdfBlobEntity.class);
+
+        String largeObjectColumn = persister.getPropertyColumnNames(property)[0];
+
+        // the row of the rdf blob is locked by the update, like by the deduplication adding a reference
+        String createFunction = String.format("""
+                CREATE OR REPLACE FUNCTION %1$s() RETURNS trigger AS $$
+                DECLARE
+                    remaining_references bigint;
+                BEGIN
+                    IF OLD.%2$s IS NULL
+                            OR (TG_OP = 'UPDATE' AND NEW.%2$s IS NOT DISTINCT FROM OLD.%2$s)
+                            OR current_setting('%3$s', true) = 'on' THEN
+                        RETURN NULL;
+                    END IF;
+                    UPDATE %4$s SET %5$s = %5$s - 1 WHERE %6$s = OLD.%2$s RETURNING %5$s INTO remaining_references;
+                    IF remaining_references IS NOT NULL AND remaining_references < 1 THEN
+                        DELETE FROM %4$s WHERE %6$s = OLD.%2$s;
+                        PERFORM lo_unlink(OLD.%2$s);
+                    END IF;
+                    RETURN NULL;
+                END
+                $$ LANGUAGE plpgsql""",
+                triggerName,
+                largeObjectColumn,
+                MOVING_REFERENCES_SETTING,
+                rdfBlobPersister.getTableName(),
+                rdfBlobPersister.getPropertyColumnNames("referenceCount")[0],
+                rdfBlobPersister.getPropertyColumnNames("largeObjectId")[0]);
+
+        // a single statement string runs in one transaction, so concurrently starting instances never miss the trigger
+        String replaceTrigger = String.format(
+                "DROP TRIGGER IF EXISTS %1$s ON %2$s; "
+                        + "CREATE TRIGGER %1$s AFTER DELETE OR UPDATE OF %3$s ON %2$s "
+                        + "FOR EACH ROW EXECUTE FUNCTION %1$s()",
+                triggerName,
+                persister.getTableName(),
+                largeObjectColumn);
+
+        try {
+            jdbcTemplate.execute(createFunction);
+            jdbcTemplate.execute(replaceTrigger);
+            log.debug("Ensured rdf blob release trigger '{}'", triggerName);
+        } catch (RuntimeException ex) {
+            log.warn("Couldn't create the rdf blob release trigger '{}'. References of removed rows of '{}' aren't "
+                    + "released. Exception is '{}'", triggerName, persister.getTableName(), ex.getMessage(), ex);
+        }
+    }
+
+    private AbstractEntityPersister getPersister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+
+}
@@ -0,0 +1,124 @@
+package de.leipzig.htwk.gitrdf.listener.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.lob.GithubRepositoryOrderEntityLobs;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.RdfFileVersionEntity;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the trigger recording a new version of the rdf file of an order whenever its large object is replaced, so
+ * that conditional downloads only read the versions and never write them. The rdf files are written by other services
+ * and by the compression and deduplication of the listener, the trigger sees all of these writes.
+ * Rdf files stored before the trigger existed are recorded once at startup.
+ * Table and column names are resolved from the hibernate mapping, like in the {@link AnalysisChangeTriggerInitializer}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RdfFileVersionTriggerInitializer {
+
+    private static final String FUNCTION_NAME = "listener_record_rdf_file_version";
+
+    private static final String TRIGGER_NAME = "listener_rdf_file_version";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTrigger() {
+
+        AbstractEntityPersister lobsPersister = getPersister(GithubRepositoryOrderEntityLobs.class);
+        AbstractEntityPersister versionPersister = getPersister(RdfFileVersionEntity.class);
+
+        String lobsTable = lobsPersister.getTableName();
+        String lobsIdColumn = lobsPersister.getIdentifierColumnNames()[0];
+        String rdfFileColumn = lobsPersister.getPropertyColumnNames("rdfFile")[0];
+
+        String versionTable = versionPersister.getTableName();
+        String orderIdColumn = versionPersister.getIdentifierColumnNames()[0];
+        String largeObjectIdColumn = versionPersister.getPropertyColumnNames("largeObjectId")[0];
+        String gzipCompressedColumn = versionPersister.getPropertyColumnNames("gzipCompressed")[0];
+        String lastModifiedColumn = versionPersister.getPropertyColumnNames("lastModified")[0];
+
+        // http dates have a precision of seconds
+        String upsertVersion = String.format(
+                "INSERT INTO %1$s (%2$s, %3$s, %4$s, %5$s) %%s "
+                        + "ON CONFLICT (%2$s) DO UPDATE SET %3$s = excluded.%3$s, %4$s = excluded.%4$s, %5$s = excluded.%5$s",
+                versionTable, orderIdColumn, largeObjectIdColumn, gzipCompressedColumn, lastModifiedColumn);
+
+        // a failing trigger would fail the writes of other services, so an unreadable file is just left unrecorded
+        String createFunction = String.format("""
+                CREATE OR REPLACE FUNCTION %1$s() RETURNS trigger AS $$
+                BEGIN
+                    IF TG_OP = 'DELETE' THEN
+                        DELETE FROM %2$s WHERE %3$s = OLD.%4$s;
+                        RETURN NULL;
+                    END IF;
+                    IF TG_OP = 'UPDATE' AND NEW.%5$s IS NOT DISTINCT FROM OLD.%5$s THEN
+                        RETURN NULL;
+                    END IF;
+                    DELETE FROM %2$s WHERE %3$s = NEW.%4$s;
+                    IF NEW.%5$s IS NOT NULL THEN
+                        BEGIN
+                            %6$s;
+                        EXCEPTION WHEN OTHERS THEN
+                            RAISE WARNING 'Couldn''t record rdf file version of order %%: %%', NEW.%4$s, SQLERRM;
+                        END;
+                    END IF;
+                    RETURN NULL;
+                END
+                $$ LANGUAGE plpgsql""",
+                FUNCTION_NAME,
+                versionTable,
+                orderIdColumn,
+                lobsIdColumn,
+                rdfFileColumn,
+                String.format(upsertVersion, String.format(
+                        "VALUES (NEW.%1$s, NEW.%2$s, coalesce(lo_get(NEW.%2$s, 0, 2) = decode('1f8b', 'hex'), false), "
+                                + "date_trunc('second', now()))",
+                        lobsIdColumn, rdfFileColumn)));
+
+        // a single statement string runs in one transaction, so concurrently starting instances never miss the trigger
+        String replaceTrigger = String.format(
+                "DROP TRIGGER IF EXISTS %1$s ON %2$s; "
+                        + "CREATE TRIGGER %1$s AFTER INSERT OR DELETE OR UPDATE OF %3$s ON %2$s "
+                        + "FOR EACH ROW EXECUTE FUNCTION %4$s()",
+                TRIGGER_NAME,
+                lobsTable,
+                rdfFileColumn,
+                FUNCTION_NAME);
+
+        String recordUnrecordedVersions = String.format(upsertVersion, String.format(
+                "SELECT f.%1$s, f.%2$s, coalesce(lo_get(f.%2$s, 0, 2) = decode('1f8b', 'hex'), false), "
+                        + "date_trunc('second', now()) FROM %3$s f WHERE f.%2$s IS NOT NULL AND NOT EXISTS "
+                        + "(SELECT 1 FROM %4$s v WHERE v.%5$s = f.%1$s AND v.%6$s = f.%2$s)",
+                lobsIdColumn, rdfFileColumn, lobsTable, versionTable, orderIdColumn, largeObjectIdColumn));
+
+        try {
+            jdbcTemplate.execute(createFunction);
+            jdbcTemplate.execute(replaceTrigger);
+            int recordedVersions = jdbcTemplate.update(recordUnrecordedVersions);
+            log.debug("Ensured rdf file version trigger '{}', recorded {} versions", TRIGGER_NAME, recordedVersions);
+        } catch (RuntimeException ex) {
+            log.warn("Couldn't create the rdf file version trigger '{}'. Downloads are sent without 'Last-Modified'. "
+                    + "Exception is '{}'", TRIGGER_NAME, ex.getMessage(), ex);
+        }
+    }
+
+    private AbstractEntityPersister getPersister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+
+}
@@ -0,0 +1,12 @@
+package de.leipzig.htwk.gitrdf.listener.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// background refreshers can be turned off, e.g. for tests which count database statements
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "listener.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -1,13 +1,31 @@
 package de.leipzig.htwk.gitrdf.listener.config;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @EnableWebMvc
-public class WebConfig implements WebMvcConfigurer {
+public class WebConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final ThreadPoolTaskExecutor downloadTaskExecutor;
+
+    private final long asyncRequestTimeoutInMillis;
+
+    public WebConfig(
+            @Value("${listener.download.executor.pool-size:16}") int downloadPoolSize,
+            @Value("${listener.download.executor.queue-capacity:100}") int downloadQueueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${listener.download.async-request-timeout-millis:-1}") long asyncRequestTimeoutInMillis) {
+
+        this.downloadTaskExecutor = createDownloadTaskExecutor(downloadPoolSize, downloadQueueCapacity, virtualThreads);
+        this.asyncRequestTimeoutInMillis = asyncRequestTimeoutInMillis;
+    }
 
     // if you add spring security, you need to update to cors configuration, to make sure its processed first, before security layer filters
     @Override
@@ -16,6 +34,41 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("*")
                 .allowedMethods("*")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "Content-Range", "Accept-Ranges", "Content-Disposition")
                 .allowCredentials(false);
     }
+
+    // @EnableWebMvc disables the spring.mvc.async.* properties, so streamed downloads are configured here.
+    // A negative timeout disables the timeout, multi gigabyte downloads shouldn't be cut off by the container default.
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(downloadTaskExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeoutInMillis);
+    }
+
+    @Override
+    public void destroy() {
+        downloadTaskExecutor.shutdown();
+    }
+
+    // Not a bean, another executor bean would replace the application task executor of spring boot.
+    // Pool and queue are bounded, a download finding both full is rejected with 503 (see GeneralControllerAdvice)
+    // instead of waiting unnoticed until the async timeout. With virtual threads the pool starts virtual threads,
+    // so its size can be raised far above the number of platform threads.
+    private static ThreadPoolTaskExecutor createDownloadTaskExecutor(int poolSize, int queueCapacity, boolean virtualThreads) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("download-");
+
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("download-", 0).factory());
+        }
+
+        executor.initialize();
+
+        return executor;
+    }
 }
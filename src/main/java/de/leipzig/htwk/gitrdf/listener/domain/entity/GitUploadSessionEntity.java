@@ -0,0 +1,100 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Chunked upload of a .git zip file. The chunks are written into a staging large object in any order, until all of
+ * them are received and the upload is completed.
+ */
+@Entity
+@Table(
+        name = "git_upload_session",
+        indexes = @Index(name = "idx_listener_git_upload_updated_at", columnList = "updatedAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class GitUploadSessionEntity {
+
+    public static GitUploadSessionEntity newSession(String fileName, long totalSize, int chunkSize, long largeObjectId) {
+        GitUploadSessionEntity session = new GitUploadSessionEntity();
+        session.setId(UUID.randomUUID().toString());
+        session.setFileName(fileName);
+        session.setTotalSize(totalSize);
+        session.setChunkSize(chunkSize);
+        session.setLargeObjectId(largeObjectId);
+        session.setReceivedChunks(new byte[0]);
+        session.setCreatedAt(Instant.now());
+        session.setUpdatedAt(session.getCreatedAt());
+        return session;
+    }
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private long totalSize;
+
+    private int chunkSize;
+
+    /**
+     * Oid of the staging large object.
+     */
+    private long largeObjectId;
+
+    /**
+     * {@link BitSet} of the received chunks.
+     */
+    @Column(nullable = false)
+    private byte[] receivedChunks;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    public int getChunkCount() {
+        return (int) ((totalSize + chunkSize - 1) / chunkSize);
+    }
+
+    public long getChunkPosition(int index) {
+        return (long) index * chunkSize;
+    }
+
+    public long getChunkLength(int index) {
+        return Math.min(chunkSize, totalSize - getChunkPosition(index));
+    }
+
+    public void markChunkReceived(int index) {
+        BitSet received = BitSet.valueOf(receivedChunks);
+        received.set(index);
+        receivedChunks = received.toByteArray();
+        updatedAt = Instant.now();
+    }
+
+    public List<Integer> getMissingChunks() {
+
+        BitSet received = BitSet.valueOf(receivedChunks);
+        List<Integer> missingChunks = new ArrayList<>();
+
+        for (int index = received.nextClearBit(0); index < getChunkCount(); index = received.nextClearBit(index + 1)) {
+            missingChunks.add(index);
+        }
+
+        return missingChunks;
+    }
+
+}
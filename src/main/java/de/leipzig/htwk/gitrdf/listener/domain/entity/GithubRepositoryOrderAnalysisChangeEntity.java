@@ -0,0 +1,28 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * An order whose analyses were inserted, updated or deleted since the last summary refresh.
+ * Written by a database trigger on the analyses, see the {@code AnalysisChangeTriggerInitializer}, and consumed by the
+ * incremental summary refresh.
+ */
+@Entity
+@Table(name = "github_repository_order_analysis_change")
+@Getter
+@NoArgsConstructor
+public class GithubRepositoryOrderAnalysisChangeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private long orderId;
+
+}
@@ -0,0 +1,48 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pre-aggregated analysis counters of a single github repository order.
+ * Maintained by the listener, the analyses themselves are written by other services.
+ */
+@Entity
+@Table(name = "github_repository_order_analysis_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+public class GithubRepositoryOrderAnalysisSummaryEntity {
+
+    public static GithubRepositoryOrderAnalysisSummaryEntity emptySummary(long orderId) {
+        GithubRepositoryOrderAnalysisSummaryEntity summary = new GithubRepositoryOrderAnalysisSummaryEntity();
+        summary.setOrderId(orderId);
+        return summary;
+    }
+
+    @Id
+    private Long orderId;
+
+    private int totalRatings;
+
+    private int totalStatistics;
+
+    private int totalExperts;
+
+    private int uniqueMetrics;
+
+    private int ratingsWithRdf;
+
+    private int statisticsWithRdf;
+
+    private int expertsWithRdf;
+
+    private Instant refreshedAt;
+
+}
@@ -0,0 +1,54 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import java.time.Instant;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryFilterCode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Fingerprint of the repository and filter of a github repository order.
+ * Used to find an equal pending order in a single index lookup.
+ */
+@Entity
+@Table(
+        name = "github_repository_order_fingerprint",
+        indexes = @Index(name = "idx_listener_order_fingerprint", columnList = "fingerprint"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class GithubRepositoryOrderFingerprintEntity {
+
+    public static GithubRepositoryOrderFingerprintEntity of(
+            long orderId,
+            String fingerprint,
+            GithubRepositoryFilterCode filterCode) {
+
+        GithubRepositoryOrderFingerprintEntity entity = new GithubRepositoryOrderFingerprintEntity();
+        entity.setOrderId(orderId);
+        entity.setFingerprint(fingerprint);
+        entity.setFilterCode(filterCode.getValue());
+        entity.setCreatedAt(Instant.now());
+        return entity;
+    }
+
+    @Id
+    private Long orderId;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /**
+     * {@link GithubRepositoryFilterCode} of the filter of the order.
+     */
+    private Long filterCode;
+
+    private Instant createdAt;
+
+}
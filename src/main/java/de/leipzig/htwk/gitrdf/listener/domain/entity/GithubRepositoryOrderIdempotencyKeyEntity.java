@@ -0,0 +1,50 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Idempotency key of a queue request and the order it was answered with. Several keys may refer to the same order,
+ * e.g. when a request was answered with an equal pending order.
+ */
+@Entity
+@Table(
+        name = "github_repository_order_idempotency_key",
+        indexes = @Index(name = "idx_listener_idempotency_key_order", columnList = "orderId"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class GithubRepositoryOrderIdempotencyKeyEntity {
+
+    public static GithubRepositoryOrderIdempotencyKeyEntity of(String idempotencyKey, long orderId, String fingerprint) {
+
+        GithubRepositoryOrderIdempotencyKeyEntity entity = new GithubRepositoryOrderIdempotencyKeyEntity();
+        entity.setIdempotencyKey(idempotencyKey);
+        entity.setOrderId(orderId);
+        entity.setFingerprint(fingerprint);
+        entity.setCreatedAt(Instant.now());
+        return entity;
+    }
+
+    @Id
+    private String idempotencyKey;
+
+    private long orderId;
+
+    /**
+     * Fingerprint of the request, a repeated request with a different fingerprint is rejected.
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private Instant createdAt;
+
+}
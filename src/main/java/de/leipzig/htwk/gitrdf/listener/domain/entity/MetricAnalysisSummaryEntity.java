@@ -0,0 +1,47 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pre-aggregated analysis counters of a single metric across all orders.
+ */
+@Entity
+@Table(name = "metric_analysis_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+public class MetricAnalysisSummaryEntity {
+
+    public static MetricAnalysisSummaryEntity emptySummary(String metricId) {
+        MetricAnalysisSummaryEntity summary = new MetricAnalysisSummaryEntity();
+        summary.setMetricId(metricId);
+        return summary;
+    }
+
+    @Id
+    private String metricId;
+
+    private int totalRatings;
+
+    private int totalStatistics;
+
+    private int uniqueOrders;
+
+    private int ratingsWithRdf;
+
+    private int statisticsWithRdf;
+
+    private Instant refreshedAt;
+
+    public boolean hasAnalyses() {
+        return totalRatings > 0 || totalStatistics > 0 || uniqueOrders > 0;
+    }
+
+}
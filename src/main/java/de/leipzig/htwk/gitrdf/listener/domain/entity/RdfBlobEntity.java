@@ -0,0 +1,56 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Content addressed rdf large object, which is shared by all orders and analyses with byte identical rdf.
+ * The large object is deleted together with its last reference.
+ */
+@Entity
+@Table(name = "rdf_blob")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RdfBlobEntity {
+
+    public static RdfBlobEntity of(String sha256, long largeObjectId, long contentLength, long referenceCount) {
+        RdfBlobEntity rdfBlob = new RdfBlobEntity();
+        rdfBlob.setSha256(sha256);
+        rdfBlob.setLargeObjectId(largeObjectId);
+        rdfBlob.setContentLength(contentLength);
+        rdfBlob.setReferenceCount(referenceCount);
+        rdfBlob.setCreatedAt(Instant.now());
+        return rdfBlob;
+    }
+
+    /**
+     * Hex encoded SHA-256 of the uncompressed rdf, so compressed and uncompressed copies share the same key.
+     */
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(unique = true)
+    private long largeObjectId;
+
+    /**
+     * Uncompressed length of the rdf.
+     */
+    private long contentLength;
+
+    /**
+     * Number of order and analysis rows pointing at the large object.
+     */
+    private long referenceCount;
+
+    private Instant createdAt;
+
+}
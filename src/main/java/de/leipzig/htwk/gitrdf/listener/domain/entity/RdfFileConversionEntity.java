@@ -0,0 +1,75 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.RdfFormat;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cached conversion of the rdf file of an order into another {@link RdfFormat}, stored in a large object of its own.
+ */
+@Entity
+@Table(name = "rdf_file_conversion")
+@IdClass(RdfFileConversionEntity.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RdfFileConversionEntity {
+
+    public static RdfFileConversionEntity of(long orderId, RdfFormat rdfFormat) {
+        RdfFileConversionEntity conversion = new RdfFileConversionEntity();
+        conversion.setOrderId(orderId);
+        conversion.setRdfFormat(rdfFormat);
+        return conversion;
+    }
+
+    @Id
+    private Long orderId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private RdfFormat rdfFormat;
+
+    /**
+     * Oid of the large object holding the converted file.
+     */
+    private long largeObjectId;
+
+    private long contentLength;
+
+    /**
+     * Oid of the stored rdf file the conversion was created from. A changed rdf file is stored in another large object,
+     * so it is converted again. Null for conversions created before the oid was recorded.
+     */
+    private Long sourceLargeObjectId;
+
+    /**
+     * Length of the stored rdf file the conversion was created from.
+     */
+    private long sourceContentLength;
+
+    private Instant createdAt;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long orderId;
+
+        private RdfFormat rdfFormat;
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package de.leipzig.htwk.gitrdf.listener.domain.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Version of the rdf file of an order, from which the validators of conditional downloads are derived.
+ * A rewritten rdf file is stored in a new large object, so the oid identifies the content of the file.
+ * Recorded by a database trigger whenever the rdf file is replaced, see the
+ * {@link de.leipzig.htwk.gitrdf.listener.config.RdfFileVersionTriggerInitializer}.
+ */
+@Entity
+@Table(name = "rdf_file_version")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RdfFileVersionEntity {
+
+    @Id
+    private Long orderId;
+
+    /**
+     * Oid of the large object holding the rdf file.
+     */
+    private long largeObjectId;
+
+    private boolean gzipCompressed;
+
+    /**
+     * Time the rdf file was stored in this large object, which is sent as 'Last-Modified'.
+     */
+    private Instant lastModified;
+
+}
@@ -0,0 +1,25 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model;
+
+import lombok.Value;
+
+/**
+ * A single, already resolved byte range of a file. The start is zero based.
+ */
+@Value
+public class ByteRange {
+
+    public static ByteRange full(long contentLength) {
+        return new ByteRange(0, contentLength);
+    }
+
+    long start;
+    long length;
+
+    public long getEnd() {
+        return start + length - 1;
+    }
+
+    public String toContentRangeHeaderValue(long contentLength) {
+        return String.format("bytes %d-%d/%d", start, getEnd(), contentLength);
+    }
+}
@@ -0,0 +1,103 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Set;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.GithubRepositoryFilterOption;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Canonical 64 bit encoding of a github repository filter. Bit n is set if the option with ordinal n is enabled,
+ * the highest byte holds the version of this layout. Equal filters always have the same code, so the code can be
+ * used for equality checks, deduplication, database indexes and cache keys.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class GithubRepositoryFilterCode {
+
+    public static final int LAYOUT_VERSION = 1;
+
+    private static final int VERSION_SHIFT = 56;
+
+    private static final long VERSION_BITS = (long) LAYOUT_VERSION << VERSION_SHIFT;
+
+    private static final long OPTION_MASK = (1L << GithubRepositoryFilterOption.values().length) - 1;
+
+    private static final int FINGERPRINT_LENGTH = 16;
+
+    public static final GithubRepositoryFilterCode NONE_ENABLED = new GithubRepositoryFilterCode(VERSION_BITS);
+
+    public static final GithubRepositoryFilterCode ALL_ENABLED = new GithubRepositoryFilterCode(VERSION_BITS | OPTION_MASK);
+
+    long value;
+
+    public static GithubRepositoryFilterCode of(long value) {
+
+        if ((value & ~OPTION_MASK) != VERSION_BITS) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid github repository filter code %016x, expected layout version %d", value, LAYOUT_VERSION));
+        }
+
+        return new GithubRepositoryFilterCode(value);
+    }
+
+    public static GithubRepositoryFilterCode of(Collection<GithubRepositoryFilterOption> enabledOptions) {
+
+        long value = VERSION_BITS;
+
+        for (GithubRepositoryFilterOption option : enabledOptions) {
+            value |= bitOf(option);
+        }
+
+        return new GithubRepositoryFilterCode(value);
+    }
+
+    /**
+     * Inverse of {@link #getFingerprint()}.
+     */
+    public static GithubRepositoryFilterCode ofFingerprint(String fingerprint) {
+
+        if (fingerprint == null || fingerprint.length() != FINGERPRINT_LENGTH) {
+            throw new IllegalArgumentException(String.format("Invalid github repository filter fingerprint '%s'", fingerprint));
+        }
+
+        return of(HexFormat.fromHexDigitsToLong(fingerprint));
+    }
+
+    public boolean isEnabled(GithubRepositoryFilterOption option) {
+        return (value & bitOf(option)) != 0;
+    }
+
+    public Set<GithubRepositoryFilterOption> getEnabledOptions() {
+
+        Set<GithubRepositoryFilterOption> enabledOptions = EnumSet.noneOf(GithubRepositoryFilterOption.class);
+
+        for (GithubRepositoryFilterOption option : GithubRepositoryFilterOption.values()) {
+            if (isEnabled(option)) {
+                enabledOptions.add(option);
+            }
+        }
+
+        return enabledOptions;
+    }
+
+    public boolean areAllOptionsDisabled() {
+        return (value & OPTION_MASK) == 0;
+    }
+
+    /**
+     * Fixed length lower case hex representation of the code, stable across releases of the same layout version.
+     */
+    public String getFingerprint() {
+        return HexFormat.of().toHexDigits(value);
+    }
+
+    private static long bitOf(GithubRepositoryFilterOption option) {
+        return 1L << option.ordinal();
+    }
+
+}
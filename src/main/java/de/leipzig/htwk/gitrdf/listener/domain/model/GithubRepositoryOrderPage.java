@@ -0,0 +1,21 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model;
+
+import java.util.List;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import lombok.Value;
+
+@Value
+public class GithubRepositoryOrderPage {
+
+    List<GithubRepositoryOrderEntity> orders;
+
+    /**
+     * Id to continue after for the next page. Null if this is the last page.
+     */
+    Long nextAfterId;
+
+    public boolean hasNextPage() {
+        return nextAfterId != null;
+    }
+}
@@ -0,0 +1,24 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import lombok.Value;
+
+/**
+ * Keyset page request for github repository orders. Null filter values are ignored.
+ */
+@Value
+public class GithubRepositoryOrderPageRequest {
+
+    /**
+     * Only orders with an id greater than this id are returned. Null starts at the first order.
+     */
+    Long afterId;
+
+    int pageSize;
+
+    GitRepositoryOrderStatus status;
+
+    String owner;
+
+    String repository;
+}
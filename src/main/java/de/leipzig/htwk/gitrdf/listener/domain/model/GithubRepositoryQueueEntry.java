@@ -0,0 +1,17 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import lombok.Value;
+
+/**
+ * A single validated github repository of a bulk insert into the queue.
+ */
+@Value
+public class GithubRepositoryQueueEntry {
+
+    String owner;
+
+    String repository;
+
+    GithubRepositoryFilter githubRepositoryFilter;
+}
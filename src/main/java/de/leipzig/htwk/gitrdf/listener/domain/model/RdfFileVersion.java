@@ -0,0 +1,42 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model;
+
+import java.time.Instant;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import lombok.Value;
+
+/**
+ * Metadata of the rdf file of an order, which is enough to answer conditional downloads without reading the file.
+ */
+@Value
+public class RdfFileVersion {
+
+    long orderId;
+    long largeObjectId;
+    boolean gzipCompressed;
+
+    /**
+     * Null if the version of the rdf file wasn't recorded, then only the entity tag validates downloads.
+     */
+    Instant lastModified;
+
+    GitRepositoryOrderStatus orderStatus;
+
+    /**
+     * The last modified time in milliseconds, or -1 if it isn't known.
+     */
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    public boolean isCompleted() {
+        return orderStatus == GitRepositoryOrderStatus.DONE;
+    }
+
+    /**
+     * Strong entity tag of the given representation of this version, e.g. a converted format or encoding.
+     */
+    public String toETag(String representation) {
+        return String.format("\"%d-%x-%s\"", orderId, largeObjectId, representation);
+    }
+}
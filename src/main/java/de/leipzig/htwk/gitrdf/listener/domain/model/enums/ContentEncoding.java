@@ -0,0 +1,30 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model.enums;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Content codings of download bodies which the listener can compress, in the order of preference.
+ */
+@Getter
+public enum ContentEncoding {
+
+    GZIP("gzip", List.of("gzip", "x-gzip")),
+
+    // the zlib format of RFC 1950, as defined for the deflate content coding
+    DEFLATE("deflate", List.of("deflate"));
+
+    private final String headerValue;
+
+    /**
+     * The names of the coding in accept encoding headers.
+     */
+    private final List<String> names;
+
+    ContentEncoding(String headerValue, List<String> names) {
+        this.headerValue = headerValue;
+        this.names = names;
+    }
+
+}
@@ -0,0 +1,130 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model.enums;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.listener.api.model.request.composite.filter.RepoFilterRequestModel;
+
+/**
+ * All options of a github repository filter. The ordinal is the bit of the option in a
+ * {@link de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryFilterCode}, so options may only be appended.
+ * The git commit and github issue options are each declared in the order of the constructor of the persisted filter.
+ */
+public enum GithubRepositoryFilterOption {
+
+    COMMIT_HASH(
+            model -> model.getGitCommitFilter().isCommitHashEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableCommitHash()),
+    AUTHOR_NAME(
+            model -> model.getGitCommitFilter().isAuthorNameEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableAuthorName()),
+    AUTHOR_EMAIL(
+            model -> model.getGitCommitFilter().isAuthorEmailEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableAuthorEmail()),
+    AUTHOR_DATE(
+            model -> model.getGitCommitFilter().isAuthorDateEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableAuthorDate()),
+    COMMIT_DATE(
+            model -> model.getGitCommitFilter().isCommitDateEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableCommitDate()),
+    COMMITTER_NAME(
+            model -> model.getGitCommitFilter().isCommitterNameEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableCommitterName()),
+    COMMITTER_EMAIL(
+            model -> model.getGitCommitFilter().isCommitterEmailEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableCommitterEmail()),
+    COMMIT_MESSAGE(
+            model -> model.getGitCommitFilter().isCommitMessageEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableCommitMessage()),
+    COMMIT_DIFF(
+            model -> model.getGitCommitFilter().isCommitDiffEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableCommitDiff()),
+    COMMIT_BRANCH(
+            model -> model.getGitCommitFilter().isCommitBranchEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableCommitBranch()),
+    COMMIT_TAG(
+            model -> model.getGitCommitFilter().isCommitTagEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableCommitTag()),
+    BRANCH_SNAPSHOT(
+            model -> model.getGitCommitFilter().isBranchSnapshotEnabled(),
+            filter -> filter.getGitCommitRepositoryFilter().isEnableBranchSnapshot()),
+
+    ISSUE_ID(
+            model -> model.getGithubIssueFilter().isIssueIdEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueId()),
+    ISSUE_NUMBER(
+            model -> model.getGithubIssueFilter().isIssueNumberEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueNumber()),
+    ISSUE_STATE(
+            model -> model.getGithubIssueFilter().isIssueStateEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueState()),
+    ISSUE_TITLE(
+            model -> model.getGithubIssueFilter().isIssueTitleEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueTitle()),
+    ISSUE_BODY(
+            model -> model.getGithubIssueFilter().isIssueBodyEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueBody()),
+    ISSUE_USER(
+            model -> model.getGithubIssueFilter().isIssueUserEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueUser()),
+    ISSUE_LABELS(
+            model -> model.getGithubIssueFilter().isIssueLabelsEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueLabels()),
+    ISSUE_ASSIGNEES(
+            model -> model.getGithubIssueFilter().isIssueAssigneesEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueAssignees()),
+    ISSUE_MILESTONE(
+            model -> model.getGithubIssueFilter().isIssueMilestoneEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueMilestone()),
+    ISSUE_CREATED_AT(
+            model -> model.getGithubIssueFilter().isIssueCreatedAtEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueCreatedAt()),
+    ISSUE_UPDATED_AT(
+            model -> model.getGithubIssueFilter().isIssueUpdatedAtEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueUpdatedAt()),
+    ISSUE_CLOSED_AT(
+            model -> model.getGithubIssueFilter().isIssueClosedAtEnabled(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueClosedAt()),
+    ISSUE_REVIEWERS(
+            model -> model.getGithubIssueFilter().isEnableIssueReviewers(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueReviewers()),
+    ISSUE_MERGED_BY(
+            model -> model.getGithubIssueFilter().isEnableIssueMergedBy(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueMergedBy()),
+    ISSUE_MERGED_INFO(
+            model -> model.getGithubIssueFilter().isEnableIssueMergedInfo(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueMergedInfo()),
+    ISSUE_COMMENTS(
+            model -> model.getGithubIssueFilter().isEnableIssueComments(),
+            filter -> filter.getGithubIssueRepositoryFilter().isEnableIssueComments());
+
+    public static final int NUMBER_OF_GIT_COMMIT_OPTIONS = 12;
+
+    public static final int NUMBER_OF_GITHUB_ISSUE_OPTIONS = 16;
+
+    private final Function<RepoFilterRequestModel, Boolean> requestModelAccessor;
+
+    private final Predicate<GithubRepositoryFilter> filterAccessor;
+
+    GithubRepositoryFilterOption(
+            Function<RepoFilterRequestModel, Boolean> requestModelAccessor,
+            Predicate<GithubRepositoryFilter> filterAccessor) {
+
+        this.requestModelAccessor = requestModelAccessor;
+        this.filterAccessor = filterAccessor;
+    }
+
+    public boolean isEnabledIn(RepoFilterRequestModel repoFilterRequestModel) {
+        return RepoFilterRequestModel.returnValueOrFalseIfNull(requestModelAccessor.apply(repoFilterRequestModel));
+    }
+
+    public boolean isEnabledIn(GithubRepositoryFilter githubRepositoryFilter) {
+        return filterAccessor.test(githubRepositoryFilter);
+    }
+
+    public boolean isGitCommitOption() {
+        return ordinal() < NUMBER_OF_GIT_COMMIT_OPTIONS;
+    }
+
+}
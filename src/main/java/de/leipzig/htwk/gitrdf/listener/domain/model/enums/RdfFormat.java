@@ -0,0 +1,40 @@
+package de.leipzig.htwk.gitrdf.listener.domain.model.enums;
+
+import org.springframework.http.MediaType;
+
+import lombok.Getter;
+
+/**
+ * Formats in which rdf files can be downloaded. The rdf files are stored as turtle, other formats are converted.
+ */
+@Getter
+public enum RdfFormat {
+
+    TURTLE(RdfFormat.TURTLE_VALUE, "ttl"),
+
+    // one triple per line, so large files can be split and loaded in parallel
+    N_TRIPLES(RdfFormat.N_TRIPLES_VALUE, "nt"),
+
+    // binary encoding, which is parsed considerably faster than the text formats
+    RDF_THRIFT(RdfFormat.RDF_THRIFT_VALUE, "trdf");
+
+    public static final String TURTLE_VALUE = "text/turtle";
+
+    public static final String N_TRIPLES_VALUE = "application/n-triples";
+
+    public static final String RDF_THRIFT_VALUE = "application/rdf+thrift";
+
+    private final MediaType mediaType;
+
+    private final String fileExtension;
+
+    RdfFormat(String mediaType, String fileExtension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.fileExtension = fileExtension;
+    }
+
+    public boolean isStoredFormat() {
+        return this == TURTLE;
+    }
+
+}
@@ -1,5 +1,8 @@
 package de.leipzig.htwk.gitrdf.listener.factory;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import de.leipzig.htwk.gitrdf.database.common.entity.GitCommitRepositoryFilter;
@@ -8,6 +11,8 @@ import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
 import de.leipzig.htwk.gitrdf.listener.api.model.request.composite.filter.GitCommitFilterRequestModel;
 import de.leipzig.htwk.gitrdf.listener.api.model.request.composite.filter.GithubIssueFilterRequestModel;
 import de.leipzig.htwk.gitrdf.listener.api.model.request.composite.filter.RepoFilterRequestModel;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryFilterCode;
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.GithubRepositoryFilterOption;
 
 @Component
 public class GithubRepositoryFilterFactory {
@@ -21,6 +26,66 @@ public class GithubRepositoryFilterFactory {
         return convertFromNonNullRepoFilterRequestModel(repoFilterRequestModel);
     }
 
+    public GithubRepositoryFilterCode toFilterCode(RepoFilterRequestModel repoFilterRequestModel) {
+
+        if (repoFilterRequestModel == null) {
+            return GithubRepositoryFilterCode.ALL_ENABLED;
+        }
+
+        List<GithubRepositoryFilterOption> enabledOptions = Arrays.stream(GithubRepositoryFilterOption.values())
+                .filter(option -> option.isEnabledIn(repoFilterRequestModel))
+                .toList();
+
+        return GithubRepositoryFilterCode.of(enabledOptions);
+    }
+
+    public GithubRepositoryFilterCode toFilterCode(GithubRepositoryFilter githubRepositoryFilter) {
+
+        List<GithubRepositoryFilterOption> enabledOptions = Arrays.stream(GithubRepositoryFilterOption.values())
+                .filter(option -> option.isEnabledIn(githubRepositoryFilter))
+                .toList();
+
+        return GithubRepositoryFilterCode.of(enabledOptions);
+    }
+
+    public GithubRepositoryFilter fromFilterCode(GithubRepositoryFilterCode filterCode) {
+        return fromRepoFilterRequestModel(toRepoFilterRequestModel(filterCode));
+    }
+
+    public RepoFilterRequestModel toRepoFilterRequestModel(GithubRepositoryFilterCode filterCode) {
+        return new RepoFilterRequestModel(
+                new GitCommitFilterRequestModel(
+                        filterCode.isEnabled(GithubRepositoryFilterOption.COMMIT_HASH),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.AUTHOR_NAME),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.AUTHOR_EMAIL),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.AUTHOR_DATE),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.COMMIT_DATE),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.COMMITTER_NAME),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.COMMITTER_EMAIL),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.COMMIT_MESSAGE),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.COMMIT_DIFF),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.COMMIT_BRANCH),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.COMMIT_TAG),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.BRANCH_SNAPSHOT)),
+                new GithubIssueFilterRequestModel(
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_ID),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_NUMBER),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_STATE),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_TITLE),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_BODY),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_USER),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_LABELS),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_ASSIGNEES),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_MILESTONE),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_CREATED_AT),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_UPDATED_AT),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_CLOSED_AT),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_COMMENTS),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_MERGED_BY),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_MERGED_INFO),
+                        filterCode.isEnabled(GithubRepositoryFilterOption.ISSUE_REVIEWERS)));
+    }
+
     private GithubRepositoryFilter convertFromNonNullRepoFilterRequestModel(
             RepoFilterRequestModel repoFilterRequestModel) {
 
@@ -0,0 +1,141 @@
+package de.leipzig.htwk.gitrdf.listener.metrics;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderStatusRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderStatusCount;
+import de.leipzig.htwk.gitrdf.listener.utils.CountingOutputStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Meters of the queue and download paths. The histogram buckets are configured in the application.yaml
+ * ('management.metrics.distribution.*').
+ */
+@Slf4j
+@Component
+public class ListenerMetrics {
+
+    public static final String QUEUE_INSERTED = "listener.queue.inserted";
+
+    public static final String QUEUE_DEPTH = "listener.queue.depth";
+
+    public static final String DOWNLOAD_DURATION = "listener.download.duration";
+
+    public static final String DOWNLOAD_BYTES = "listener.download.bytes";
+
+    private final MeterRegistry meterRegistry;
+
+    private final GithubRepositoryOrderStatusRepository orderStatusRepository;
+
+    private final Counter queueInsertedCounter;
+
+    private final Map<GitRepositoryOrderStatus, AtomicLong> queueDepthByStatus = new EnumMap<>(GitRepositoryOrderStatus.class);
+
+    public ListenerMetrics(MeterRegistry meterRegistry, GithubRepositoryOrderStatusRepository orderStatusRepository) {
+
+        this.meterRegistry = meterRegistry;
+        this.orderStatusRepository = orderStatusRepository;
+
+        this.queueInsertedCounter = Counter.builder(QUEUE_INSERTED)
+                .description("Github repositories inserted into the queue")
+                .register(meterRegistry);
+
+        for (GitRepositoryOrderStatus status : GitRepositoryOrderStatus.values()) {
+            AtomicLong depth = new AtomicLong();
+            queueDepthByStatus.put(status, depth);
+
+            Gauge.builder(QUEUE_DEPTH, depth, AtomicLong::get)
+                    .description("Number of github repository orders per status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordQueueInsert() {
+        recordQueueInserts(1);
+    }
+
+    /**
+     * Counts the inserted orders once the current transaction commits, rolled back inserts aren't counted.
+     */
+    public void recordQueueInserts(int count) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queueInsertedCounter.increment(count);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queueInsertedCounter.increment(count);
+            }
+        });
+    }
+
+    // the orders are updated by other services too, so the depth is polled instead of maintained on insert
+    @Scheduled(fixedDelayString = "${listener.metrics.queue-depth-refresh-interval-millis:15000}")
+    public void refreshQueueDepth() {
+
+        Map<GitRepositoryOrderStatus, Long> totals = new EnumMap<>(GitRepositoryOrderStatus.class);
+
+        for (OrderStatusCount count : orderStatusRepository.countGroupedByStatus()) {
+            totals.put(count.getStatus(), count.getTotal());
+        }
+
+        queueDepthByStatus.forEach((status, depth) -> depth.set(totals.getOrDefault(status, 0L)));
+        log.debug("Refreshed queue depth: {}", totals);
+    }
+
+    /**
+     * Wraps the given body, so that its duration and the number of written bytes are recorded per endpoint once the
+     * body was written.
+     */
+    public StreamingResponseBody instrumentDownload(String endpoint, StreamingResponseBody body) {
+
+        return outputStream -> {
+
+            CountingOutputStream countingOutputStream = new CountingOutputStream(outputStream);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+
+            try {
+                body.writeTo(countingOutputStream);
+            } catch (IOException | RuntimeException ex) {
+                outcome = "error";
+                throw ex;
+            } finally {
+                sample.stop(Timer.builder(DOWNLOAD_DURATION)
+                        .description("Duration of writing a download body")
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+
+                DistributionSummary.builder(DOWNLOAD_BYTES)
+                        .description("Bytes written per download")
+                        .baseUnit(BaseUnits.BYTES)
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(countingOutputStream.getCount());
+            }
+        };
+    }
+
+}
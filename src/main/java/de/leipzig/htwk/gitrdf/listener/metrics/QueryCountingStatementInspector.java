@@ -0,0 +1,24 @@
+package de.leipzig.htwk.gitrdf.listener.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by the current thread. Registered with
+ * 'spring.jpa.properties.hibernate.session_factory.statement_inspector', so Hibernate creates the instance itself
+ * and the counter has to be static.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long currentThreadStatementCount() {
+        return STATEMENT_COUNT.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENT_COUNT.get()[0]++;
+        return sql;
+    }
+
+}
@@ -0,0 +1,55 @@
+package de.leipzig.htwk.gitrdf.listener.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records the latency and the number of SQL statements of every {@link de.leipzig.htwk.gitrdf.listener.service.RatingsService} call.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RatingsServiceMetricsAspect {
+
+    public static final String RATINGS_DURATION = "listener.ratings.duration";
+
+    public static final String RATINGS_STATEMENTS = "listener.ratings.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * de.leipzig.htwk.gitrdf.listener.service.RatingsService+.*(..))")
+    public Object recordRatingsServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        String method = joinPoint.getSignature().getName();
+        long statementCountBefore = QueryCountingStatementInspector.currentThreadStatementCount();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = "error";
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(RATINGS_DURATION)
+                    .description("Duration of ratings service calls")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+
+            DistributionSummary.builder(RATINGS_STATEMENTS)
+                    .description("SQL statements per ratings service call")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(QueryCountingStatementInspector.currentThreadStatementCount() - statementCountBefore);
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GitUploadSessionEntity;
+import jakarta.persistence.LockModeType;
+
+public interface GitUploadSessionRepository extends JpaRepository<GitUploadSessionEntity, String> {
+
+    // chunks of the same upload are written one after another, so no received chunk is lost
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from GitUploadSessionEntity s where s.id = :id")
+    Optional<GitUploadSessionEntity> findByIdForUpdate(@Param("id") String id);
+
+    List<GitUploadSessionEntity> findAllByUpdatedAtBefore(Instant updatedAt);
+
+}
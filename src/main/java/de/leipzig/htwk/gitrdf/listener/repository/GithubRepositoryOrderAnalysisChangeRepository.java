@@ -0,0 +1,21 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderAnalysisChangeEntity;
+
+public interface GithubRepositoryOrderAnalysisChangeRepository
+        extends JpaRepository<GithubRepositoryOrderAnalysisChangeEntity, Long> {
+
+    /**
+     * Locks the oldest recorded changes, changes locked by a concurrent refresh are skipped.
+     */
+    @Query(nativeQuery = true, value = "select * from github_repository_order_analysis_change "
+            + "order by id limit :limit for update skip locked")
+    List<GithubRepositoryOrderAnalysisChangeEntity> lockOldestChanges(@Param("limit") int limit);
+
+}
@@ -0,0 +1,42 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderAnalysisTypeCount;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderCount;
+
+/**
+ * Order keyed aggregate queries over analyses, answering the counts of many orders in a single statement.
+ * Backed by the (analysis type, order) index created by the {@code DatabaseIndexInitializer}.
+ */
+public interface GithubRepositoryOrderAnalysisCountRepository
+        extends Repository<GithubRepositoryOrderAnalysisEntity, Long> {
+
+    @Query("select a.githubRepositoryOrder.id as orderId, a.analysisType as analysisType, count(a) as total, "
+            + "sum(case when a.rdfBlob is not null then 1 else 0 end) as withRdf "
+            + "from GithubRepositoryOrderAnalysisEntity a "
+            + "where a.githubRepositoryOrder.id in :orderIds "
+            + "group by a.githubRepositoryOrder.id, a.analysisType")
+    List<OrderAnalysisTypeCount> countByOrderIdsGroupedByOrderIdAndAnalysisType(
+            @Param("orderIds") Collection<Long> orderIds);
+
+    @Query("select a.githubRepositoryOrder.id as orderId, count(distinct a.metricId) as total "
+            + "from GithubRepositoryOrderAnalysisEntity a "
+            + "where a.githubRepositoryOrder.id in :orderIds "
+            + "group by a.githubRepositoryOrder.id")
+    List<OrderCount> countDistinctMetricIdsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("select o.id from GithubRepositoryOrderEntity o where o.id in :orderIds")
+    List<Long> findExistingOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("select o.id from GithubRepositoryOrderEntity o where o.id > :orderId order by o.id")
+    List<Long> findOrderIdsAfter(@Param("orderId") long orderId, Pageable pageable);
+
+}
@@ -0,0 +1,74 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.AnalysisTypeCount;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.MetricAnalysisTypeCount;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.MetricCount;
+
+/**
+ * Metric keyed queries for analyses across all orders.
+ * Backed by the (metric id, analysis type) index created by the {@code DatabaseIndexInitializer}.
+ */
+public interface GithubRepositoryOrderAnalysisMetricRepository
+        extends Repository<GithubRepositoryOrderAnalysisEntity, Long> {
+
+    @Query("select a from GithubRepositoryOrderAnalysisEntity a join fetch a.githubRepositoryOrder "
+            + "where a.metricId = :metricId")
+    List<GithubRepositoryOrderAnalysisEntity> findAllByMetricId(@Param("metricId") String metricId);
+
+    @Query("select a from GithubRepositoryOrderAnalysisEntity a join fetch a.githubRepositoryOrder "
+            + "where a.metricId = :metricId and a.analysisType = :analysisType")
+    List<GithubRepositoryOrderAnalysisEntity> findAllByMetricIdAndAnalysisType(
+            @Param("metricId") String metricId,
+            @Param("analysisType") AnalysisType analysisType);
+
+    @Query("select a from GithubRepositoryOrderAnalysisEntity a join fetch a.githubRepositoryOrder "
+            + "where a.metricId = :metricId and a.rdfBlob is not null")
+    List<GithubRepositoryOrderAnalysisEntity> findAllWithRdfByMetricId(@Param("metricId") String metricId);
+
+    @Query("select a from GithubRepositoryOrderAnalysisEntity a join fetch a.githubRepositoryOrder "
+            + "where a.metricId = :metricId and a.analysisType = :analysisType and a.rdfBlob is not null")
+    List<GithubRepositoryOrderAnalysisEntity> findAllWithRdfByMetricIdAndAnalysisType(
+            @Param("metricId") String metricId,
+            @Param("analysisType") AnalysisType analysisType);
+
+    @Query("select distinct a.metricId from GithubRepositoryOrderAnalysisEntity a order by a.metricId")
+    List<String> findDistinctMetricIds();
+
+    @Query("select distinct a.githubRepositoryOrder.id from GithubRepositoryOrderAnalysisEntity a "
+            + "where a.metricId = :metricId order by a.githubRepositoryOrder.id")
+    List<Long> findDistinctOrderIdsByMetricId(@Param("metricId") String metricId);
+
+    @Query("select distinct a.githubRepositoryOrder.id from GithubRepositoryOrderAnalysisEntity a "
+            + "where a.analysisType = :analysisType order by a.githubRepositoryOrder.id")
+    List<Long> findDistinctOrderIdsByAnalysisType(@Param("analysisType") AnalysisType analysisType);
+
+    @Query("select a.analysisType as analysisType, count(a) as total, "
+            + "sum(case when a.rdfBlob is not null then 1 else 0 end) as withRdf "
+            + "from GithubRepositoryOrderAnalysisEntity a "
+            + "where a.metricId = :metricId group by a.analysisType")
+    List<AnalysisTypeCount> countByMetricIdGroupedByAnalysisType(@Param("metricId") String metricId);
+
+    @Query("select count(distinct a.githubRepositoryOrder.id) from GithubRepositoryOrderAnalysisEntity a "
+            + "where a.metricId = :metricId")
+    long countDistinctOrderIdsByMetricId(@Param("metricId") String metricId);
+
+    @Query("select a.metricId as metricId, a.analysisType as analysisType, count(a) as total, "
+            + "sum(case when a.rdfBlob is not null then 1 else 0 end) as withRdf "
+            + "from GithubRepositoryOrderAnalysisEntity a "
+            + "group by a.metricId, a.analysisType")
+    List<MetricAnalysisTypeCount> countGroupedByMetricIdAndAnalysisType();
+
+    @Query("select a.metricId as metricId, count(distinct a.githubRepositoryOrder.id) as total "
+            + "from GithubRepositoryOrderAnalysisEntity a "
+            + "group by a.metricId")
+    List<MetricCount> countDistinctOrderIdsGroupedByMetricId();
+
+}
@@ -0,0 +1,54 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.AnalysisRdfInfo;
+
+/**
+ * Queries which only test the rdf blob column for null, instead of loading every analysis to check its blob.
+ */
+public interface GithubRepositoryOrderAnalysisRdfRepository
+        extends Repository<GithubRepositoryOrderAnalysisEntity, Long> {
+
+    String RDF_INFO_SELECT = "select new de.leipzig.htwk.gitrdf.listener.repository.projection.AnalysisRdfInfo("
+            + "a.id, a.metricId, a.analysisType, a.githubRepositoryOrder.id, "
+            + "case when a.rdfBlob is not null then true else false end) "
+            + "from GithubRepositoryOrderAnalysisEntity a ";
+
+    @Query(RDF_INFO_SELECT + "where a.githubRepositoryOrder.id = :orderId order by a.id")
+    List<AnalysisRdfInfo> findRdfInfosByOrderId(@Param("orderId") Long orderId);
+
+    @Query(RDF_INFO_SELECT + "where a.githubRepositoryOrder.id = :orderId and a.analysisType = :analysisType order by a.id")
+    List<AnalysisRdfInfo> findRdfInfosByOrderIdAndAnalysisType(
+            @Param("orderId") Long orderId,
+            @Param("analysisType") AnalysisType analysisType);
+
+    @Query(RDF_INFO_SELECT + "where a.githubRepositoryOrder.id = :orderId and a.rdfBlob is not null order by a.id")
+    List<AnalysisRdfInfo> findRdfInfosWithRdfByOrderId(@Param("orderId") Long orderId);
+
+    @Query(RDF_INFO_SELECT + "where a.githubRepositoryOrder.id = :orderId and a.analysisType = :analysisType "
+            + "and a.rdfBlob is not null order by a.id")
+    List<AnalysisRdfInfo> findRdfInfosWithRdfByOrderIdAndAnalysisType(
+            @Param("orderId") Long orderId,
+            @Param("analysisType") AnalysisType analysisType);
+
+    @Query(RDF_INFO_SELECT + "where a.metricId = :metricId order by a.id")
+    List<AnalysisRdfInfo> findRdfInfosByMetricId(@Param("metricId") String metricId);
+
+    @Query("select a from GithubRepositoryOrderAnalysisEntity a "
+            + "where a.githubRepositoryOrder.id = :orderId and a.rdfBlob is not null")
+    List<GithubRepositoryOrderAnalysisEntity> findAllWithRdfByOrderId(@Param("orderId") Long orderId);
+
+    @Query("select a from GithubRepositoryOrderAnalysisEntity a "
+            + "where a.githubRepositoryOrder.id = :orderId and a.analysisType = :analysisType and a.rdfBlob is not null")
+    List<GithubRepositoryOrderAnalysisEntity> findAllWithRdfByOrderIdAndAnalysisType(
+            @Param("orderId") Long orderId,
+            @Param("analysisType") AnalysisType analysisType);
+
+}
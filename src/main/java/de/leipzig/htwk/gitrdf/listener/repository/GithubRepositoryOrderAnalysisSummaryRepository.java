@@ -0,0 +1,31 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderAnalysisSummaryEntity;
+
+public interface GithubRepositoryOrderAnalysisSummaryRepository
+        extends JpaRepository<GithubRepositoryOrderAnalysisSummaryEntity, Long> {
+
+    String INSERT_SUMMARY = "insert into github_repository_order_analysis_summary (order_id, total_ratings, "
+            + "total_statistics, total_experts, unique_metrics, ratings_with_rdf, statistics_with_rdf, experts_with_rdf, "
+            + "refreshed_at) values (:#{#summary.orderId}, :#{#summary.totalRatings}, :#{#summary.totalStatistics}, "
+            + ":#{#summary.totalExperts}, :#{#summary.uniqueMetrics}, :#{#summary.ratingsWithRdf}, "
+            + ":#{#summary.statisticsWithRdf}, :#{#summary.expertsWithRdf}, :#{#summary.refreshedAt}) ";
+
+    /**
+     * Stores the summary unless there is one already, e.g. computed by a concurrent first read of the same order.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(nativeQuery = true, value = INSERT_SUMMARY + "on conflict (order_id) do nothing")
+    void insertSummaryIfAbsent(@Param("summary") GithubRepositoryOrderAnalysisSummaryEntity summary);
+
+    @Modifying
+    @Query("delete from GithubRepositoryOrderAnalysisSummaryEntity s "
+            + "where s.orderId not in (select o.id from GithubRepositoryOrderEntity o)")
+    int deleteSummariesOfDeletedOrders();
+
+}
@@ -0,0 +1,25 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderFingerprintEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.FingerprintOrderId;
+
+public interface GithubRepositoryOrderFingerprintRepository
+        extends JpaRepository<GithubRepositoryOrderFingerprintEntity, Long> {
+
+    @Query("select f.fingerprint as fingerprint, min(f.orderId) as orderId "
+            + "from GithubRepositoryOrderFingerprintEntity f, GithubRepositoryOrderEntity o "
+            + "where o.id = f.orderId and f.fingerprint in :fingerprints and o.status in :statuses "
+            + "group by f.fingerprint")
+    List<FingerprintOrderId> findOrderIdsByFingerprintsAndOrderStatuses(
+            @Param("fingerprints") Collection<String> fingerprints,
+            @Param("statuses") Collection<GitRepositoryOrderStatus> statuses);
+
+}
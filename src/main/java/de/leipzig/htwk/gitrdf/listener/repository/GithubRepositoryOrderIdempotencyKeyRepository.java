@@ -0,0 +1,28 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderIdempotencyKeyEntity;
+
+public interface GithubRepositoryOrderIdempotencyKeyRepository
+        extends JpaRepository<GithubRepositoryOrderIdempotencyKeyEntity, String> {
+
+    /**
+     * Stores the key unless it is stored already, without failing the transaction on a conflict.
+     *
+     * @return The number of inserted rows, zero if the key is used already.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into github_repository_order_idempotency_key (idempotency_key, order_id, "
+            + "fingerprint, created_at) values (:#{#key.idempotencyKey}, :#{#key.orderId}, :#{#key.fingerprint}, "
+            + ":#{#key.createdAt}) on conflict (idempotency_key) do nothing")
+    int insertIfAbsent(@Param("key") GithubRepositoryOrderIdempotencyKeyEntity key);
+
+    @Modifying
+    @Query("delete from GithubRepositoryOrderIdempotencyKeyEntity k where k.orderId = :orderId")
+    int deleteAllByOrderId(@Param("orderId") long orderId);
+
+}
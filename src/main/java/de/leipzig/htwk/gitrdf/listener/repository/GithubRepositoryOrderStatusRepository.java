@@ -0,0 +1,27 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderIdStatus;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderStatusCount;
+
+public interface GithubRepositoryOrderStatusRepository extends Repository<GithubRepositoryOrderEntity, Long> {
+
+    @Query("select o.status as status, count(o) as total from GithubRepositoryOrderEntity o group by o.status")
+    List<OrderStatusCount> countGroupedByStatus();
+
+    @Query("select o.status from GithubRepositoryOrderEntity o where o.id = :id")
+    Optional<GitRepositoryOrderStatus> findStatusById(@Param("id") Long id);
+
+    @Query("select o.id as id, o.status as status from GithubRepositoryOrderEntity o where o.id in :ids")
+    List<OrderIdStatus> findStatusesByIds(@Param("ids") Collection<Long> ids);
+
+}
@@ -0,0 +1,29 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.MetricAnalysisSummaryEntity;
+
+public interface MetricAnalysisSummaryRepository extends JpaRepository<MetricAnalysisSummaryEntity, String> {
+
+    /**
+     * Stores the rollup unless there is one already, e.g. computed by a concurrent first read of the same metric.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(nativeQuery = true, value = "insert into metric_analysis_summary (metric_id, total_ratings, total_statistics, "
+            + "unique_orders, ratings_with_rdf, statistics_with_rdf, refreshed_at) values (:#{#summary.metricId}, "
+            + ":#{#summary.totalRatings}, :#{#summary.totalStatistics}, :#{#summary.uniqueOrders}, "
+            + ":#{#summary.ratingsWithRdf}, :#{#summary.statisticsWithRdf}, :#{#summary.refreshedAt}) "
+            + "on conflict (metric_id) do nothing")
+    void insertSummaryIfAbsent(@Param("summary") MetricAnalysisSummaryEntity summary);
+
+    @Modifying
+    @Query("delete from MetricAnalysisSummaryEntity s where s.refreshedAt < :refreshedAt")
+    int deleteSummariesRefreshedBefore(@Param("refreshedAt") Instant refreshedAt);
+
+}
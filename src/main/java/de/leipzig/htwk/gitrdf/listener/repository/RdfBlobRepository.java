@@ -0,0 +1,20 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.RdfBlobEntity;
+import jakarta.persistence.LockModeType;
+
+public interface RdfBlobRepository extends JpaRepository<RdfBlobEntity, String> {
+
+    // references are added and released one after another, so the large object isn't deleted while it is still used
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from RdfBlobEntity b where b.sha256 = :sha256")
+    Optional<RdfBlobEntity> findBySha256ForUpdate(@Param("sha256") String sha256);
+
+}
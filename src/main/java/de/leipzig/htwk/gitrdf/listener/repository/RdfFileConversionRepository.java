@@ -0,0 +1,13 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.RdfFileConversionEntity;
+
+public interface RdfFileConversionRepository extends JpaRepository<RdfFileConversionEntity, RdfFileConversionEntity.Key> {
+
+    List<RdfFileConversionEntity> findAllByOrderId(Long orderId);
+
+}
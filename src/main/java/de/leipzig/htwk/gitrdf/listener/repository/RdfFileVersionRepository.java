@@ -0,0 +1,12 @@
+package de.leipzig.htwk.gitrdf.listener.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.RdfFileVersionEntity;
+
+/**
+ * Versions are only written by the trigger of the {@link de.leipzig.htwk.gitrdf.listener.config.RdfFileVersionTriggerInitializer}.
+ */
+public interface RdfFileVersionRepository extends JpaRepository<RdfFileVersionEntity, Long> {
+
+}
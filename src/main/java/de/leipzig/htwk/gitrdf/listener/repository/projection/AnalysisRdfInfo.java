@@ -0,0 +1,23 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import lombok.Value;
+
+/**
+ * Lightweight view of an analysis. Whether rdf data is available is decided by the database, the rdf blob itself
+ * is neither fetched nor proxied.
+ */
+@Value
+public class AnalysisRdfInfo {
+
+    Long id;
+
+    String metricId;
+
+    AnalysisType analysisType;
+
+    Long orderId;
+
+    boolean rdfAvailable;
+
+}
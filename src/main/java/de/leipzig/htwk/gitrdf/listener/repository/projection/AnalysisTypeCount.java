@@ -0,0 +1,16 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+
+/**
+ * Aggregated analysis counts for a single analysis type.
+ */
+public interface AnalysisTypeCount {
+
+    AnalysisType getAnalysisType();
+
+    long getTotal();
+
+    long getWithRdf();
+
+}
@@ -0,0 +1,12 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+/**
+ * Id of an order with the given fingerprint.
+ */
+public interface FingerprintOrderId {
+
+    String getFingerprint();
+
+    Long getOrderId();
+
+}
@@ -0,0 +1,18 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+
+/**
+ * Aggregated analysis counts of a single metric for a single analysis type.
+ */
+public interface MetricAnalysisTypeCount {
+
+    String getMetricId();
+
+    AnalysisType getAnalysisType();
+
+    long getTotal();
+
+    long getWithRdf();
+
+}
@@ -0,0 +1,12 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+/**
+ * A single count of a metric.
+ */
+public interface MetricCount {
+
+    String getMetricId();
+
+    long getTotal();
+
+}
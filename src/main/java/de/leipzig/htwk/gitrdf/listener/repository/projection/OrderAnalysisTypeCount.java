@@ -0,0 +1,18 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+
+/**
+ * Aggregated analysis counts of a single order for a single analysis type.
+ */
+public interface OrderAnalysisTypeCount {
+
+    Long getOrderId();
+
+    AnalysisType getAnalysisType();
+
+    long getTotal();
+
+    long getWithRdf();
+
+}
@@ -0,0 +1,12 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+/**
+ * A single count of an order.
+ */
+public interface OrderCount {
+
+    Long getOrderId();
+
+    long getTotal();
+
+}
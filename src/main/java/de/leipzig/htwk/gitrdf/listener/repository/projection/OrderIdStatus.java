@@ -0,0 +1,14 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+
+/**
+ * Current status of a single order.
+ */
+public interface OrderIdStatus {
+
+    Long getId();
+
+    GitRepositoryOrderStatus getStatus();
+
+}
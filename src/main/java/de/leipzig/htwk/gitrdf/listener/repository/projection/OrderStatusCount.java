@@ -0,0 +1,14 @@
+package de.leipzig.htwk.gitrdf.listener.repository.projection;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+
+/**
+ * Number of orders in a single order status.
+ */
+public interface OrderStatusCount {
+
+    GitRepositoryOrderStatus getStatus();
+
+    long getTotal();
+
+}
@@ -0,0 +1,36 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.RdfFileVersion;
+
+/**
+ * Decides how long clients and shared caches may reuse a downloaded rdf file without revalidating it.
+ */
+@Component
+public class DownloadCachePolicy {
+
+    private final Duration maxAge;
+
+    public DownloadCachePolicy(@Value("${listener.download.cache-max-age:30d}") Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * The rdf file of a completed order doesn't change anymore, so it is cached for the configured max age.
+     * Any other rdf file has to be revalidated on each use, which is cheap with the entity tag.
+     */
+    public CacheControl getCacheControl(RdfFileVersion rdfFileVersion) {
+
+        if (rdfFileVersion.isCompleted()) {
+            return CacheControl.maxAge(maxAge).cachePublic();
+        }
+
+        return CacheControl.noCache();
+    }
+
+}
@@ -0,0 +1,73 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import java.util.zip.Deflater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.ContentEncoding;
+import de.leipzig.htwk.gitrdf.listener.utils.ContentEncodingUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.ThresholdCompressingOutputStream;
+
+/**
+ * Compresses download bodies with the content coding negotiated per request. The size of bundle downloads isn't known
+ * before they are written, so bodies up to the configured minimum size are buffered and sent uncompressed.
+ */
+@Component
+public class DownloadCompressor {
+
+    private final boolean enabled;
+
+    private final int compressionLevel;
+
+    private final int minSize;
+
+    public DownloadCompressor(
+            @Value("${listener.download.compression.enabled:true}") boolean enabled,
+            @Value("${listener.download.compression.level:6}") int compressionLevel,
+            @Value("${listener.download.compression.min-size:64KB}") DataSize minSize) {
+
+        if (compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("listener.download.compression.level has to be between 1 and 9, but was " + compressionLevel);
+        }
+
+        this.enabled = enabled;
+        this.compressionLevel = compressionLevel;
+        this.minSize = Math.toIntExact(minSize.toBytes());
+    }
+
+    /**
+     * Selects the content coding of the download from the accept encoding header of the request.
+     *
+     * @return The content coding, null if the client accepts none of them or compression is disabled.
+     */
+    public ContentEncoding negotiate(String acceptEncodingHeader) {
+        return enabled ? ContentEncodingUtils.negotiate(acceptEncodingHeader) : null;
+    }
+
+    /**
+     * Wraps the given body, so that it is compressed with the given content coding once it exceeds the minimum size.
+     *
+     * @param compressionListener Called before the first compressed byte is written, e.g. to set the content encoding
+     *                            header of the response, which is only sent with the first byte.
+     */
+    public StreamingResponseBody compress(
+            StreamingResponseBody body,
+            ContentEncoding contentEncoding,
+            Runnable compressionListener) {
+
+        return outputStream -> {
+
+            ThresholdCompressingOutputStream compressingOutputStream = new ThresholdCompressingOutputStream(
+                    outputStream, contentEncoding, compressionLevel, minSize, compressionListener);
+
+            body.writeTo(compressingOutputStream);
+
+            // not closed on failures, a broken body mustn't look complete to the client
+            compressingOutputStream.close();
+        };
+    }
+
+}
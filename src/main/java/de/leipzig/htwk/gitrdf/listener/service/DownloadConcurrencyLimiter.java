@@ -0,0 +1,97 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits the number of download bodies reading large objects at the same time. Every download holds a database
+ * connection while it is written, without a limit concurrent downloads would take all connections of the pool from
+ * the listing and queue endpoints. With virtual threads there's no thread pool left which would limit them.
+ * Waiting for a permit only parks the thread, it doesn't pin a carrier thread.
+ */
+@Component
+public class DownloadConcurrencyLimiter {
+
+    public static final String DOWNLOADS_ACTIVE = "listener.download.active";
+
+    public static final String DOWNLOADS_WAITING = "listener.download.waiting";
+
+    private final int maxConcurrentDownloads;
+
+    private final Semaphore permits;
+
+    public DownloadConcurrencyLimiter(
+            @Value("${listener.download.max-concurrent:8}") int maxConcurrentDownloads,
+            MeterRegistry meterRegistry) {
+
+        if (maxConcurrentDownloads < 1) {
+            throw new IllegalArgumentException("listener.download.max-concurrent has to be at least 1, but was " + maxConcurrentDownloads);
+        }
+
+        this.maxConcurrentDownloads = maxConcurrentDownloads;
+        this.permits = new Semaphore(maxConcurrentDownloads, true);
+
+        Gauge.builder(DOWNLOADS_ACTIVE, permits, semaphore -> maxConcurrentDownloads - semaphore.availablePermits())
+                .description("Downloads currently reading from the database")
+                .register(meterRegistry);
+
+        Gauge.builder(DOWNLOADS_WAITING, permits, Semaphore::getQueueLength)
+                .description("Downloads waiting for a free download slot")
+                .register(meterRegistry);
+    }
+
+    public int getMaxConcurrentDownloads() {
+        return maxConcurrentDownloads;
+    }
+
+    /**
+     * Wraps the given body, so that it waits for a free download slot before it is written.
+     */
+    public StreamingResponseBody limit(StreamingResponseBody body) {
+
+        return outputStream -> {
+
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a free download slot");
+            }
+
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * Runs work which reads large objects before a download can start, e.g. a format conversion, in a download slot
+     * of its own.
+     */
+    public <T> T runLimited(Supplier<T> work) {
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free download slot", ex);
+        }
+
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+}
@@ -19,14 +19,30 @@ public interface GitService {
 
     /**
      * Inserts the given .git repository (in the multipart file) into the worker queue.
+     * The zip file is validated while it is stored, the insert is rolled back at the first entry which isn't part of
+     * the .git directory.
      *
      * @param fileInputStream  The byte stream of the .git repository (in the multipart file).
      * @param byteLengthOfFile The amount of bytes in the .git repository byte stream
      * @param fileName         The name of the file.
      * @return The id of the queue entry.
+     * @throws de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException If the zip file is invalid.
      */
     long insertGitMultipartFileIntoQueue(InputStream fileInputStream, long byteLengthOfFile, String fileName) throws IOException;
 
+    /**
+     * Inserts the .git repository zip file in the given large object into the worker queue, like
+     * {@link #insertGitMultipartFileIntoQueue(InputStream, long, String)}. The large object is validated and then
+     * taken over by the queue entry, it isn't copied.
+     *
+     * @param largeObjectId The oid of the large object holding the zip file.
+     * @param fileName      The name of the file.
+     * @return The id of the queue entry.
+     * @throws de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException If the zip file is invalid, nothing
+     *                                                                           was changed in this case.
+     */
+    long insertGitZipLargeObjectIntoQueue(long largeObjectId, String fileName);
+
     File getTempRdfFile(long id) throws SQLException, IOException;
 
     void completeDelete(long id);
@@ -0,0 +1,67 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GitUploadSessionEntity;
+
+public interface GitUploadService {
+
+    /**
+     * Inserts a .git repository zip file sent in a single request into the worker queue. The content is validated while
+     * it is written into the large object of the order, it isn't buffered in memory or on disk.
+     *
+     * @param content       The zip file.
+     * @param contentLength The length of the zip file in bytes.
+     * @param fileName      The name of the file.
+     * @return The id of the queue entry.
+     * @throws de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException If the size or the zip file is invalid.
+     */
+    long uploadZip(InputStream content, long contentLength, String fileName) throws IOException;
+
+    /**
+     * Starts a chunked upload of a .git repository zip file.
+     *
+     * @param fileName  The name of the file.
+     * @param totalSize The size of the whole file in bytes.
+     * @return The upload, which defines the chunk size.
+     */
+    GitUploadSessionEntity initUpload(String fileName, long totalSize);
+
+    /**
+     * Finds the upload, e.g. to resume it with its missing chunks.
+     */
+    GitUploadSessionEntity getUpload(String uploadId);
+
+    /**
+     * Stores a single chunk of the upload. Chunks can be sent in any order and again, the chunk isn't stored if its
+     * length or checksum don't match.
+     *
+     * @param uploadId       The id of the upload.
+     * @param index          The zero based index of the chunk.
+     * @param content        The content of the chunk.
+     * @param contentLength  The length of the content in bytes.
+     * @param sha256Checksum The hex encoded SHA-256 checksum of the content.
+     * @return The upload with the chunk marked as received.
+     */
+    GitUploadSessionEntity uploadChunk(
+            String uploadId,
+            int index,
+            InputStream content,
+            long contentLength,
+            String sha256Checksum) throws IOException;
+
+    /**
+     * Inserts the uploaded file into the worker queue, once all chunks are received.
+     * An invalid zip file ends the upload.
+     *
+     * @return The id of the queue entry.
+     */
+    long completeUpload(String uploadId);
+
+    /**
+     * Deletes uploads which didn't receive a chunk within the expiry time.
+     */
+    void deleteExpiredUploads();
+
+}
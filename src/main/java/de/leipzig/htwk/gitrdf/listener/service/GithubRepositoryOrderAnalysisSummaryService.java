@@ -0,0 +1,30 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import java.util.Optional;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderAnalysisSummaryEntity;
+
+public interface GithubRepositoryOrderAnalysisSummaryService {
+
+    /**
+     * Returns the stored summary of the order. If there is none yet, it is computed and stored.
+     *
+     * @param orderId The id of the github repository order.
+     * @return The summary of the analyses of the order, empty if the order doesn't exist.
+     */
+    Optional<GithubRepositoryOrderAnalysisSummaryEntity> getOrRefreshSummary(long orderId);
+
+    /**
+     * Refreshes the summaries of all orders whose analyses were inserted, updated or deleted since the last refresh.
+     */
+    void refreshChangedOrders();
+
+    /**
+     * Recomputes the summaries of all orders and removes summaries of deleted orders.
+     * Catches changes the incremental refresh can't see, i.e. made before the change trigger existed.
+     */
+    void reconcileAllOrders();
+
+    void deleteSummary(long orderId);
+
+}
@@ -1,23 +1,127 @@
 package de.leipzig.htwk.gitrdf.listener.service;
 
-import java.io.File;
-import java.io.IOException;
-import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.listener.domain.model.ByteRange;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryOrderPage;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryOrderPageRequest;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryQueueEntry;
+import de.leipzig.htwk.gitrdf.listener.domain.model.RdfFileVersion;
 
 public interface GithubService {
     public List<GithubRepositoryOrderEntity> findAll();
 
-    long insertGithubRepositoryIntoQueue(String owner, String repository, GithubRepositoryFilter githubRepositoryFilter);
+    /**
+     * Finds a single keyset page of orders, ordered by id.
+     * At most page size + 1 orders are loaded, independent of the amount of stored orders.
+     */
+    GithubRepositoryOrderPage findPage(GithubRepositoryOrderPageRequest pageRequest);
+
+    /**
+     * Inserts the repository into the queue, unless an equal order (same repository and filter) is still received or
+     * processing, in which case the id of that order is returned.
+     * A repeated request with the same idempotency key returns the order of the first request, also if that request was
+     * answered with an equal pending order. Reusing the key for a different repository or filter is a bad request.
+     * @param idempotencyKey optional, null if not given
+     */
+    long insertGithubRepositoryIntoQueue(
+            String owner,
+            String repository,
+            GithubRepositoryFilter githubRepositoryFilter,
+            String idempotencyKey);
+
+    /**
+     * Inserts all given repositories into the queue within a single transaction and a single lookup of pending orders.
+     * The orders get identity ids, so each one is still inserted by its own statement.
+     * Like single inserts, repositories with an equal pending order get the id of that order.
+     * @return the ids of the orders, in the order of the given entries
+     */
+    List<Long> insertGithubRepositoriesIntoQueue(List<GithubRepositoryQueueEntry> entries);
 
     boolean isRdfFileAvailable(long id);
 
-    File getTempRdfFile(long id) throws SQLException, IOException;
+    /**
+     * Prepares the download of the given version of an rdf file.
+     * The bodies of the result stream the large object of the version directly from the database, inside their own
+     * read-only transaction, so they always match the validators derived from the version.
+     * A gzip compressed rdf file is passed through as it is stored if the client accepts gzip, and decompressed while
+     * it is streamed otherwise.
+     */
+    RdfFileDownload getRdfFileDownload(RdfFileVersion rdfFileVersion, boolean gzipAccepted);
+
+    /**
+     * Finds the current version of the rdf file of the given order, without opening its large object.
+     * Only reads, the versions are recorded by a trigger whenever an rdf file is replaced.
+     */
+    RdfFileVersion getRdfFileVersion(long id);
 
     void completeDelete(long id);
 
-    
+    /**
+     * Result class for rdf file downloads
+     */
+    class RdfFileDownload {
+        public static final long UNKNOWN_CONTENT_LENGTH = -1;
+
+        private final String fileName;
+        private final long contentLength;
+        private final String contentEncoding;
+        private final Function<ByteRange, StreamingResponseBody> bodyFactory;
+
+        public RdfFileDownload(String fileName, long contentLength, Function<ByteRange, StreamingResponseBody> bodyFactory) {
+            this(fileName, contentLength, null, bodyFactory);
+        }
+
+        public RdfFileDownload(
+                String fileName,
+                long contentLength,
+                String contentEncoding,
+                Function<ByteRange, StreamingResponseBody> bodyFactory) {
+
+            this.fileName = fileName;
+            this.contentLength = contentLength;
+            this.contentEncoding = contentEncoding;
+            this.bodyFactory = bodyFactory;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public long getContentLength() {
+            return contentLength;
+        }
+
+        /**
+         * False for files which are decompressed while they are streamed, these don't support byte ranges.
+         */
+        public boolean isContentLengthKnown() {
+            return contentLength != UNKNOWN_CONTENT_LENGTH;
+        }
+
+        /**
+         * The content coding of the body, e.g. gzip, or null if the body isn't encoded.
+         */
+        public String getContentEncoding() {
+            return contentEncoding;
+        }
+
+        public StreamingResponseBody getBody() {
+            return bodyFactory.apply(ByteRange.full(isContentLengthKnown() ? contentLength : Long.MAX_VALUE));
+        }
+
+        /**
+         * Body which only streams the given range, the stored file is read starting at the range start.
+         * Ranges are relative to the encoded body, if the body has a content encoding.
+         */
+        public StreamingResponseBody getBody(ByteRange range) {
+            return bodyFactory.apply(range);
+        }
+    }
+
 }
@@ -0,0 +1,21 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.MetricAnalysisSummaryEntity;
+
+public interface MetricAnalysisSummaryService {
+
+    /**
+     * Returns the stored rollup of the metric. If there is none yet, it is computed and stored, as long as the metric
+     * has analyses at all.
+     *
+     * @param metricId The id of the metric.
+     * @return The rollup of the analyses of the metric. Its refreshed timestamp tells how current the counts are.
+     */
+    MetricAnalysisSummaryEntity getOrRefreshSummary(String metricId);
+
+    /**
+     * Recomputes the rollups of all metrics and removes rollups of metrics without analyses.
+     */
+    void refreshAllMetrics();
+
+}
@@ -0,0 +1,273 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.listener.api.exception.NotFoundException;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.GithubRepositoryOrderStatusEventResponse;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderStatusRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderIdStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes status transitions of orders to their server-sent event subscribers and completes the clients waiting for an
+ * order to be done. The transitions are received by the {@link OrderStatusNotificationListener}, so neither of them
+ * queries the database after their initial status. A stream ends once its order is done or deleted.
+ * The events are sent by a dedicated executor, the events of an order one after another, so its subscribers receive
+ * the transitions in order, while a slow client doesn't hold up the events of other orders.
+ */
+@Component
+@Slf4j
+public class OrderStatusEventPublisher implements DisposableBean {
+
+    public static final String SUBSCRIBERS = "listener.order-events.subscribers";
+
+    public static final String WAITING = "listener.order-events.waiting";
+
+    private static final String STATUS_EVENT = "status";
+
+    private static final String DELETED_EVENT = "deleted";
+
+    private final Map<Long, Set<SseEmitter>> emittersByOrderId = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final Map<Long, Set<CompletableFuture<Boolean>>> doneWaitersByOrderId = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    // last pending send of each order, the next send of the order is chained to it
+    private final Map<Long, CompletableFuture<Void>> sendsByOrderId = new ConcurrentHashMap<>();
+
+    private final GithubRepositoryOrderStatusRepository githubRepositoryOrderStatusRepository;
+
+    private final ThreadPoolTaskExecutor eventExecutor;
+
+    private final long timeoutInMillis;
+
+    public OrderStatusEventPublisher(
+            GithubRepositoryOrderStatusRepository githubRepositoryOrderStatusRepository,
+            @Value("${listener.order-events.executor.pool-size:4}") int eventPoolSize,
+            @Value("${listener.order-events.timeout-millis:1800000}") long timeoutInMillis,
+            MeterRegistry meterRegistry) {
+
+        this.githubRepositoryOrderStatusRepository = githubRepositoryOrderStatusRepository;
+        this.eventExecutor = createEventExecutor(eventPoolSize);
+        this.timeoutInMillis = timeoutInMillis;
+
+        Gauge.builder(SUBSCRIBERS, subscribers, AtomicInteger::get)
+                .description("Open server-sent event streams of order status transitions")
+                .register(meterRegistry);
+
+        Gauge.builder(WAITING, waiting, AtomicInteger::get)
+                .description("Requests waiting for an order to be done")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the given order, which starts with the current status of the order.
+     */
+    public SseEmitter subscribe(long orderId) {
+
+        SseEmitter emitter = new SseEmitter(timeoutInMillis);
+
+        // registered before the current status is read, so no transition in between is lost
+        register(orderId, emitter);
+
+        GitRepositoryOrderStatus status = githubRepositoryOrderStatusRepository.findStatusById(orderId).orElse(null);
+
+        if (status == null) {
+            unregister(orderId, emitter);
+            throw NotFoundException.githubRepositoryOrderNotFound(orderId);
+        }
+
+        // queued like the transitions, so a transition published meanwhile is never overtaken by the older status
+        sendInOrder(orderId, () -> send(orderId, emitter, status));
+
+        return emitter;
+    }
+
+    /**
+     * Completes with the result of the given check once a status transition reports the order as done or deleted, or
+     * once the timeout expires. The transition only triggers the check again, so a missed or early notification never
+     * decides the result. Waiting holds neither a thread nor a database connection.
+     */
+    public CompletableFuture<Boolean> awaitDone(long orderId, Duration timeout, BooleanSupplier isDone) {
+
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        // registered before the check, so a transition in between isn't lost
+        doneWaitersByOrderId.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(done);
+        waiting.incrementAndGet();
+
+        done.whenComplete((result, ex) -> {
+            waiting.decrementAndGet();
+            doneWaitersByOrderId.computeIfPresent(orderId, (id, waiters) -> {
+                waiters.remove(done);
+                return waiters.isEmpty() ? null : waiters;
+            });
+        });
+
+        try {
+            if (isDone.getAsBoolean()) {
+                done.complete(true);
+                return done;
+            }
+        } catch (RuntimeException ex) {
+            done.completeExceptionally(ex);
+            throw ex;
+        }
+
+        // checked on the event executor, neither the notification listener nor the timer thread queries the database
+        return done.completeOnTimeout(false, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApplyAsync(notified -> isDone.getAsBoolean(), eventExecutor);
+    }
+
+    /**
+     * Sends the given status to all subscribers of the order. A null status means the order was deleted.
+     */
+    public void publish(long orderId, GitRepositoryOrderStatus status) {
+
+        if (status == null || status == GitRepositoryOrderStatus.DONE) {
+            completeDoneWaiters(orderId, status != null);
+        }
+
+        Set<SseEmitter> emitters = emittersByOrderId.get(orderId);
+
+        if (emitters == null) {
+            return;
+        }
+
+        // a slow client must not hold up the notifications of all other orders
+        sendInOrder(orderId, () -> emitters.forEach(emitter -> send(orderId, emitter, status)));
+    }
+
+    /**
+     * Sends the current status to all subscribers. Used after notifications may have been missed.
+     */
+    public void publishCurrentStatuses() {
+
+        Set<Long> orderIds = new HashSet<>(emittersByOrderId.keySet());
+        orderIds.addAll(doneWaitersByOrderId.keySet());
+
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, GitRepositoryOrderStatus> statuses = githubRepositoryOrderStatusRepository.findStatusesByIds(orderIds)
+                .stream()
+                .collect(Collectors.toMap(OrderIdStatus::getId, OrderIdStatus::getStatus));
+
+        orderIds.forEach(orderId -> publish(orderId, statuses.get(orderId)));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    @Override
+    public void destroy() {
+        eventExecutor.shutdown();
+    }
+
+    // Not a bean, another executor bean would replace the application task executor of spring boot.
+    private static ThreadPoolTaskExecutor createEventExecutor(int poolSize) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("order-events-");
+        executor.initialize();
+
+        return executor;
+    }
+
+    private void sendInOrder(long orderId, Runnable sendEvents) {
+
+        // a failed send must not stop the following sends of the order
+        CompletableFuture<Void> sent = sendsByOrderId.compute(orderId, (id, previous) -> previous == null
+                ? CompletableFuture.runAsync(sendEvents, eventExecutor)
+                : previous.exceptionally(ex -> null).thenRunAsync(sendEvents, eventExecutor));
+
+        sent.whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.warn("Couldn't send status events of order {}: '{}'", orderId, ex.getMessage(), ex);
+            }
+            sendsByOrderId.remove(orderId, sent);
+        });
+    }
+
+    private void completeDoneWaiters(long orderId, boolean isDone) {
+
+        Set<CompletableFuture<Boolean>> waiters = doneWaitersByOrderId.get(orderId);
+
+        if (waiters != null) {
+            // completing only dispatches the waiting requests, it doesn't write the responses on this thread
+            waiters.forEach(waiter -> waiter.complete(isDone));
+        }
+    }
+
+    private void register(long orderId, SseEmitter emitter) {
+
+        emittersByOrderId.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        subscribers.incrementAndGet();
+
+        emitter.onCompletion(() -> unregister(orderId, emitter));
+        emitter.onTimeout(() -> unregister(orderId, emitter));
+        emitter.onError(ex -> unregister(orderId, emitter));
+    }
+
+    private void unregister(long orderId, SseEmitter emitter) {
+
+        emittersByOrderId.computeIfPresent(orderId, (id, emitters) -> {
+
+            if (emitters.remove(emitter)) {
+                subscribers.decrementAndGet();
+            }
+
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void send(long orderId, SseEmitter emitter, GitRepositoryOrderStatus status) {
+
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(status == null ? DELETED_EVENT : STATUS_EVENT)
+                    .data(new GithubRepositoryOrderStatusEventResponse(orderId, status), MediaType.APPLICATION_JSON));
+
+            if (status == null || status == GitRepositoryOrderStatus.DONE) {
+                emitter.complete();
+            }
+
+        } catch (IOException | IllegalStateException ex) {
+            // the client disconnected or the stream was already completed
+            log.debug("Couldn't send status of order {} to a subscriber: '{}'", orderId, ex.getMessage());
+            unregister(orderId, emitter);
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives the status transitions of orders from the notifications sent by the database trigger created by the
+ * {@link de.leipzig.htwk.gitrdf.listener.config.OrderStatusNotificationInitializer} and hands them to the
+ * {@link OrderStatusEventPublisher}. A single connection outside of the pool listens for all subscribers.
+ */
+@Component
+@Slf4j
+public class OrderStatusNotificationListener {
+
+    public static final String CHANNEL = "listener_order_status";
+
+    private static final int POLL_TIMEOUT_IN_MILLIS = 10000;
+
+    private final JdbcConnectionDetails jdbcConnectionDetails;
+
+    private final OrderStatusEventPublisher orderStatusEventPublisher;
+
+    private final long reconnectDelayInMillis;
+
+    private volatile boolean running;
+
+    private volatile boolean listening;
+
+    private volatile Connection connection;
+
+    private Thread thread;
+
+    public OrderStatusNotificationListener(
+            JdbcConnectionDetails jdbcConnectionDetails,
+            OrderStatusEventPublisher orderStatusEventPublisher,
+            @Value("${listener.order-events.reconnect-delay-millis:5000}") long reconnectDelayInMillis) {
+
+        this.jdbcConnectionDetails = jdbcConnectionDetails;
+        this.orderStatusEventPublisher = orderStatusEventPublisher;
+        this.reconnectDelayInMillis = reconnectDelayInMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+
+        if (running) {
+            return;
+        }
+
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("order-status-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+
+        running = false;
+
+        if (thread == null) {
+            return;
+        }
+
+        // closing the connection ends a pending wait for notifications
+        closeQuietly(connection);
+        thread.interrupt();
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void listen() {
+
+        boolean reconnect = false;
+
+        while (running) {
+
+            try (Connection listenConnection = DriverManager.getConnection(
+                    jdbcConnectionDetails.getJdbcUrl(),
+                    jdbcConnectionDetails.getUsername(),
+                    jdbcConnectionDetails.getPassword())) {
+
+                connection = listenConnection;
+
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                listening = true;
+                log.info("Listening for order status notifications on channel '{}'", CHANNEL);
+
+                // notifications sent while there was no connection are lost
+                if (reconnect) {
+                    orderStatusEventPublisher.publishCurrentStatuses();
+                }
+
+                reconnect = true;
+
+                receiveNotifications(listenConnection.unwrap(PGConnection.class));
+
+            } catch (SQLException | RuntimeException ex) {
+
+                listening = false;
+
+                if (!running) {
+                    return;
+                }
+
+                log.warn("Lost connection for order status notifications, reconnecting in {} ms. Exception is '{}'",
+                        reconnectDelayInMillis, ex.getMessage(), ex);
+
+                try {
+                    Thread.sleep(reconnectDelayInMillis);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receiveNotifications(PGConnection pgConnection) throws SQLException {
+
+        while (running) {
+
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_IN_MILLIS);
+
+            if (notifications == null) {
+                continue;
+            }
+
+            for (PGNotification notification : notifications) {
+                handle(notification.getParameter());
+            }
+        }
+    }
+
+    // payload is '<order id>:<status>', the status is empty for deleted orders
+    private void handle(String payload) {
+
+        int separator = payload.indexOf(':');
+
+        try {
+            long orderId = Long.parseLong(payload.substring(0, separator));
+            orderStatusEventPublisher.publish(orderId, parseStatus(payload.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            log.warn("Ignoring invalid order status notification '{}'", payload);
+        }
+    }
+
+    // the status column holds either the name or the ordinal, depending on the mapping of the enum
+    private static GitRepositoryOrderStatus parseStatus(String status) {
+
+        if (status.isEmpty()) {
+            return null;
+        }
+
+        if (Character.isDigit(status.charAt(0))) {
+            return GitRepositoryOrderStatus.values()[Integer.parseInt(status)];
+        }
+
+        return GitRepositoryOrderStatus.valueOf(status);
+    }
+
+    private static void closeQuietly(Connection connection) {
+
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.debug("Couldn't close connection for order status notifications: '{}'", ex.getMessage());
+        }
+    }
+
+}
@@ -1,14 +1,16 @@
 package de.leipzig.htwk.gitrdf.listener.service;
 
-import java.io.IOException;
-import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
-import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
 import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.AnalysisRdfInfo;
 
 public interface RatingsService {
 
@@ -89,6 +91,17 @@ public interface RatingsService {
    */
   List<GithubRepositoryOrderAnalysisEntity> getStatisticsWithRdfByOrderIdAndMetricId(Long orderId, String metricId);
 
+  /**
+   * Get lightweight views of the analyses of an order, optionally only of one analysis type.
+   * The RDF data itself is not loaded, only whether it is available.
+   */
+  List<AnalysisRdfInfo> getRdfInfosByOrderId(Long orderId, AnalysisType analysisType);
+
+  /**
+   * Get lightweight views of the analyses of an order and analysis type which have RDF data
+   */
+  List<AnalysisRdfInfo> getRdfInfosWithRdfByOrderId(Long orderId, AnalysisType analysisType);
+
   // ============== METRIC-BASED OPERATIONS ==============
 
   /**
@@ -121,13 +134,18 @@ public interface RatingsService {
    */
   List<GithubRepositoryOrderAnalysisEntity> getStatisticsWithRdfByMetricId(String metricId);
 
+  /**
+   * Get lightweight views of the analyses of a metric across all orders, without loading their RDF data
+   */
+  List<AnalysisRdfInfo> getRdfInfosByMetricId(String metricId);
+
   // ============== DOWNLOAD OPERATIONS ==============
 
   /**
-   * Create downloadable RDF resource for multiple analyses
+   * Create a lazily streamed RDF download for multiple analyses.
+   * The RDF blobs are only read once the returned body is written, inside its own read-only transaction.
    */
-  RdfDownloadResult createRdfDownload(List<GithubRepositoryOrderAnalysisEntity> analyses, String baseFilename)
-      throws SQLException, IOException;
+  RdfDownloadResult createRdfDownload(List<AnalysisRdfInfo> analyses, String baseFilename);
 
   /**
    * Generate appropriate filename for download
@@ -141,6 +159,12 @@ public interface RatingsService {
    */
   OrderStatistics getOrderStatistics(Long orderId);
 
+  /**
+   * Count ratings, statistics and experts of the given orders at once, keyed by order id.
+   * Orders without any analysis are not contained in the result.
+   */
+  Map<Long, OrderAnalysisCounts> getAnalysisCountsByOrderIds(Collection<Long> orderIds);
+
   /**
    * Count statistics for a metric
    */
@@ -174,16 +198,16 @@ public interface RatingsService {
    * Result class for RDF download operations
    */
   public static class RdfDownloadResult {
-    private final Resource resource;
+    private final StreamingResponseBody body;
     private final int fileCount;
 
-    public RdfDownloadResult(Resource resource, int fileCount) {
-      this.resource = resource;
+    public RdfDownloadResult(StreamingResponseBody body, int fileCount) {
+      this.body = body;
       this.fileCount = fileCount;
     }
 
-    public Resource getResource() {
-      return resource;
+    public StreamingResponseBody getBody() {
+      return body;
     }
 
     public int getFileCount() {
@@ -191,7 +215,7 @@ public interface RatingsService {
     }
 
     public boolean hasContent() {
-      return resource != null && fileCount > 0;
+      return body != null && fileCount > 0;
     }
   }
 
@@ -246,6 +270,35 @@ public interface RatingsService {
     }
   }
 
+  /**
+   * Analysis counts of an order, as shown in the order listing
+   */
+  public static class OrderAnalysisCounts {
+    public static final OrderAnalysisCounts EMPTY = new OrderAnalysisCounts(0, 0, 0);
+
+    private final long totalRatings;
+    private final long totalStatistics;
+    private final long totalExperts;
+
+    public OrderAnalysisCounts(long totalRatings, long totalStatistics, long totalExperts) {
+      this.totalRatings = totalRatings;
+      this.totalStatistics = totalStatistics;
+      this.totalExperts = totalExperts;
+    }
+
+    public long getTotalRatings() {
+      return totalRatings;
+    }
+
+    public long getTotalStatistics() {
+      return totalStatistics;
+    }
+
+    public long getTotalExperts() {
+      return totalExperts;
+    }
+  }
+
   /**
    * Statistics for a metric
    */
@@ -255,13 +308,15 @@ public interface RatingsService {
     private final int uniqueOrders;
     private final int ratingsWithRdf;
     private final int statisticsWithRdf;
+    private final Instant asOf;
 
-    public MetricStatistics(int totalRatings, int totalStatistics, int uniqueOrders, int ratingsWithRdf, int statisticsWithRdf) {
+    public MetricStatistics(int totalRatings, int totalStatistics, int uniqueOrders, int ratingsWithRdf, int statisticsWithRdf, Instant asOf) {
       this.totalRatings = totalRatings;
       this.totalStatistics = totalStatistics;
       this.uniqueOrders = uniqueOrders;
       this.ratingsWithRdf = ratingsWithRdf;
       this.statisticsWithRdf = statisticsWithRdf;
+      this.asOf = asOf;
     }
 
     public int getTotalRatings() {
@@ -283,5 +338,12 @@ public interface RatingsService {
     public int getStatisticsWithRdf() {
       return statisticsWithRdf;
     }
+
+    /**
+     * Point in time the counts were computed at
+     */
+    public Instant getAsOf() {
+      return asOf;
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+public interface RdfBlobCompressionService {
+
+    /**
+     * Replaces a batch of uncompressed rdf files of orders and rdf blobs of analyses by gzip compressed copies.
+     * Every blob is compressed in a transaction of its own. Successive calls continue where the previous call stopped
+     * and start over once all blobs were checked.
+     *
+     * @return The number of compressed blobs.
+     */
+    int compressStoredRdfBlobs();
+
+}
@@ -0,0 +1,17 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+public interface RdfBlobDeduplicationService {
+
+    /**
+     * Stores a batch of rdf files of orders and rdf blobs of analyses in the content addressed blob store. A blob
+     * with the same content as an already stored one is replaced by a reference to it and its large object is deleted.
+     * Every blob is handled in a transaction of its own. Successive calls continue where the previous call stopped
+     * and start over once all blobs were checked.
+     * References of deleted or replaced rdf files and rdf blobs are released by the database triggers of the
+     * {@link de.leipzig.htwk.gitrdf.listener.config.RdfBlobReleaseTriggerInitializer}.
+     *
+     * @return The number of deduplicated blobs.
+     */
+    int deduplicateStoredRdfBlobs();
+
+}
@@ -0,0 +1,24 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.RdfFileVersion;
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.RdfFormat;
+
+public interface RdfConversionService {
+
+    /**
+     * Prepares the download of the given version of an rdf file in another format than the stored turtle file.
+     * The first download converts the stored file into a large object of its own, later downloads stream this
+     * conversion until the stored file changes.
+     *
+     * @param rdfFileVersion The version of the rdf file, which is converted.
+     * @param rdfFormat      The requested format, which mustn't be the stored format.
+     * @return The download of the converted file, supporting byte ranges like the stored file.
+     */
+    GithubService.RdfFileDownload getRdfFileDownload(RdfFileVersion rdfFileVersion, RdfFormat rdfFormat);
+
+    /**
+     * Deletes all conversions of the rdf file of the given order.
+     */
+    void deleteConversions(long id);
+
+}
@@ -3,9 +3,17 @@ package de.leipzig.htwk.gitrdf.listener.service.impl;
 import de.leipzig.htwk.gitrdf.database.common.entity.GitRepositoryOrderEntity;
 import de.leipzig.htwk.gitrdf.database.common.entity.lob.GitRepositoryOrderEntityLobs;
 import de.leipzig.htwk.gitrdf.database.common.repository.GitRepositoryOrderRepository;
+import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
 import de.leipzig.htwk.gitrdf.listener.service.GitService;
+import de.leipzig.htwk.gitrdf.listener.utils.BlobUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.DotGitZipValidatingInputStream;
+import de.leipzig.htwk.gitrdf.listener.utils.LargeObjectUtils;
 import jakarta.persistence.EntityManager;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.hibernate.Session;
 import org.hibernate.engine.jdbc.BlobProxy;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +21,7 @@ import java.io.*;
 import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.zip.ZipException;
 
 @Service
 public class GitServiceImpl implements GitService {
@@ -45,7 +54,9 @@ public class GitServiceImpl implements GitService {
         gitRepositoryOrderEntityLobs.setOrderEntity(gitRepositoryOrderEntity);
         gitRepositoryOrderEntityLobs.setRdfFile(null);
 
-        gitRepositoryOrderEntityLobs.setGitZipFile(BlobProxy.generateProxy(fileInputStream, byteLengthOfFile));
+        // the entries are validated while the large object is written, so the upload is read only once
+        gitRepositoryOrderEntityLobs.setGitZipFile(BlobProxy.generateProxy(
+                new DotGitZipValidatingInputStream(fileInputStream), byteLengthOfFile));
 
         //try (InputStream zipStream = file.getInputStream()) {
             //gitRepositoryOrderEntityLobs.setGitZipFile(BlobProxy.generateProxy(zipStream, file.getSize()));
@@ -57,7 +68,54 @@ public class GitServiceImpl implements GitService {
 
         //gitRepositoryOrderEntityLobs.setGitZipFile(BlobProxy.generateProxy(file.getBytes()));
 
+        try {
+            // the stream is read by the insert, which hibernate may execute on persist already
+            entityManager.persist(gitRepositoryOrderEntityLobs);
+            entityManager.flush();
+        } catch (RuntimeException ex) {
+
+            // the driver wraps the exception of the stream, the transaction is rolled back either way
+            if (ExceptionUtils.indexOfType(ex, ZipException.class) >= 0) {
+                throw BadRequestException.invalidZipFile();
+            }
+
+            throw ex;
+        }
+
+        return gitRepositoryOrderEntity.getId();
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BadRequestException.class)
+    public long insertGitZipLargeObjectIntoQueue(long largeObjectId, String fileName) {
+
+        validateGitZipLargeObject(largeObjectId);
+
+        GitRepositoryOrderEntity gitRepositoryOrderEntity = GitRepositoryOrderEntity.newOrder(fileName);
+        entityManager.persist(gitRepositoryOrderEntity);
+
+        GitRepositoryOrderEntityLobs gitRepositoryOrderEntityLobs = new GitRepositoryOrderEntityLobs();
+        gitRepositoryOrderEntityLobs.setOrderEntity(gitRepositoryOrderEntity);
+        gitRepositoryOrderEntityLobs.setRdfFile(null);
+
         entityManager.persist(gitRepositoryOrderEntityLobs);
+        entityManager.flush();
+
+        // binding a blob would copy it into a new large object, so the column is pointed at the existing one
+        AbstractEntityPersister lobsPersister = (AbstractEntityPersister) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(GitRepositoryOrderEntityLobs.class);
+
+        String sql = String.format("update %s set %s = ?1 where %s = ?2",
+                lobsPersister.getTableName(),
+                lobsPersister.getPropertyColumnNames("gitZipFile")[0],
+                lobsPersister.getIdentifierColumnNames()[0]);
+
+        entityManager.createNativeQuery(sql)
+                .setParameter(1, largeObjectId)
+                .setParameter(2, gitRepositoryOrderEntity.getId())
+                .executeUpdate();
 
         return gitRepositoryOrderEntity.getId();
     }
@@ -69,7 +127,7 @@ public class GitServiceImpl implements GitService {
 
         File tempFile = Files.createTempFile("RdfFileData", ".ttl").toFile();
 
-        try (InputStream binaryInputStream = lob.getRdfFile().getBinaryStream()) {
+        try (InputStream binaryInputStream = BlobUtils.openUncompressedStream(lob.getRdfFile())) {
             try (OutputStream fileOutputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
                 binaryInputStream.transferTo(fileOutputStream);
             }
@@ -78,6 +136,27 @@ public class GitServiceImpl implements GitService {
         return tempFile;
     }
 
+    private void validateGitZipLargeObject(long largeObjectId) {
+
+        try {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                try (InputStream inputStream = new DotGitZipValidatingInputStream(
+                        LargeObjectUtils.openInputStream(connection, largeObjectId))) {
+                    inputStream.transferTo(OutputStream.nullOutputStream());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+
+            if (ex.getCause() instanceof ZipException) {
+                throw BadRequestException.invalidZipFile();
+            }
+
+            throw ex;
+        }
+    }
+
     @Override
     @Transactional
     public void completeDelete(long id) {
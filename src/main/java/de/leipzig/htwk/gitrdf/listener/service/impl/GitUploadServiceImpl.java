@@ -0,0 +1,216 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
+import de.leipzig.htwk.gitrdf.listener.api.exception.NotFoundException;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GitUploadSessionEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.GitUploadSessionRepository;
+import de.leipzig.htwk.gitrdf.listener.service.GitService;
+import de.leipzig.htwk.gitrdf.listener.service.GitUploadService;
+import de.leipzig.htwk.gitrdf.listener.utils.LargeObjectUtils;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class GitUploadServiceImpl implements GitUploadService {
+
+    private final EntityManager entityManager;
+
+    private final GitUploadSessionRepository gitUploadSessionRepository;
+
+    private final GitService gitService;
+
+    private final int chunkSize;
+
+    private final long maxFileSize;
+
+    private final Duration expiry;
+
+    public GitUploadServiceImpl(
+            EntityManager entityManager,
+            GitUploadSessionRepository gitUploadSessionRepository,
+            GitService gitService,
+            @Value("${listener.upload.chunk-size:8MB}") DataSize chunkSize,
+            @Value("${listener.upload.max-file-size:2GB}") DataSize maxFileSize,
+            @Value("${listener.upload.expiry-millis:86400000}") long expiryInMillis) {
+
+        this.entityManager = entityManager;
+        this.gitUploadSessionRepository = gitUploadSessionRepository;
+        this.gitService = gitService;
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.maxFileSize = maxFileSize.toBytes();
+        this.expiry = Duration.ofMillis(expiryInMillis);
+    }
+
+    @Override
+    public long uploadZip(InputStream content, long contentLength, String fileName) throws IOException {
+
+        // the length is needed up front, the large object is written while the request body is read
+        if (contentLength < 1 || contentLength > maxFileSize) {
+            throw BadRequestException.invalidUploadSize(contentLength, maxFileSize);
+        }
+
+        return gitService.insertGitMultipartFileIntoQueue(content, contentLength, fileName);
+    }
+
+    @Override
+    @Transactional
+    public GitUploadSessionEntity initUpload(String fileName, long totalSize) {
+
+        if (totalSize < 1 || totalSize > maxFileSize) {
+            throw BadRequestException.invalidUploadSize(totalSize, maxFileSize);
+        }
+
+        long largeObjectId = entityManager.unwrap(Session.class).doReturningWork(LargeObjectUtils::create);
+
+        GitUploadSessionEntity session = GitUploadSessionEntity.newSession(fileName, totalSize, chunkSize, largeObjectId);
+        entityManager.persist(session);
+
+        return session;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GitUploadSessionEntity getUpload(String uploadId) {
+        return gitUploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> NotFoundException.gitUploadNotFound(uploadId));
+    }
+
+    @Override
+    @Transactional
+    public GitUploadSessionEntity uploadChunk(
+            String uploadId,
+            int index,
+            InputStream content,
+            long contentLength,
+            String sha256Checksum) throws IOException {
+
+        GitUploadSessionEntity session = findForUpdateOrThrowException(uploadId);
+
+        if (index < 0 || index >= session.getChunkCount()) {
+            throw BadRequestException.invalidUploadChunkIndex(index, session.getChunkCount());
+        }
+
+        long expectedLength = session.getChunkLength(index);
+
+        if (contentLength != expectedLength) {
+            throw BadRequestException.invalidUploadChunkLength(index, expectedLength, contentLength);
+        }
+
+        MessageDigest digest = newSha256Digest();
+        InputStream digestInputStream = new DigestInputStream(content, digest);
+
+        long written = writeChunk(session, index, digestInputStream, expectedLength);
+
+        // a rejected chunk rolls back its writes to the large object as well
+        if (written != expectedLength) {
+            throw BadRequestException.invalidUploadChunkLength(index, expectedLength, written);
+        }
+
+        if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(sha256Checksum)) {
+            throw BadRequestException.uploadChunkChecksumMismatch(index);
+        }
+
+        session.markChunkReceived(index);
+
+        return session;
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BadRequestException.class)
+    public long completeUpload(String uploadId) {
+
+        GitUploadSessionEntity session = findForUpdateOrThrowException(uploadId);
+
+        List<Integer> missingChunks = session.getMissingChunks();
+
+        if (!missingChunks.isEmpty()) {
+            throw BadRequestException.uploadIncomplete(missingChunks.size());
+        }
+
+        long id;
+
+        try {
+            id = gitService.insertGitZipLargeObjectIntoQueue(session.getLargeObjectId(), session.getFileName());
+        } catch (BadRequestException ex) {
+            // resuming can't fix an invalid zip file
+            delete(session);
+            throw ex;
+        }
+
+        // the large object now belongs to the order
+        gitUploadSessionRepository.delete(session);
+
+        return id;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${listener.upload.cleanup-interval-millis:3600000}")
+    public void deleteExpiredUploads() {
+
+        List<GitUploadSessionEntity> expiredSessions
+                = gitUploadSessionRepository.findAllByUpdatedAtBefore(Instant.now().minus(expiry));
+
+        expiredSessions.forEach(this::delete);
+
+        if (!expiredSessions.isEmpty()) {
+            log.info("Deleted {} expired uploads", expiredSessions.size());
+        }
+    }
+
+    private GitUploadSessionEntity findForUpdateOrThrowException(String uploadId) {
+        return gitUploadSessionRepository.findByIdForUpdate(uploadId)
+                .orElseThrow(() -> NotFoundException.gitUploadNotFound(uploadId));
+    }
+
+    private long writeChunk(GitUploadSessionEntity session, int index, InputStream content, long length) throws IOException {
+
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try {
+                    return LargeObjectUtils.write(
+                            connection, session.getLargeObjectId(), session.getChunkPosition(index), content, length);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void delete(GitUploadSessionEntity session) {
+        entityManager.unwrap(Session.class)
+                .doWork(connection -> LargeObjectUtils.delete(connection, session.getLargeObjectId()));
+        gitUploadSessionRepository.delete(session);
+    }
+
+    private static MessageDigest newSha256Digest() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 isn't supported by this JVM", ex);
+        }
+    }
+
+}
@@ -0,0 +1,253 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import java.sql.Connection;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderAnalysisChangeEntity;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderAnalysisSummaryEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisChangeRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisCountRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisSummaryRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderAnalysisTypeCount;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderCount;
+import de.leipzig.htwk.gitrdf.listener.service.GithubRepositoryOrderAnalysisSummaryService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The analyses are written by other services, so changes can't be observed directly.
+ * A database trigger records the orders of inserted, updated and deleted analyses, which the scheduled refresh
+ * recounts. The less frequent reconciliation recounts all orders, in case the trigger couldn't be created.
+ */
+@Service
+@Slf4j
+public class GithubRepositoryOrderAnalysisSummaryServiceImpl implements GithubRepositoryOrderAnalysisSummaryService {
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private static final String UPSERT_SUMMARIES = "insert into github_repository_order_analysis_summary (order_id, "
+            + "total_ratings, total_statistics, total_experts, unique_metrics, ratings_with_rdf, statistics_with_rdf, "
+            + "experts_with_rdf, refreshed_at) select s.*, ? from unnest(?, ?, ?, ?, ?, ?, ?, ?) as s "
+            + "on conflict (order_id) do update set "
+            + "total_ratings = excluded.total_ratings, total_statistics = excluded.total_statistics, "
+            + "total_experts = excluded.total_experts, unique_metrics = excluded.unique_metrics, "
+            + "ratings_with_rdf = excluded.ratings_with_rdf, statistics_with_rdf = excluded.statistics_with_rdf, "
+            + "experts_with_rdf = excluded.experts_with_rdf, refreshed_at = excluded.refreshed_at";
+
+    private final GithubRepositoryOrderAnalysisSummaryRepository summaryRepository;
+
+    private final GithubRepositoryOrderAnalysisCountRepository analysisCountRepository;
+
+    private final GithubRepositoryOrderAnalysisChangeRepository analysisChangeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GithubRepositoryOrderAnalysisSummaryServiceImpl(
+            GithubRepositoryOrderAnalysisSummaryRepository summaryRepository,
+            GithubRepositoryOrderAnalysisCountRepository analysisCountRepository,
+            GithubRepositoryOrderAnalysisChangeRepository analysisChangeRepository,
+            PlatformTransactionManager transactionManager,
+            JdbcTemplate jdbcTemplate) {
+
+        this.summaryRepository = summaryRepository;
+        this.analysisCountRepository = analysisCountRepository;
+        this.analysisChangeRepository = analysisChangeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public Optional<GithubRepositoryOrderAnalysisSummaryEntity> getOrRefreshSummary(long orderId) {
+
+        Optional<GithubRepositoryOrderAnalysisSummaryEntity> storedSummary = summaryRepository.findById(orderId);
+
+        if (storedSummary.isPresent()) {
+            return storedSummary;
+        }
+
+        if (analysisCountRepository.findExistingOrderIds(List.of(orderId)).isEmpty()) {
+            return Optional.empty();
+        }
+
+        summaryRepository.insertSummaryIfAbsent(countOrders(List.of(orderId)).get(0));
+
+        // a concurrent first read of the same order may have stored its summary first
+        return summaryRepository.findById(orderId);
+    }
+
+    @Override
+    @Scheduled(
+            fixedDelayString = "${listener.summary.refresh-interval-millis:10000}",
+            initialDelayString = "${listener.summary.refresh-interval-millis:10000}")
+    public void refreshChangedOrders() {
+
+        int numberOfOrders = 0;
+        Integer refreshedOrders;
+
+        // the changes are removed in the transaction recounting their orders, so a failed refresh is retried
+        do {
+            refreshedOrders = transactionTemplate.execute(status -> refreshNextChangedOrders());
+            numberOfOrders += refreshedOrders;
+        } while (refreshedOrders > 0);
+
+        if (numberOfOrders > 0) {
+            log.debug("Refreshed analysis summaries of {} changed orders", numberOfOrders);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${listener.summary.reconcile-interval-millis:3600000}")
+    public void reconcileAllOrders() {
+
+        long afterOrderId = 0;
+        int numberOfOrders = 0;
+        List<Long> orderIds;
+
+        do {
+            orderIds = analysisCountRepository.findOrderIdsAfter(afterOrderId, PageRequest.of(0, REFRESH_BATCH_SIZE));
+
+            if (!orderIds.isEmpty()) {
+                refreshOrdersInBatches(orderIds);
+                afterOrderId = orderIds.get(orderIds.size() - 1);
+                numberOfOrders += orderIds.size();
+            }
+
+        } while (orderIds.size() == REFRESH_BATCH_SIZE);
+
+        Integer deletedSummaries = transactionTemplate.execute(status -> summaryRepository.deleteSummariesOfDeletedOrders());
+
+        log.info("Reconciled analysis summaries of {} orders, removed {} summaries of deleted orders",
+                numberOfOrders, deletedSummaries);
+    }
+
+    @Override
+    @Transactional
+    public void deleteSummary(long orderId) {
+        summaryRepository.deleteById(orderId);
+    }
+
+    /**
+     * @return the number of orders of the consumed changes, zero if there are no changes left
+     */
+    private int refreshNextChangedOrders() {
+
+        List<GithubRepositoryOrderAnalysisChangeEntity> changes = analysisChangeRepository.lockOldestChanges(REFRESH_BATCH_SIZE);
+
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> changedOrderIds = new TreeSet<>();
+        changes.forEach(change -> changedOrderIds.add(change.getOrderId()));
+
+        List<Long> existingOrderIds = analysisCountRepository.findExistingOrderIds(changedOrderIds);
+        changedOrderIds.removeAll(existingOrderIds);
+
+        // the analyses of deleted orders are deleted as well, their summaries must not be recreated
+        summaryRepository.deleteAllByIdInBatch(changedOrderIds);
+        refreshOrders(existingOrderIds);
+
+        analysisChangeRepository.deleteAllByIdInBatch(changes.stream().map(GithubRepositoryOrderAnalysisChangeEntity::getId).toList());
+
+        return existingOrderIds.size() + changedOrderIds.size();
+    }
+
+    private void refreshOrdersInBatches(List<Long> orderIds) {
+        for (int i = 0; i < orderIds.size(); i += REFRESH_BATCH_SIZE) {
+            List<Long> batch = orderIds.subList(i, Math.min(i + REFRESH_BATCH_SIZE, orderIds.size()));
+            transactionTemplate.executeWithoutResult(status -> refreshOrders(batch));
+        }
+    }
+
+    private void refreshOrders(Collection<Long> orderIds) {
+        if (!orderIds.isEmpty()) {
+            saveSummaries(countOrders(orderIds));
+        }
+    }
+
+    /**
+     * Stores the summaries with a single statement, replacing previous ones of the same orders.
+     */
+    private void saveSummaries(List<GithubRepositoryOrderAnalysisSummaryEntity> summaries) {
+
+        int size = summaries.size();
+        Long[] orderIds = new Long[size];
+        Integer[][] counters = new Integer[7][size];
+
+        for (int i = 0; i < size; i++) {
+            GithubRepositoryOrderAnalysisSummaryEntity summary = summaries.get(i);
+            orderIds[i] = summary.getOrderId();
+            counters[0][i] = summary.getTotalRatings();
+            counters[1][i] = summary.getTotalStatistics();
+            counters[2][i] = summary.getTotalExperts();
+            counters[3][i] = summary.getUniqueMetrics();
+            counters[4][i] = summary.getRatingsWithRdf();
+            counters[5][i] = summary.getStatisticsWithRdf();
+            counters[6][i] = summary.getExpertsWithRdf();
+        }
+
+        // all summaries of a batch are counted at once and share the refresh time
+        OffsetDateTime refreshedAt = summaries.get(0).getRefreshedAt().atOffset(ZoneOffset.UTC);
+
+        jdbcTemplate.update(UPSERT_SUMMARIES, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setObject(1, refreshedAt);
+            statement.setArray(2, connection.createArrayOf("bigint", orderIds));
+            for (int i = 0; i < counters.length; i++) {
+                statement.setArray(i + 3, connection.createArrayOf("integer", counters[i]));
+            }
+        });
+    }
+
+    private List<GithubRepositoryOrderAnalysisSummaryEntity> countOrders(Collection<Long> orderIds) {
+
+        Map<Long, GithubRepositoryOrderAnalysisSummaryEntity> summaries = new LinkedHashMap<>();
+        orderIds.forEach(orderId -> summaries.put(orderId, GithubRepositoryOrderAnalysisSummaryEntity.emptySummary(orderId)));
+
+        for (OrderAnalysisTypeCount count : analysisCountRepository.countByOrderIdsGroupedByOrderIdAndAnalysisType(orderIds)) {
+
+            GithubRepositoryOrderAnalysisSummaryEntity summary = summaries.get(count.getOrderId());
+
+            if (count.getAnalysisType() == AnalysisType.RATING) {
+                summary.setTotalRatings((int) count.getTotal());
+                summary.setRatingsWithRdf((int) count.getWithRdf());
+            } else if (count.getAnalysisType() == AnalysisType.STATISTIC) {
+                summary.setTotalStatistics((int) count.getTotal());
+                summary.setStatisticsWithRdf((int) count.getWithRdf());
+            } else if (count.getAnalysisType() == AnalysisType.EXPERT) {
+                summary.setTotalExperts((int) count.getTotal());
+                summary.setExpertsWithRdf((int) count.getWithRdf());
+            }
+        }
+
+        for (OrderCount count : analysisCountRepository.countDistinctMetricIdsByOrderIds(orderIds)) {
+            summaries.get(count.getOrderId()).setUniqueMetrics((int) count.getTotal());
+        }
+
+        Instant refreshedAt = Instant.now();
+        summaries.values().forEach(summary -> summary.setRefreshedAt(refreshedAt));
+
+        return List.copyOf(summaries.values());
+    }
+
+}
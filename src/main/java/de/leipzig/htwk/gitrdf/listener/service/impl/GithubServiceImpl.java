@@ -1,40 +1,120 @@
 package de.leipzig.htwk.gitrdf.listener.service.impl;
 
-import java.io.BufferedOutputStream;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.file.Files;
-import java.sql.SQLException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
 import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
 import de.leipzig.htwk.gitrdf.database.common.entity.lob.GithubRepositoryOrderEntityLobs;
 import de.leipzig.htwk.gitrdf.database.common.repository.GithubRepositoryOrderRepository;
+import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
 import de.leipzig.htwk.gitrdf.listener.api.exception.NotFoundException;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderFingerprintEntity;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderIdempotencyKeyEntity;
+import de.leipzig.htwk.gitrdf.listener.domain.model.ByteRange;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryFilterCode;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryOrderPage;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryOrderPageRequest;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryQueueEntry;
+import de.leipzig.htwk.gitrdf.listener.domain.model.RdfFileVersion;
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.ContentEncoding;
+import de.leipzig.htwk.gitrdf.listener.factory.GithubRepositoryFilterFactory;
+import de.leipzig.htwk.gitrdf.listener.metrics.ListenerMetrics;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderFingerprintRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderIdempotencyKeyRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderStatusRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.RdfFileVersionRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.FingerprintOrderId;
+import de.leipzig.htwk.gitrdf.listener.service.GithubRepositoryOrderAnalysisSummaryService;
 import de.leipzig.htwk.gitrdf.listener.service.GithubService;
+import de.leipzig.htwk.gitrdf.listener.service.RdfConversionService;
+import de.leipzig.htwk.gitrdf.listener.utils.BlobUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.LargeObjectUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.OrderFingerprintUtils;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 public class GithubServiceImpl implements GithubService {
 
+    private static final int BULK_INSERT_FLUSH_SIZE = 100;
+
+    private static final List<GitRepositoryOrderStatus> PENDING_ORDER_STATUSES
+            = List.of(GitRepositoryOrderStatus.RECEIVED, GitRepositoryOrderStatus.PROCESSING);
+
     private final EntityManager entityManager;
 
     private final GithubRepositoryOrderRepository githubRepositoryOrderRepository;
 
+    private final GithubRepositoryOrderAnalysisSummaryService summaryService;
+
+    private final ListenerMetrics listenerMetrics;
+
+    private final GithubRepositoryOrderFingerprintRepository fingerprintRepository;
+
+    private final GithubRepositoryOrderIdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final GithubRepositoryFilterFactory githubRepositoryFilterFactory;
+
+    private final RdfConversionService rdfConversionService;
+
+    private final RdfFileVersionRepository rdfFileVersionRepository;
+
+    private final GithubRepositoryOrderStatusRepository orderStatusRepository;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
     public GithubServiceImpl(
             EntityManager entityManager,
-            GithubRepositoryOrderRepository githubRepositoryOrderRepository) {
+            GithubRepositoryOrderRepository githubRepositoryOrderRepository,
+            GithubRepositoryOrderAnalysisSummaryService summaryService,
+            ListenerMetrics listenerMetrics,
+            GithubRepositoryOrderFingerprintRepository fingerprintRepository,
+            GithubRepositoryOrderIdempotencyKeyRepository idempotencyKeyRepository,
+            GithubRepositoryFilterFactory githubRepositoryFilterFactory,
+            RdfConversionService rdfConversionService,
+            RdfFileVersionRepository rdfFileVersionRepository,
+            GithubRepositoryOrderStatusRepository orderStatusRepository,
+            PlatformTransactionManager transactionManager) {
 
         this.entityManager = entityManager;
         this.githubRepositoryOrderRepository = githubRepositoryOrderRepository;
+        this.summaryService = summaryService;
+        this.listenerMetrics = listenerMetrics;
+        this.fingerprintRepository = fingerprintRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.githubRepositoryFilterFactory = githubRepositoryFilterFactory;
+        this.rdfConversionService = rdfConversionService;
+        this.rdfFileVersionRepository = rdfFileVersionRepository;
+        this.orderStatusRepository = orderStatusRepository;
+
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Override
@@ -42,25 +122,149 @@ public class GithubServiceImpl implements GithubService {
         return githubRepositoryOrderRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public GithubRepositoryOrderPage findPage(GithubRepositoryOrderPageRequest pageRequest) {
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GithubRepositoryOrderEntity> query = criteriaBuilder.createQuery(GithubRepositoryOrderEntity.class);
+        Root<GithubRepositoryOrderEntity> order = query.from(GithubRepositoryOrderEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (pageRequest.getAfterId() != null) {
+            predicates.add(criteriaBuilder.greaterThan(order.get("id"), pageRequest.getAfterId()));
+        }
+
+        if (pageRequest.getStatus() != null) {
+            predicates.add(criteriaBuilder.equal(order.get("status"), pageRequest.getStatus()));
+        }
+
+        if (pageRequest.getOwner() != null) {
+            predicates.add(criteriaBuilder.equal(
+                    criteriaBuilder.lower(order.get("ownerName")), pageRequest.getOwner().toLowerCase()));
+        }
+
+        if (pageRequest.getRepository() != null) {
+            predicates.add(criteriaBuilder.equal(
+                    criteriaBuilder.lower(order.get("repositoryName")), pageRequest.getRepository().toLowerCase()));
+        }
+
+        query.select(order)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(criteriaBuilder.asc(order.get("id")));
+
+        // one additional order tells whether there is a next page
+        List<GithubRepositoryOrderEntity> orders = entityManager.createQuery(query)
+                .setMaxResults(pageRequest.getPageSize() + 1)
+                .getResultList();
+
+        if (orders.size() <= pageRequest.getPageSize()) {
+            return new GithubRepositoryOrderPage(orders, null);
+        }
+
+        List<GithubRepositoryOrderEntity> page = orders.subList(0, pageRequest.getPageSize());
+        return new GithubRepositoryOrderPage(List.copyOf(page), page.get(page.size() - 1).getId());
+    }
+
     @Transactional
     @Override
     public long insertGithubRepositoryIntoQueue(
             String owner,
             String repository,
-            GithubRepositoryFilter githubRepositoryFilter) {
+            GithubRepositoryFilter githubRepositoryFilter,
+            String idempotencyKey) {
 
-        GithubRepositoryOrderEntity githubRepositoryOrderEntity
-                = GithubRepositoryOrderEntity.newOrder(owner, repository, githubRepositoryFilter);
+        GithubRepositoryFilterCode filterCode = githubRepositoryFilterFactory.toFilterCode(githubRepositoryFilter);
+        String fingerprint = OrderFingerprintUtils.fingerprint(owner, repository, filterCode);
 
-        entityManager.persist(githubRepositoryOrderEntity);
+        if (idempotencyKey == null) {
+            acquireAdvisoryLocks(List.of(OrderFingerprintUtils.toLockKey(fingerprint)));
+        } else {
+            // requests reusing a key with a different body have a different fingerprint, the key lock serializes them
+            acquireAdvisoryLocks(List.of(
+                    OrderFingerprintUtils.toLockKey(fingerprint),
+                    OrderFingerprintUtils.toIdempotencyKeyLockKey(idempotencyKey)));
 
-        GithubRepositoryOrderEntityLobs githubRepositoryOrderEntityLobs = new GithubRepositoryOrderEntityLobs();
-        githubRepositoryOrderEntityLobs.setOrderEntity(githubRepositoryOrderEntity);
-        githubRepositoryOrderEntityLobs.setRdfFile(null);
+            Long orderIdOfIdempotencyKey = findOrderIdOfIdempotencyKey(idempotencyKey, fingerprint);
 
-        entityManager.persist(githubRepositoryOrderEntityLobs);
+            if (orderIdOfIdempotencyKey != null) {
+                log.info("Order {} was already queued with idempotency key '{}'", orderIdOfIdempotencyKey, idempotencyKey);
+                return orderIdOfIdempotencyKey;
+            }
+        }
 
-        return githubRepositoryOrderEntity.getId();
+        Long id = findPendingOrderIds(List.of(fingerprint)).get(fingerprint);
+
+        if (id != null) {
+            log.info("Equal order {} of '{}/{}' is still pending, not queueing it again", id, owner, repository);
+        } else {
+            id = persistOrder(owner, repository, githubRepositoryFilter, filterCode, fingerprint);
+            listenerMetrics.recordQueueInsert();
+        }
+
+        if (idempotencyKey != null) {
+            saveIdempotencyKey(idempotencyKey, id, fingerprint);
+        }
+
+        return id;
+    }
+
+    @Transactional
+    @Override
+    public List<Long> insertGithubRepositoriesIntoQueue(List<GithubRepositoryQueueEntry> entries) {
+
+        List<GithubRepositoryFilterCode> filterCodes = entries.stream()
+                .map(entry -> githubRepositoryFilterFactory.toFilterCode(entry.getGithubRepositoryFilter()))
+                .toList();
+
+        List<String> fingerprints = new ArrayList<>(entries.size());
+
+        for (int i = 0; i < entries.size(); i++) {
+            fingerprints.add(OrderFingerprintUtils.fingerprint(
+                    entries.get(i).getOwner(), entries.get(i).getRepository(), filterCodes.get(i)));
+        }
+
+        acquireAdvisoryLocks(fingerprints.stream().map(OrderFingerprintUtils::toLockKey).toList());
+
+        // one lookup for all entries, equal entries within the request get the same order
+        Map<String, Long> orderIdsByFingerprint = new HashMap<>(findPendingOrderIds(fingerprints));
+
+        List<Long> ids = new ArrayList<>(entries.size());
+        int insertedOrders = 0;
+
+        for (int i = 0; i < entries.size(); i++) {
+            GithubRepositoryQueueEntry entry = entries.get(i);
+            String fingerprint = fingerprints.get(i);
+
+            Long existingOrderId = orderIdsByFingerprint.get(fingerprint);
+
+            if (existingOrderId != null) {
+                ids.add(existingOrderId);
+                continue;
+            }
+
+            long id = persistOrder(
+                    entry.getOwner(),
+                    entry.getRepository(),
+                    entry.getGithubRepositoryFilter(),
+                    filterCodes.get(i),
+                    fingerprint);
+
+            orderIdsByFingerprint.put(fingerprint, id);
+            ids.add(id);
+            insertedOrders++;
+
+            // keep the persistence context small
+            if (insertedOrders % BULK_INSERT_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        listenerMetrics.recordQueueInserts(insertedOrders);
+
+        return ids;
     }
 
     @Transactional
@@ -84,29 +288,53 @@ public class GithubServiceImpl implements GithubService {
         return lob != null && lob.getRdfFile() != null;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    public File getTempRdfFile(long id) throws SQLException, IOException {
+    public RdfFileDownload getRdfFileDownload(RdfFileVersion rdfFileVersion, boolean gzipAccepted) {
 
-        GithubRepositoryOrderEntityLobs lob = entityManager.find(GithubRepositoryOrderEntityLobs.class, id);
+        long largeObjectId = rdfFileVersion.getLargeObjectId();
+        String fileName = String.format("RdfFileData%d.ttl", rdfFileVersion.getOrderId());
 
-        if (lob == null) {
-            throw NotFoundException.githubEntryNotFound(id);
+        // The body is written after the controller returned, so the large object is read in a transaction of its own.
+        // It's read by the oid of the version, a replaced rdf file is never sent under the entity tag of this version.
+        Function<ByteRange, StreamingResponseBody> bodyFactory = range -> outputStream -> readOnlyTransactionTemplate
+                .executeWithoutResult(status -> writeRdfFile(largeObjectId, range, outputStream));
+
+        if (!rdfFileVersion.isGzipCompressed()) {
+            return new RdfFileDownload(fileName, getLargeObjectSize(largeObjectId), bodyFactory);
         }
 
-        if (lob.getRdfFile() == null) {
-            throw NotFoundException.githubEntryNotFound(id);
+        if (gzipAccepted) {
+            return new RdfFileDownload(
+                    fileName, getLargeObjectSize(largeObjectId), ContentEncoding.GZIP.getHeaderValue(), bodyFactory);
         }
 
-        File tempFile = Files.createTempFile("RdfFileData", ".ttl").toFile();
+        // the uncompressed length is only known after decompressing the whole file, so ranges aren't supported
+        return new RdfFileDownload(fileName, RdfFileDownload.UNKNOWN_CONTENT_LENGTH, range -> outputStream ->
+                readOnlyTransactionTemplate.executeWithoutResult(status -> writeUncompressedRdfFile(largeObjectId, outputStream)));
+    }
 
-        try (InputStream binaryInputStream = lob.getRdfFile().getBinaryStream()) {
-            try (OutputStream fileOutputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
-                binaryInputStream.transferTo(fileOutputStream);
-            }
+    // the oid and the recorded version are read from the same snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public RdfFileVersion getRdfFileVersion(long id) {
+
+        Long largeObjectId = findRdfFileLargeObjectId(id);
+
+        if (largeObjectId == null) {
+            throw NotFoundException.githubEntryNotFound(id);
         }
 
-        return tempFile;
+        GitRepositoryOrderStatus orderStatus = orderStatusRepository.findStatusById(id)
+                .orElseThrow(() -> NotFoundException.githubEntryNotFound(id));
+
+        // without a recorded version, e.g. if the trigger couldn't be created, there's no stable modification time
+        return rdfFileVersionRepository.findById(id)
+                .filter(version -> version.getLargeObjectId() == largeObjectId.longValue())
+                .map(version -> new RdfFileVersion(
+                        id, largeObjectId, version.isGzipCompressed(), version.getLastModified(), orderStatus))
+                .orElseGet(() -> new RdfFileVersion(
+                        id, largeObjectId, isGzipCompressed(largeObjectId), null, orderStatus));
     }
 
     @Transactional
@@ -123,10 +351,174 @@ public class GithubServiceImpl implements GithubService {
             throw NotFoundException.githubEntryNotFound(id);
         }
 
+        // The reference to a deduplicated rdf file is released by the trigger on the delete of the row. The row is
+        // locked first, so neither a conversion is stored nor the rdf file is moved to another large object meanwhile.
+        findRdfFileLargeObjectIdForUpdate(id);
+
         entityManager.remove(githubRepositoryOrderEntityLobs);
         entityManager.remove(githubRepositoryOrderEntity);
+
+        summaryService.deleteSummary(id);
+        fingerprintRepository.deleteById(id);
+        idempotencyKeyRepository.deleteAllByOrderId(id);
+        rdfConversionService.deleteConversions(id);
+        rdfFileVersionRepository.deleteById(id);
+    }
+
+    private long persistOrder(
+            String owner,
+            String repository,
+            GithubRepositoryFilter githubRepositoryFilter,
+            GithubRepositoryFilterCode filterCode,
+            String fingerprint) {
+
+        GithubRepositoryOrderEntity githubRepositoryOrderEntity
+                = GithubRepositoryOrderEntity.newOrder(owner, repository, githubRepositoryFilter);
+
+        entityManager.persist(githubRepositoryOrderEntity);
+
+        GithubRepositoryOrderEntityLobs githubRepositoryOrderEntityLobs = new GithubRepositoryOrderEntityLobs();
+        githubRepositoryOrderEntityLobs.setOrderEntity(githubRepositoryOrderEntity);
+        githubRepositoryOrderEntityLobs.setRdfFile(null);
+
+        entityManager.persist(githubRepositoryOrderEntityLobs);
+
+        entityManager.persist(GithubRepositoryOrderFingerprintEntity.of(
+                githubRepositoryOrderEntity.getId(), fingerprint, filterCode));
+
+        return githubRepositoryOrderEntity.getId();
+    }
+
+    // Transaction scoped advisory locks serialize concurrent inserts of equal orders, so only one of them is queued.
+    // They are acquired in key order within a single statement, which avoids deadlocks between bulk inserts.
+    private void acquireAdvisoryLocks(Collection<Long> keys) {
+
+        String lockKeys = keys.stream()
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        entityManager.createNativeQuery("select count(*) from (select pg_advisory_xact_lock(lock_key) "
+                        + "from unnest(array[" + lockKeys + "]::bigint[]) as lock_key) as locks")
+                .getSingleResult();
+    }
+
+    private Map<String, Long> findPendingOrderIds(Collection<String> fingerprints) {
+        return fingerprintRepository.findOrderIdsByFingerprintsAndOrderStatuses(fingerprints, PENDING_ORDER_STATUSES)
+                .stream()
+                .collect(Collectors.toMap(FingerprintOrderId::getFingerprint, FingerprintOrderId::getOrderId));
+    }
+
+    private Long findOrderIdOfIdempotencyKey(String idempotencyKey, String fingerprint) {
+
+        GithubRepositoryOrderIdempotencyKeyEntity existing
+                = idempotencyKeyRepository.findById(idempotencyKey).orElse(null);
+
+        if (existing == null) {
+            return null;
+        }
+
+        if (entityManager.find(GithubRepositoryOrderEntity.class, existing.getOrderId()) == null) {
+            // the order was deleted in the meantime, the key is free again. Flushed right away, since hibernate
+            // would execute the insert of the new fingerprint before this delete
+            idempotencyKeyRepository.delete(existing);
+            idempotencyKeyRepository.flush();
+            return null;
+        }
+
+        if (!existing.getFingerprint().equals(fingerprint)) {
+            throw BadRequestException.idempotencyKeyReused(idempotencyKey);
+        }
+
+        return existing.getOrderId();
+    }
+
+    private void saveIdempotencyKey(String idempotencyKey, long orderId, String fingerprint) {
+
+        // a concurrent request stored the same key first
+        if (idempotencyKeyRepository.insertIfAbsent(
+                GithubRepositoryOrderIdempotencyKeyEntity.of(idempotencyKey, orderId, fingerprint)) == 0) {
+            throw BadRequestException.idempotencyKeyReused(idempotencyKey);
+        }
+    }
+
+    /**
+     * @return The oid of the rdf file, null if the order has none. Only the oid is selected, the blob of the entity
+     *         would open the large object.
+     */
+    private Long findRdfFileLargeObjectId(long id) {
+        return selectRdfFileLargeObjectId(id, "");
+    }
+
+    /**
+     * Like {@link #findRdfFileLargeObjectId(long)}, but locks the row of the rdf file until the transaction ends.
+     */
+    private Long findRdfFileLargeObjectIdForUpdate(long id) {
+        return selectRdfFileLargeObjectId(id, " for update");
+    }
+
+    private Long selectRdfFileLargeObjectId(long id, String lockClause) {
+
+        AbstractEntityPersister lobsPersister = (AbstractEntityPersister) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(GithubRepositoryOrderEntityLobs.class);
+
+        String sql = String.format("select %s from %s where %s = ?1%s",
+                lobsPersister.getPropertyColumnNames("rdfFile")[0],
+                lobsPersister.getTableName(),
+                lobsPersister.getIdentifierColumnNames()[0],
+                lockClause);
+
+        List<?> largeObjectIds = entityManager.createNativeQuery(sql)
+                .setParameter(1, id)
+                .getResultList();
+
+        if (largeObjectIds.isEmpty() || largeObjectIds.get(0) == null) {
+            return null;
+        }
+
+        return ((Number) largeObjectIds.get(0)).longValue();
+    }
+
+    private boolean isGzipCompressed(long largeObjectId) {
+
+        // only the first two bytes are read, on the database server
+        return (Boolean) entityManager
+                .createNativeQuery("select coalesce(lo_get(?1, 0, 2) = decode('1f8b', 'hex'), false)")
+                .setParameter(1, largeObjectId)
+                .getSingleResult();
+    }
+
+    private long getLargeObjectSize(long largeObjectId) {
+        return entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> LargeObjectUtils.size(connection, largeObjectId));
+    }
+
+    private void writeUncompressedRdfFile(long largeObjectId, OutputStream outputStream) {
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (InputStream inputStream = BlobUtils.openUncompressedStream(
+                    LargeObjectUtils.openInputStream(connection, largeObjectId))) {
+                inputStream.transferTo(outputStream);
+                outputStream.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private void writeRdfFile(long largeObjectId, ByteRange range, OutputStream outputStream) {
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try {
+                LargeObjectUtils.copyRange(connection, largeObjectId, range, outputStream);
+                outputStream.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
     }
-    
-    
 
 }
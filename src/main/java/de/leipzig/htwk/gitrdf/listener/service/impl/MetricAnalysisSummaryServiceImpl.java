@@ -0,0 +1,159 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import java.sql.Connection;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.MetricAnalysisSummaryEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisMetricRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.MetricAnalysisSummaryRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.AnalysisTypeCount;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.MetricAnalysisTypeCount;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.MetricCount;
+import de.leipzig.htwk.gitrdf.listener.service.MetricAnalysisSummaryService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The rollups of all metrics are recomputed by two grouped queries per refresh, independent of how often the
+ * statistics of single metrics are requested, and stored by a single upsert.
+ */
+@Service
+@Slf4j
+public class MetricAnalysisSummaryServiceImpl implements MetricAnalysisSummaryService {
+
+    private static final String UPSERT_SUMMARIES = "insert into metric_analysis_summary (metric_id, total_ratings, "
+            + "total_statistics, unique_orders, ratings_with_rdf, statistics_with_rdf, refreshed_at) "
+            + "select s.*, ? from unnest(?, ?, ?, ?, ?, ?) as s "
+            + "on conflict (metric_id) do update set "
+            + "total_ratings = excluded.total_ratings, total_statistics = excluded.total_statistics, "
+            + "unique_orders = excluded.unique_orders, ratings_with_rdf = excluded.ratings_with_rdf, "
+            + "statistics_with_rdf = excluded.statistics_with_rdf, refreshed_at = excluded.refreshed_at";
+
+    private final MetricAnalysisSummaryRepository summaryRepository;
+
+    private final GithubRepositoryOrderAnalysisMetricRepository analysisMetricRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MetricAnalysisSummaryServiceImpl(
+            MetricAnalysisSummaryRepository summaryRepository,
+            GithubRepositoryOrderAnalysisMetricRepository analysisMetricRepository,
+            JdbcTemplate jdbcTemplate) {
+
+        this.summaryRepository = summaryRepository;
+        this.analysisMetricRepository = analysisMetricRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public MetricAnalysisSummaryEntity getOrRefreshSummary(String metricId) {
+        return summaryRepository.findById(metricId)
+                .orElseGet(() -> refreshMetric(metricId));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${listener.summary.metric-refresh-interval-millis:60000}")
+    public void refreshAllMetrics() {
+
+        // postgres stores microseconds, truncating keeps the comparison below exact
+        Instant refreshedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Map<String, MetricAnalysisSummaryEntity> summaries = new HashMap<>();
+
+        for (MetricAnalysisTypeCount count : analysisMetricRepository.countGroupedByMetricIdAndAnalysisType()) {
+
+            MetricAnalysisSummaryEntity summary = summaries.computeIfAbsent(
+                    count.getMetricId(), MetricAnalysisSummaryEntity::emptySummary);
+
+            applyCount(summary, count.getAnalysisType(), count.getTotal(), count.getWithRdf());
+        }
+
+        for (MetricCount count : analysisMetricRepository.countDistinctOrderIdsGroupedByMetricId()) {
+            summaries.computeIfAbsent(count.getMetricId(), MetricAnalysisSummaryEntity::emptySummary)
+                    .setUniqueOrders((int) count.getTotal());
+        }
+
+        if (!summaries.isEmpty()) {
+            saveSummaries(List.copyOf(summaries.values()), refreshedAt);
+        }
+
+        int removedSummaries = summaryRepository.deleteSummariesRefreshedBefore(refreshedAt);
+
+        log.debug("Refreshed rollups of {} metrics, removed {} rollups of metrics without analyses",
+                summaries.size(), removedSummaries);
+    }
+
+    private MetricAnalysisSummaryEntity refreshMetric(String metricId) {
+
+        MetricAnalysisSummaryEntity summary = MetricAnalysisSummaryEntity.emptySummary(metricId);
+
+        for (AnalysisTypeCount count : analysisMetricRepository.countByMetricIdGroupedByAnalysisType(metricId)) {
+            applyCount(summary, count.getAnalysisType(), count.getTotal(), count.getWithRdf());
+        }
+
+        summary.setUniqueOrders((int) analysisMetricRepository.countDistinctOrderIdsByMetricId(metricId));
+        summary.setRefreshedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+
+        // unknown metric ids shouldn't leave rows behind
+        if (!summary.hasAnalyses()) {
+            return summary;
+        }
+
+        summaryRepository.insertSummaryIfAbsent(summary);
+
+        // a concurrent first read of the same metric may have stored its rollup first
+        return summaryRepository.findById(metricId).orElse(summary);
+    }
+
+    /**
+     * Stores the rollups with a single statement, replacing previous ones of the same metrics.
+     */
+    private void saveSummaries(List<MetricAnalysisSummaryEntity> summaries, Instant refreshedAt) {
+
+        int size = summaries.size();
+        String[] metricIds = new String[size];
+        Integer[][] counters = new Integer[5][size];
+
+        for (int i = 0; i < size; i++) {
+            MetricAnalysisSummaryEntity summary = summaries.get(i);
+            metricIds[i] = summary.getMetricId();
+            counters[0][i] = summary.getTotalRatings();
+            counters[1][i] = summary.getTotalStatistics();
+            counters[2][i] = summary.getUniqueOrders();
+            counters[3][i] = summary.getRatingsWithRdf();
+            counters[4][i] = summary.getStatisticsWithRdf();
+        }
+
+        jdbcTemplate.update(UPSERT_SUMMARIES, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setObject(1, refreshedAt.atOffset(ZoneOffset.UTC));
+            statement.setArray(2, connection.createArrayOf("varchar", metricIds));
+            for (int i = 0; i < counters.length; i++) {
+                statement.setArray(i + 3, connection.createArrayOf("integer", counters[i]));
+            }
+        });
+    }
+
+    private void applyCount(MetricAnalysisSummaryEntity summary, AnalysisType analysisType, long total, long withRdf) {
+        if (analysisType == AnalysisType.RATING) {
+            summary.setTotalRatings((int) total);
+            summary.setRatingsWithRdf((int) withRdf);
+        } else if (analysisType == AnalysisType.STATISTIC) {
+            summary.setTotalStatistics((int) total);
+            summary.setStatisticsWithRdf((int) withRdf);
+        }
+    }
+
+}
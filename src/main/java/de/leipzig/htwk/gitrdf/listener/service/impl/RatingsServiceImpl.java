@@ -1,16 +1,24 @@
 package de.leipzig.htwk.gitrdf.listener.service.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Blob;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
 import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
@@ -18,7 +26,17 @@ import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
 import de.leipzig.htwk.gitrdf.database.common.repository.GithubRepositoryOrderAnalysisRepository;
 import de.leipzig.htwk.gitrdf.database.common.repository.GithubRepositoryOrderRepository;
 import de.leipzig.htwk.gitrdf.listener.api.exception.RatingsNotFoundException;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderAnalysisSummaryEntity;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.MetricAnalysisSummaryEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisCountRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisMetricRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisRdfRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.AnalysisRdfInfo;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderAnalysisTypeCount;
+import de.leipzig.htwk.gitrdf.listener.service.GithubRepositoryOrderAnalysisSummaryService;
+import de.leipzig.htwk.gitrdf.listener.service.MetricAnalysisSummaryService;
 import de.leipzig.htwk.gitrdf.listener.service.RatingsService;
+import de.leipzig.htwk.gitrdf.listener.utils.BlobUtils;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -31,6 +49,24 @@ public class RatingsServiceImpl implements RatingsService {
   @Autowired
   private GithubRepositoryOrderAnalysisRepository analysisRepository;
 
+  @Autowired
+  private GithubRepositoryOrderAnalysisMetricRepository analysisMetricRepository;
+
+  @Autowired
+  private GithubRepositoryOrderAnalysisCountRepository analysisCountRepository;
+
+  @Autowired
+  private GithubRepositoryOrderAnalysisRdfRepository analysisRdfRepository;
+
+  @Autowired
+  private GithubRepositoryOrderAnalysisSummaryService summaryService;
+
+  @Autowired
+  private MetricAnalysisSummaryService metricSummaryService;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
   // ============== ORDER-BASED OPERATIONS ==============
 
   @Override
@@ -107,18 +143,14 @@ public class RatingsServiceImpl implements RatingsService {
   public List<GithubRepositoryOrderAnalysisEntity> getAnalysesWithRdfByOrderId(Long orderId) {
     log.debug("Getting all analyses with RDF for order ID: {}", orderId);
     getOrderById(orderId); // Verify order exists
-    return analysisRepository.findAllByGithubRepositoryOrderId(orderId).stream()
-        .filter(analysis -> analysis.getRdfBlob() != null)
-        .collect(Collectors.toList());
+    return analysisRdfRepository.findAllWithRdfByOrderId(orderId);
   }
 
   @Override
   public List<GithubRepositoryOrderAnalysisEntity> getRatingsWithRdfByOrderId(Long orderId) {
     log.debug("Getting ratings with RDF for order ID: {}", orderId);
     getOrderById(orderId); // Verify order exists
-    List<GithubRepositoryOrderAnalysisEntity> ratings = analysisRepository.findAllByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.RATING).stream()
-        .filter(analysis -> analysis.getRdfBlob() != null)
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> ratings = analysisRdfRepository.findAllWithRdfByOrderIdAndAnalysisType(orderId, AnalysisType.RATING);
     log.debug("Found {} ratings with RDF data for order ID: {}", ratings.size(), orderId);
     return ratings;
   }
@@ -127,9 +159,7 @@ public class RatingsServiceImpl implements RatingsService {
   public List<GithubRepositoryOrderAnalysisEntity> getStatisticsWithRdfByOrderId(Long orderId) {
     log.debug("Getting statistics with RDF for order ID: {}", orderId);
     getOrderById(orderId); // Verify order exists
-    List<GithubRepositoryOrderAnalysisEntity> statistics = analysisRepository.findAllByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.STATISTIC).stream()
-        .filter(analysis -> analysis.getRdfBlob() != null)
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> statistics = analysisRdfRepository.findAllWithRdfByOrderIdAndAnalysisType(orderId, AnalysisType.STATISTIC);
     log.debug("Found {} statistics with RDF data for order ID: {}", statistics.size(), orderId);
     return statistics;
   }
@@ -138,9 +168,7 @@ public class RatingsServiceImpl implements RatingsService {
   public List<GithubRepositoryOrderAnalysisEntity> getExpertsWithRdfByOrderId(Long orderId) {
     log.debug("Getting experts with RDF for order ID: {}", orderId);
     getOrderById(orderId); // Verify order exists
-    List<GithubRepositoryOrderAnalysisEntity> experts = analysisRepository.findAllByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.EXPERT).stream()
-        .filter(analysis -> analysis.getRdfBlob() != null)
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> experts = analysisRdfRepository.findAllWithRdfByOrderIdAndAnalysisType(orderId, AnalysisType.EXPERT);
     log.debug("Found {} experts with RDF data for order ID: {}", experts.size(), orderId);
     return experts;
   }
@@ -175,14 +203,31 @@ public class RatingsServiceImpl implements RatingsService {
         .orElse(List.of());
   }
 
+  @Override
+  public List<AnalysisRdfInfo> getRdfInfosByOrderId(Long orderId, AnalysisType analysisType) {
+    log.debug("Getting RDF infos for order ID: {} and analysis type: {}", orderId, analysisType);
+    getOrderById(orderId); // Verify order exists
+    return analysisType == null
+        ? analysisRdfRepository.findRdfInfosByOrderId(orderId)
+        : analysisRdfRepository.findRdfInfosByOrderIdAndAnalysisType(orderId, analysisType);
+  }
+
+  @Override
+  public List<AnalysisRdfInfo> getRdfInfosWithRdfByOrderId(Long orderId, AnalysisType analysisType) {
+    getOrderById(orderId); // Verify order exists
+    List<AnalysisRdfInfo> rdfInfos = analysisType == null
+        ? analysisRdfRepository.findRdfInfosWithRdfByOrderId(orderId)
+        : analysisRdfRepository.findRdfInfosWithRdfByOrderIdAndAnalysisType(orderId, analysisType);
+    log.debug("Found {} analyses with RDF data for order ID: {} and analysis type: {}", rdfInfos.size(), orderId, analysisType);
+    return rdfInfos;
+  }
+
   // ============== METRIC-BASED OPERATIONS ==============
 
   @Override
   public List<GithubRepositoryOrderAnalysisEntity> getAnalysesByMetricId(String metricId) {
     log.debug("Getting all analyses for metric ID: {}", metricId);
-    List<GithubRepositoryOrderAnalysisEntity> analyses = analysisRepository.findAllByGithubRepositoryOrderId(null).stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()))
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> analyses = analysisMetricRepository.findAllByMetricId(metricId);
     log.debug("Found {} analyses for metric ID: {}", analyses.size(), metricId);
     return analyses;
   }
@@ -190,11 +235,7 @@ public class RatingsServiceImpl implements RatingsService {
   @Override
   public List<GithubRepositoryOrderAnalysisEntity> getRatingsByMetricId(String metricId) {
     log.debug("Getting ratings for metric ID: {}", metricId);
-    // Note: We need a different approach since we don't have a direct findByMetricId method
-    // This is a simplified implementation - you might need to add a custom query method
-    List<GithubRepositoryOrderAnalysisEntity> ratings = getAllAnalyses().stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) && analysis.getAnalysisType() == AnalysisType.RATING)
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> ratings = analysisMetricRepository.findAllByMetricIdAndAnalysisType(metricId, AnalysisType.RATING);
     if (ratings.isEmpty()) {
       throw RatingsNotFoundException.metricNotFound(metricId);
     }
@@ -205,9 +246,7 @@ public class RatingsServiceImpl implements RatingsService {
   @Override
   public List<GithubRepositoryOrderAnalysisEntity> getStatisticsByMetricId(String metricId) {
     log.debug("Getting statistics for metric ID: {}", metricId);
-    List<GithubRepositoryOrderAnalysisEntity> statistics = getAllAnalyses().stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) && analysis.getAnalysisType() == AnalysisType.STATISTIC)
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> statistics = analysisMetricRepository.findAllByMetricIdAndAnalysisType(metricId, AnalysisType.STATISTIC);
     log.debug("Found {} statistics for metric ID: {}", statistics.size(), metricId);
     return statistics;
   }
@@ -215,9 +254,7 @@ public class RatingsServiceImpl implements RatingsService {
   @Override
   public List<GithubRepositoryOrderAnalysisEntity> getAnalysesWithRdfByMetricId(String metricId) {
     log.debug("Getting analyses with RDF for metric ID: {}", metricId);
-    List<GithubRepositoryOrderAnalysisEntity> analyses = getAllAnalyses().stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) && analysis.getRdfBlob() != null)
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> analyses = analysisMetricRepository.findAllWithRdfByMetricId(metricId);
     log.debug("Found {} analyses with RDF data for metric ID: {}", analyses.size(), metricId);
     return analyses;
   }
@@ -225,11 +262,7 @@ public class RatingsServiceImpl implements RatingsService {
   @Override
   public List<GithubRepositoryOrderAnalysisEntity> getRatingsWithRdfByMetricId(String metricId) {
     log.debug("Getting ratings with RDF for metric ID: {}", metricId);
-    List<GithubRepositoryOrderAnalysisEntity> ratings = getAllAnalyses().stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) 
-            && analysis.getAnalysisType() == AnalysisType.RATING 
-            && analysis.getRdfBlob() != null)
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> ratings = analysisMetricRepository.findAllWithRdfByMetricIdAndAnalysisType(metricId, AnalysisType.RATING);
     if (ratings.isEmpty()) {
       throw RatingsNotFoundException.noRdfDataFound("metric: " + metricId);
     }
@@ -240,21 +273,21 @@ public class RatingsServiceImpl implements RatingsService {
   @Override
   public List<GithubRepositoryOrderAnalysisEntity> getStatisticsWithRdfByMetricId(String metricId) {
     log.debug("Getting statistics with RDF for metric ID: {}", metricId);
-    List<GithubRepositoryOrderAnalysisEntity> statistics = getAllAnalyses().stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) 
-            && analysis.getAnalysisType() == AnalysisType.STATISTIC 
-            && analysis.getRdfBlob() != null)
-        .collect(Collectors.toList());
+    List<GithubRepositoryOrderAnalysisEntity> statistics = analysisMetricRepository.findAllWithRdfByMetricIdAndAnalysisType(metricId, AnalysisType.STATISTIC);
     log.debug("Found {} statistics with RDF data for metric ID: {}", statistics.size(), metricId);
     return statistics;
   }
 
+  @Override
+  public List<AnalysisRdfInfo> getRdfInfosByMetricId(String metricId) {
+    log.debug("Getting RDF infos for metric ID: {}", metricId);
+    return analysisRdfRepository.findRdfInfosByMetricId(metricId);
+  }
+
   // ============== DOWNLOAD OPERATIONS ==============
 
   @Override
-  @Transactional(readOnly = true)
-  public RdfDownloadResult createRdfDownload(List<GithubRepositoryOrderAnalysisEntity> analyses, String baseFilename)
-      throws SQLException, IOException {
+  public RdfDownloadResult createRdfDownload(List<AnalysisRdfInfo> analyses, String baseFilename) {
     log.debug("Creating RDF download for {} analyses with base filename: {}", analyses.size(), baseFilename);
 
     if (analyses.isEmpty()) {
@@ -262,40 +295,23 @@ public class RatingsServiceImpl implements RatingsService {
       return new RdfDownloadResult(null, 0);
     }
 
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      int fileCount = 0;
-
-      for (int i = 0; i < analyses.size(); i++) {
-        GithubRepositoryOrderAnalysisEntity analysis = analyses.get(i);
-        Blob rdfBlob = analysis.getRdfBlob();
-
-        if (rdfBlob != null) {
-          // Add filename separator
-          String separator = createFilenameSeparator(analysis);
-          outputStream.write(separator.getBytes());
-
-          // Add RDF content
-          byte[] rdfData = rdfBlob.getBytes(1, (int) rdfBlob.length());
-          outputStream.write(rdfData);
-
-          // Add newline between files (except for the last one)
-          if (i < analyses.size() - 1) {
-            outputStream.write("\n".getBytes());
-          }
+    // The blobs are only loaded once the body is written
+    List<Long> analysisIds = analyses.stream()
+        .filter(AnalysisRdfInfo::isRdfAvailable)
+        .map(AnalysisRdfInfo::getId)
+        .collect(Collectors.toList());
 
-          fileCount++;
-        }
-      }
+    if (analysisIds.isEmpty()) {
+      log.warn("No RDF data found in provided analyses");
+      return new RdfDownloadResult(null, 0);
+    }
 
-      if (fileCount == 0) {
-        log.warn("No RDF data found in provided analyses");
-        return new RdfDownloadResult(null, 0);
-      }
+    // The body is written after the controller returned, so the blobs are read in a transaction of its own
+    StreamingResponseBody body = outputStream -> readOnlyTransactionTemplate().executeWithoutResult(
+        status -> writeRdfBundle(analysisIds, outputStream));
 
-      ByteArrayResource resource = new ByteArrayResource(outputStream.toByteArray());
-      log.debug("Created RDF download with {} files", fileCount);
-      return new RdfDownloadResult(resource, fileCount);
-    }
+    log.debug("Created RDF download with {} files", analysisIds.size());
+    return new RdfDownloadResult(body, analysisIds.size());
   }
 
   @Override
@@ -325,37 +341,19 @@ public class RatingsServiceImpl implements RatingsService {
   @Override
   public OrderStatistics getOrderStatistics(Long orderId) {
     log.debug("Getting statistics for order ID: {}", orderId);
-    
-    Long totalRatings = analysisRepository.countByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.RATING);
-    Long totalStatistics = analysisRepository.countByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.STATISTIC);
-    Long totalExperts = analysisRepository.countByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.EXPERT);
-    
-    List<GithubRepositoryOrderAnalysisEntity> allAnalyses = analysisRepository.findAllByGithubRepositoryOrderId(orderId);
-    Long uniqueMetrics = allAnalyses.stream()
-        .map(GithubRepositoryOrderAnalysisEntity::getMetricId)
-        .distinct()
-        .count();
-    
-    Long ratingsWithRdf = allAnalyses.stream()
-        .filter(analysis -> analysis.getAnalysisType() == AnalysisType.RATING && analysis.getRdfBlob() != null)
-        .count();
-    
-    Long statisticsWithRdf = allAnalyses.stream()
-        .filter(analysis -> analysis.getAnalysisType() == AnalysisType.STATISTIC && analysis.getRdfBlob() != null)
-        .count();
 
-    Long expertsWithRdf = allAnalyses.stream()
-        .filter(analysis -> analysis.getAnalysisType() == AnalysisType.EXPERT && analysis.getRdfBlob() != null)
-        .count();
+    // Single primary key read of the pre-aggregated counters, computed once if the order has no summary yet
+    GithubRepositoryOrderAnalysisSummaryEntity summary = summaryService.getOrRefreshSummary(orderId)
+        .orElseGet(() -> GithubRepositoryOrderAnalysisSummaryEntity.emptySummary(orderId));
 
     OrderStatistics stats = new OrderStatistics(
-        totalRatings.intValue(), 
-        totalStatistics.intValue(), 
-        totalExperts.intValue(),
-        uniqueMetrics.intValue(),
-        ratingsWithRdf.intValue(), 
-        statisticsWithRdf.intValue(),
-        expertsWithRdf.intValue()
+        summary.getTotalRatings(),
+        summary.getTotalStatistics(),
+        summary.getTotalExperts(),
+        summary.getUniqueMetrics(),
+        summary.getRatingsWithRdf(),
+        summary.getStatisticsWithRdf(),
+        summary.getExpertsWithRdf()
     );
     
     log.debug("Order {} statistics: {} ratings, {} statistics, {} experts, {} unique metrics, {} ratings with RDF, {} statistics with RDF, {} experts with RDF", 
@@ -364,48 +362,49 @@ public class RatingsServiceImpl implements RatingsService {
     return stats;
   }
 
+  @Override
+  public Map<Long, OrderAnalysisCounts> getAnalysisCountsByOrderIds(Collection<Long> orderIds) {
+    log.debug("Getting analysis counts of {} orders", orderIds.size());
+
+    if (orderIds.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<Long, long[]> countsByOrderId = new HashMap<>();
+
+    for (OrderAnalysisTypeCount count : analysisCountRepository.countByOrderIdsGroupedByOrderIdAndAnalysisType(orderIds)) {
+      long[] counts = countsByOrderId.computeIfAbsent(count.getOrderId(), orderId -> new long[AnalysisType.values().length]);
+      counts[count.getAnalysisType().ordinal()] = count.getTotal();
+    }
+
+    Map<Long, OrderAnalysisCounts> result = new HashMap<>(countsByOrderId.size());
+    countsByOrderId.forEach((orderId, counts) -> result.put(orderId, new OrderAnalysisCounts(
+        counts[AnalysisType.RATING.ordinal()],
+        counts[AnalysisType.STATISTIC.ordinal()],
+        counts[AnalysisType.EXPERT.ordinal()])));
+
+    log.debug("Found analysis counts for {} orders", result.size());
+    return result;
+  }
+
   @Override
   public MetricStatistics getMetricStatistics(String metricId) {
     log.debug("Getting statistics for metric ID: {}", metricId);
-    
-    List<GithubRepositoryOrderAnalysisEntity> allAnalyses = getAllAnalyses();
-    
-    Long totalRatings = allAnalyses.stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) && analysis.getAnalysisType() == AnalysisType.RATING)
-        .count();
-    
-    Long totalStatistics = allAnalyses.stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) && analysis.getAnalysisType() == AnalysisType.STATISTIC)
-        .count();
-    
-    Long uniqueOrders = allAnalyses.stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()))
-        .map(analysis -> analysis.getGithubRepositoryOrder().getId())
-        .distinct()
-        .count();
-    
-    Long ratingsWithRdf = allAnalyses.stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) 
-            && analysis.getAnalysisType() == AnalysisType.RATING 
-            && analysis.getRdfBlob() != null)
-        .count();
-    
-    Long statisticsWithRdf = allAnalyses.stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()) 
-            && analysis.getAnalysisType() == AnalysisType.STATISTIC 
-            && analysis.getRdfBlob() != null)
-        .count();
+
+    // Single primary key read of the metric rollup, maintained by the background refresher
+    MetricAnalysisSummaryEntity summary = metricSummaryService.getOrRefreshSummary(metricId);
 
     MetricStatistics stats = new MetricStatistics(
-        totalRatings.intValue(), 
-        totalStatistics.intValue(), 
-        uniqueOrders.intValue(),
-        ratingsWithRdf.intValue(), 
-        statisticsWithRdf.intValue()
+        summary.getTotalRatings(),
+        summary.getTotalStatistics(),
+        summary.getUniqueOrders(),
+        summary.getRatingsWithRdf(),
+        summary.getStatisticsWithRdf(),
+        summary.getRefreshedAt()
     );
     
-    log.debug("Metric {} statistics: {} ratings, {} statistics, {} unique orders, {} ratings with RDF, {} statistics with RDF", 
-        metricId, stats.getTotalRatings(), stats.getTotalStatistics(), stats.getUniqueOrders(), 
+    log.debug("Metric {} statistics as of {}: {} ratings, {} statistics, {} unique orders, {} ratings with RDF, {} statistics with RDF", 
+        metricId, stats.getAsOf(), stats.getTotalRatings(), stats.getTotalStatistics(), stats.getUniqueOrders(), 
         stats.getRatingsWithRdf(), stats.getStatisticsWithRdf());
     return stats;
   }
@@ -414,10 +413,7 @@ public class RatingsServiceImpl implements RatingsService {
 
   @Override
   public List<String> getAllMetricIds() {
-    return getAllAnalyses().stream()
-        .map(GithubRepositoryOrderAnalysisEntity::getMetricId)
-        .distinct()
-        .collect(Collectors.toList());
+    return analysisMetricRepository.findDistinctMetricIds();
   }
 
   @Override
@@ -430,30 +426,59 @@ public class RatingsServiceImpl implements RatingsService {
 
   @Override
   public List<Long> getOrderIdsByMetricId(String metricId) {
-    return getAllAnalyses().stream()
-        .filter(analysis -> metricId.equals(analysis.getMetricId()))
-        .map(analysis -> analysis.getGithubRepositoryOrder().getId())
-        .distinct()
-        .collect(Collectors.toList());
+    return analysisMetricRepository.findDistinctOrderIdsByMetricId(metricId);
   }
 
   @Override
   public List<Long> getOrderIdsWithExperts() {
     log.debug("Getting all order IDs that have expert analyses");
-    return getAllAnalyses().stream()
-        .filter(analysis -> analysis.getAnalysisType() == AnalysisType.EXPERT)
-        .map(analysis -> analysis.getGithubRepositoryOrder().getId())
-        .distinct()
-        .collect(Collectors.toList());
+    return analysisMetricRepository.findDistinctOrderIdsByAnalysisType(AnalysisType.EXPERT);
   }
 
   // ============== PRIVATE HELPER METHODS ==============
 
-  private List<GithubRepositoryOrderAnalysisEntity> getAllAnalyses() {
-    // This is a helper method to get all analyses - you might want to implement pagination for large datasets
-    return orderRepository.findAll().stream()
-        .flatMap(order -> analysisRepository.findAllByGithubRepositoryOrderId(order.getId()).stream())
-        .collect(Collectors.toList());
+  private TransactionTemplate readOnlyTransactionTemplate() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    return transactionTemplate;
+  }
+
+  private void writeRdfBundle(List<Long> analysisIds, OutputStream outputStream) {
+
+    Map<Long, GithubRepositoryOrderAnalysisEntity> analysesById = analysisRepository.findAllById(analysisIds).stream()
+        .collect(Collectors.toMap(GithubRepositoryOrderAnalysisEntity::getId, Function.identity()));
+
+    try {
+      for (int i = 0; i < analysisIds.size(); i++) {
+        GithubRepositoryOrderAnalysisEntity analysis = analysesById.get(analysisIds.get(i));
+        Blob rdfBlob = analysis == null ? null : analysis.getRdfBlob();
+
+        if (rdfBlob == null) {
+          log.warn("RDF data of analysis {} disappeared before it could be streamed", analysisIds.get(i));
+          continue;
+        }
+
+        // Add filename separator
+        outputStream.write(createFilenameSeparator(analysis).getBytes(StandardCharsets.UTF_8));
+
+        // Add RDF content
+        try (InputStream rdfInputStream = BlobUtils.openUncompressedStream(rdfBlob)) {
+          rdfInputStream.transferTo(outputStream);
+        }
+
+        // Add newline between files (except for the last one)
+        if (i < analysisIds.size() - 1) {
+          outputStream.write('\n');
+        }
+      }
+
+      outputStream.flush();
+
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (SQLException ex) {
+      throw new IllegalStateException("Couldn't read RDF data from the database", ex);
+    }
   }
 
   private String createFilenameSeparator(GithubRepositoryOrderAnalysisEntity analysis) {
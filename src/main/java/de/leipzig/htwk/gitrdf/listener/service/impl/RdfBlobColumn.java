@@ -0,0 +1,108 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import java.util.List;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.lob.GithubRepositoryOrderEntityLobs;
+import de.leipzig.htwk.gitrdf.listener.config.RdfBlobReleaseTriggerInitializer;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Column of a table holding rdf large objects, table and column names are resolved from the hibernate mapping.
+ * Deduplicated large objects are shared, so they are only ever replaced in all rdf columns at once.
+ */
+final class RdfBlobColumn {
+
+    final String tableName;
+
+    final String idColumn;
+
+    final String blobColumn;
+
+    // guarded by the lock of the service using the column
+    long lastCheckedId;
+
+    private RdfBlobColumn(String tableName, String idColumn, String blobColumn) {
+        this.tableName = tableName;
+        this.idColumn = idColumn;
+        this.blobColumn = blobColumn;
+    }
+
+    /**
+     * The rdf file column of orders and the rdf blob column of analyses.
+     */
+    static List<RdfBlobColumn> resolveAll(EntityManagerFactory entityManagerFactory) {
+        return List.of(
+                resolve(entityManagerFactory, GithubRepositoryOrderEntityLobs.class, "rdfFile"),
+                resolve(entityManagerFactory, GithubRepositoryOrderAnalysisEntity.class, "rdfBlob"));
+    }
+
+    /**
+     * Points every row of the given columns which references the large object to the replacement.
+     *
+     * @return The number of updated rows.
+     */
+    static int replaceLargeObject(
+            JdbcTemplate jdbcTemplate,
+            List<RdfBlobColumn> columns,
+            long largeObjectId,
+            long replacementLargeObjectId) {
+
+        int updatedRows = 0;
+
+        // the references are moved, not removed, so the release trigger leaves them counted
+        setMovingReferences(jdbcTemplate, true);
+
+        try {
+            for (RdfBlobColumn column : columns) {
+                updatedRows += jdbcTemplate.update(String.format("update %s set %2$s = ? where %2$s = ?",
+                        column.tableName, column.blobColumn),
+                        replacementLargeObjectId, largeObjectId);
+            }
+        } finally {
+            // a failed update must not leave the following writes of the transaction unreleased
+            setMovingReferences(jdbcTemplate, false);
+        }
+
+        return updatedRows;
+    }
+
+    /**
+     * Counts the rows of the given columns which reference the large object.
+     */
+    static long countReferences(JdbcTemplate jdbcTemplate, List<RdfBlobColumn> columns, long largeObjectId) {
+
+        long references = 0;
+
+        for (RdfBlobColumn column : columns) {
+            references += jdbcTemplate.queryForObject(String.format("select count(*) from %s where %s = ?",
+                    column.tableName, column.blobColumn),
+                    Long.class, largeObjectId);
+        }
+
+        return references;
+    }
+
+    private static void setMovingReferences(JdbcTemplate jdbcTemplate, boolean movingReferences) {
+        jdbcTemplate.queryForObject("select set_config(?, ?, true)", String.class,
+                RdfBlobReleaseTriggerInitializer.MOVING_REFERENCES_SETTING, movingReferences ? "on" : "off");
+    }
+
+    private static RdfBlobColumn resolve(EntityManagerFactory entityManagerFactory, Class<?> entityClass, String property) {
+
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+
+        return new RdfBlobColumn(
+                persister.getTableName(),
+                persister.getIdentifierColumnNames()[0],
+                persister.getPropertyColumnNames(property)[0]);
+    }
+
+}
@@ -0,0 +1,160 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.leipzig.htwk.gitrdf.listener.service.RdfBlobCompressionService;
+import de.leipzig.htwk.gitrdf.listener.utils.BlobUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.CountingOutputStream;
+import de.leipzig.htwk.gitrdf.listener.utils.LargeObjectUtils;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class RdfBlobCompressionServiceImpl implements RdfBlobCompressionService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final List<RdfBlobColumn> blobColumns;
+
+    public RdfBlobCompressionServiceImpl(
+            EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${listener.rdf-compression.enabled:false}") boolean enabled,
+            @Value("${listener.rdf-compression.batch-size:100}") int batchSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+
+        this.blobColumns = RdfBlobColumn.resolveAll(entityManagerFactory);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${listener.rdf-compression.interval-millis:600000}",
+            initialDelayString = "${listener.rdf-compression.interval-millis:600000}")
+    public void compressStoredRdfBlobsIfEnabled() {
+
+        // other services read the blobs too, so existing blobs are only compressed once all of them can decode gzip
+        if (enabled) {
+            compressStoredRdfBlobs();
+        }
+    }
+
+    @Override
+    public synchronized int compressStoredRdfBlobs() {
+
+        int compressedBlobs = 0;
+
+        for (RdfBlobColumn blobColumn : blobColumns) {
+            compressedBlobs += compressNextBatch(blobColumn);
+        }
+
+        return compressedBlobs;
+    }
+
+    private int compressNextBatch(RdfBlobColumn column) {
+
+        // lo_get only reads the first two bytes of every large object
+        List<Long> ids = jdbcTemplate.queryForList(String.format(
+                "select %1$s from %2$s where %1$s > ? and %3$s is not null "
+                        + "and lo_get(%3$s, 0, 2) <> decode('1f8b', 'hex') order by %1$s limit ?",
+                column.idColumn, column.tableName, column.blobColumn),
+                Long.class, column.lastCheckedId, batchSize);
+
+        // after the last batch the next pass starts over, e.g. to pick up rdf files of orders finished in the meantime
+        column.lastCheckedId = ids.size() < batchSize ? 0 : ids.get(ids.size() - 1);
+
+        int compressedBlobs = 0;
+        long uncompressedBytes = 0;
+        long compressedBytes = 0;
+
+        for (Long id : ids) {
+
+            long[] lengths = transactionTemplate.execute(status -> compressBlob(column, id));
+
+            if (lengths != null) {
+                compressedBlobs++;
+                uncompressedBytes += lengths[0];
+                compressedBytes += lengths[1];
+            }
+        }
+
+        if (compressedBlobs > 0) {
+            log.info("Compressed {} blobs of {}.{}: {} bytes compressed to {} bytes",
+                    compressedBlobs, column.tableName, column.blobColumn, uncompressedBytes, compressedBytes);
+        }
+
+        return compressedBlobs;
+    }
+
+    /**
+     * @return The uncompressed and the compressed length, null if the blob was compressed or removed in the meantime.
+     */
+    private long[] compressBlob(RdfBlobColumn column, long id) {
+
+        // the row stays locked, so the blob isn't replaced by another service while it is compressed
+        List<Long> largeObjectIds = jdbcTemplate.queryForList(String.format(
+                "select %3$s from %2$s where %1$s = ? and %3$s is not null "
+                        + "and lo_get(%3$s, 0, 2) <> decode('1f8b', 'hex') for update",
+                column.idColumn, column.tableName, column.blobColumn),
+                Long.class, id);
+
+        if (largeObjectIds.isEmpty()) {
+            return null;
+        }
+
+        long largeObjectId = largeObjectIds.get(0);
+
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+
+            long compressedLargeObjectId = LargeObjectUtils.create(connection);
+            long[] lengths;
+
+            try (InputStream inputStream = LargeObjectUtils.openInputStream(connection, largeObjectId);
+                 CountingOutputStream outputStream = new CountingOutputStream(new BufferedOutputStream(
+                         LargeObjectUtils.openOutputStream(connection, compressedLargeObjectId), WRITE_BUFFER_SIZE))) {
+
+                long uncompressedLength = BlobUtils.writeGzipCompressed(inputStream, outputStream);
+                outputStream.flush();
+
+                lengths = new long[] { uncompressedLength, outputStream.getCount() };
+
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            // a deduplicated large object is shared with other orders and analyses, which all get the compressed copy
+            RdfBlobColumn.replaceLargeObject(jdbcTemplate, blobColumns, largeObjectId, compressedLargeObjectId);
+            jdbcTemplate.update("update rdf_blob set large_object_id = ? where large_object_id = ?",
+                    compressedLargeObjectId, largeObjectId);
+
+            LargeObjectUtils.delete(connection, largeObjectId);
+
+            return lengths;
+        });
+    }
+
+}
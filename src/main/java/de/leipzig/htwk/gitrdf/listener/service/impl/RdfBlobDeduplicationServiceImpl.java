@@ -0,0 +1,197 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.leipzig.htwk.gitrdf.listener.domain.entity.RdfBlobEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.RdfBlobRepository;
+import de.leipzig.htwk.gitrdf.listener.service.RdfBlobDeduplicationService;
+import de.leipzig.htwk.gitrdf.listener.utils.BlobUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.LargeObjectUtils;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class RdfBlobDeduplicationServiceImpl implements RdfBlobDeduplicationService {
+
+    private static final String UNREGISTERED_BLOB_CONDITION
+            = "not exists (select 1 from rdf_blob b where b.large_object_id = %3$s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RdfBlobRepository rdfBlobRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final List<RdfBlobColumn> blobColumns;
+
+    public RdfBlobDeduplicationServiceImpl(
+            EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate,
+            RdfBlobRepository rdfBlobRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${listener.rdf-deduplication.enabled:false}") boolean enabled,
+            @Value("${listener.rdf-deduplication.batch-size:100}") int batchSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.rdfBlobRepository = rdfBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+
+        this.blobColumns = RdfBlobColumn.resolveAll(entityManagerFactory);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${listener.rdf-deduplication.interval-millis:600000}",
+            initialDelayString = "${listener.rdf-deduplication.interval-millis:600000}")
+    public void deduplicateStoredRdfBlobsIfEnabled() {
+
+        // shared large objects mustn't be deleted by other services, so deduplication is only enabled once none does
+        if (enabled) {
+            deduplicateStoredRdfBlobs();
+        }
+    }
+
+    @Override
+    public synchronized int deduplicateStoredRdfBlobs() {
+
+        int deduplicatedBlobs = 0;
+
+        for (RdfBlobColumn blobColumn : blobColumns) {
+            deduplicatedBlobs += deduplicateNextBatch(blobColumn);
+        }
+
+        return deduplicatedBlobs;
+    }
+
+    private int deduplicateNextBatch(RdfBlobColumn column) {
+
+        List<Long> ids = jdbcTemplate.queryForList(String.format(
+                "select %1$s from %2$s where %1$s > ? and %3$s is not null and " + UNREGISTERED_BLOB_CONDITION
+                        + " order by %1$s limit ?",
+                column.idColumn, column.tableName, column.blobColumn),
+                Long.class, column.lastCheckedId, batchSize);
+
+        // after the last batch the next pass starts over, e.g. to pick up rdf files of orders finished in the meantime
+        column.lastCheckedId = ids.size() < batchSize ? 0 : ids.get(ids.size() - 1);
+
+        int storedBlobs = 0;
+        int deduplicatedBlobs = 0;
+
+        for (Long id : ids) {
+
+            Boolean deduplicated = transactionTemplate.execute(status -> deduplicateBlob(column, id));
+
+            if (Boolean.TRUE.equals(deduplicated)) {
+                deduplicatedBlobs++;
+            } else if (Boolean.FALSE.equals(deduplicated)) {
+                storedBlobs++;
+            }
+        }
+
+        if (storedBlobs > 0 || deduplicatedBlobs > 0) {
+            log.info("Stored {} new blobs and deduplicated {} blobs of {}.{}",
+                    storedBlobs, deduplicatedBlobs, column.tableName, column.blobColumn);
+        }
+
+        return deduplicatedBlobs;
+    }
+
+    /**
+     * @return True if the blob was replaced by an equal stored blob, false if it was stored as a new blob and null if
+     *         it was stored or removed in the meantime.
+     */
+    private Boolean deduplicateBlob(RdfBlobColumn column, long id) {
+
+        // the row stays locked, so the blob isn't replaced by another service while it is hashed
+        List<Long> largeObjectIds = jdbcTemplate.queryForList(String.format(
+                "select %3$s from %2$s where %1$s = ? and %3$s is not null and " + UNREGISTERED_BLOB_CONDITION
+                        + " for update",
+                column.idColumn, column.tableName, column.blobColumn),
+                Long.class, id);
+
+        if (largeObjectIds.isEmpty()) {
+            return null;
+        }
+
+        long largeObjectId = largeObjectIds.get(0);
+
+        RdfBlobEntity hashedBlob = jdbcTemplate.execute(
+                (ConnectionCallback<RdfBlobEntity>) connection -> hashLargeObject(connection, largeObjectId));
+
+        Optional<RdfBlobEntity> storedBlob = rdfBlobRepository.findBySha256ForUpdate(hashedBlob.getSha256());
+
+        if (storedBlob.isEmpty()) {
+            // usually only the locked row, unless the large object was already shared before
+            hashedBlob.setReferenceCount(RdfBlobColumn.countReferences(jdbcTemplate, blobColumns, largeObjectId));
+            rdfBlobRepository.save(hashedBlob);
+            return false;
+        }
+
+        RdfBlobEntity rdfBlob = storedBlob.get();
+
+        int movedReferences = RdfBlobColumn.replaceLargeObject(
+                jdbcTemplate, blobColumns, largeObjectId, rdfBlob.getLargeObjectId());
+
+        rdfBlob.setReferenceCount(rdfBlob.getReferenceCount() + movedReferences);
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            LargeObjectUtils.delete(connection, largeObjectId);
+            return null;
+        });
+
+        return true;
+    }
+
+    // the uncompressed rdf is hashed, so a compressed and an uncompressed copy of the same rdf are deduplicated too
+    private static RdfBlobEntity hashLargeObject(Connection connection, long largeObjectId) throws SQLException {
+
+        MessageDigest digest = newSha256Digest();
+
+        try (InputStream inputStream = new DigestInputStream(BlobUtils.openUncompressedStream(
+                LargeObjectUtils.openInputStream(connection, largeObjectId)), digest)) {
+
+            long contentLength = inputStream.transferTo(OutputStream.nullOutputStream());
+
+            return RdfBlobEntity.of(HexFormat.of().formatHex(digest.digest()), largeObjectId, contentLength, 0);
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static MessageDigest newSha256Digest() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 isn't supported by this JVM", ex);
+        }
+    }
+
+}
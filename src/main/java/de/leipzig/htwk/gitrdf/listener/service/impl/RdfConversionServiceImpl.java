@@ -0,0 +1,323 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import de.leipzig.htwk.gitrdf.listener.api.exception.NotFoundException;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.RdfFileConversionEntity;
+import de.leipzig.htwk.gitrdf.listener.domain.model.ByteRange;
+import de.leipzig.htwk.gitrdf.listener.domain.model.RdfFileVersion;
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.RdfFormat;
+import de.leipzig.htwk.gitrdf.listener.repository.RdfFileConversionRepository;
+import de.leipzig.htwk.gitrdf.listener.service.DownloadConcurrencyLimiter;
+import de.leipzig.htwk.gitrdf.listener.service.GithubService;
+import de.leipzig.htwk.gitrdf.listener.service.RdfConversionService;
+import de.leipzig.htwk.gitrdf.listener.utils.BlobUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.LargeObjectUtils;
+import de.leipzig.htwk.gitrdf.listener.utils.RdfFormatUtils;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class RdfConversionServiceImpl implements RdfConversionService {
+
+    // first key of the two key advisory locks, which keeps them apart from the other advisory locks of the listener
+    private static final int CONVERSION_LOCK_NAMESPACE = 0x52444643;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final EntityManager entityManager;
+
+    private final RdfFileConversionRepository rdfFileConversionRepository;
+
+    private final DownloadConcurrencyLimiter downloadConcurrencyLimiter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ConcurrentMap<RdfFileConversionEntity.Key, CompletableFuture<RdfFileConversionEntity>> conversionsInProgress
+            = new ConcurrentHashMap<>();
+
+    public RdfConversionServiceImpl(
+            EntityManager entityManager,
+            RdfFileConversionRepository rdfFileConversionRepository,
+            DownloadConcurrencyLimiter downloadConcurrencyLimiter,
+            PlatformTransactionManager transactionManager) {
+
+        this.entityManager = entityManager;
+        this.rdfFileConversionRepository = rdfFileConversionRepository;
+        this.downloadConcurrencyLimiter = downloadConcurrencyLimiter;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public GithubService.RdfFileDownload getRdfFileDownload(RdfFileVersion rdfFileVersion, RdfFormat rdfFormat) {
+
+        if (rdfFormat.isStoredFormat()) {
+            throw new IllegalArgumentException("The stored rdf format doesn't need a conversion: " + rdfFormat);
+        }
+
+        long id = rdfFileVersion.getOrderId();
+
+        // the version the entity tag was derived from is converted, not the rdf file stored in the meantime
+        RdfFileConversionEntity conversion = findOrCreateConversion(id, rdfFormat, rdfFileVersion.getLargeObjectId());
+        long largeObjectId = conversion.getLargeObjectId();
+
+        // The body is written after the controller returned, so the large object is read in a transaction of its own
+        Function<ByteRange, StreamingResponseBody> bodyFactory = range -> outputStream -> readOnlyTransactionTemplate
+                .executeWithoutResult(status -> writeConversion(largeObjectId, range, outputStream));
+
+        return new GithubService.RdfFileDownload(
+                String.format("RdfFileData%d.%s", id, rdfFormat.getFileExtension()),
+                conversion.getContentLength(),
+                bodyFactory);
+    }
+
+    @Transactional
+    @Override
+    public void deleteConversions(long id) {
+
+        Session session = entityManager.unwrap(Session.class);
+
+        for (RdfFileConversionEntity conversion : rdfFileConversionRepository.findAllByOrderId(id)) {
+            session.doWork(connection -> LargeObjectUtils.delete(connection, conversion.getLargeObjectId()));
+            rdfFileConversionRepository.delete(conversion);
+        }
+    }
+
+    private RdfFileConversionEntity findOrCreateConversion(long id, RdfFormat rdfFormat, long sourceLargeObjectId) {
+
+        RdfFileConversionEntity.Key key = new RdfFileConversionEntity.Key(id, rdfFormat);
+
+        while (true) {
+
+            RdfFileConversionEntity conversion = rdfFileConversionRepository.findById(key)
+                    .filter(storedConversion -> isConversionOf(storedConversion, sourceLargeObjectId))
+                    .orElse(null);
+
+            if (conversion != null) {
+                return conversion;
+            }
+
+            // Concurrent first downloads wait for a single conversion instead of converting the same file several times
+            CompletableFuture<RdfFileConversionEntity> ownConversion = new CompletableFuture<>();
+            CompletableFuture<RdfFileConversionEntity> conversionInProgress = conversionsInProgress.putIfAbsent(key, ownConversion);
+
+            if (conversionInProgress != null) {
+                // the conversion in progress may be one of an older rdf file, so the stored conversion is checked again
+                awaitConversion(conversionInProgress);
+                continue;
+            }
+
+            try {
+                // the conversion reads and writes large objects, so it takes a download slot like a download would
+                conversion = downloadConcurrencyLimiter.runLimited(() -> convert(id, rdfFormat, sourceLargeObjectId));
+                ownConversion.complete(conversion);
+                return conversion;
+            } catch (RuntimeException ex) {
+                ownConversion.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                conversionsInProgress.remove(key, ownConversion);
+            }
+        }
+    }
+
+    /**
+     * Converts the rdf file without holding a writing transaction open for the transcode. The stored file is
+     * transcoded straight from its large object into a temporary file, inside a read-only transaction, and the result
+     * is stored in a short transaction of its own.
+     */
+    private RdfFileConversionEntity convert(long id, RdfFormat rdfFormat, long sourceLargeObjectId) {
+
+        Path convertedFile = null;
+
+        try {
+            convertedFile = Files.createTempFile("RdfFileConversion", "." + rdfFormat.getFileExtension());
+
+            long sourceContentLength = transcodeLargeObject(sourceLargeObjectId, rdfFormat, convertedFile);
+            Path converted = convertedFile;
+
+            RdfFileConversionEntity conversion = transactionTemplate.execute(status ->
+                    storeConversion(id, rdfFormat, sourceLargeObjectId, sourceContentLength, converted));
+
+            log.info("Converted rdf file of order {} to {}: {} bytes stored, {} bytes converted",
+                    id, rdfFormat, sourceContentLength, conversion.getContentLength());
+
+            return conversion;
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deleteTempFile(convertedFile);
+        }
+    }
+
+    /**
+     * @return The stored length of the large object.
+     */
+    private long transcodeLargeObject(long largeObjectId, RdfFormat rdfFormat, Path file) {
+
+        return readOnlyTransactionTemplate.execute(status -> entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (InputStream turtleInputStream = BlobUtils.openUncompressedStream(
+                         LargeObjectUtils.openInputStream(connection, largeObjectId));
+                 OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file), WRITE_BUFFER_SIZE)) {
+
+                RdfFormatUtils.transcodeTurtle(turtleInputStream, outputStream, rdfFormat);
+
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            return LargeObjectUtils.size(connection, largeObjectId);
+        }));
+    }
+
+    private RdfFileConversionEntity storeConversion(
+            long id,
+            RdfFormat rdfFormat,
+            long sourceLargeObjectId,
+            long sourceContentLength,
+            Path convertedFile) {
+
+        // Locked like by the complete delete, which deletes the conversions after it locked the rdf file. A conversion
+        // stored after the delete would never be deleted.
+        if (findRdfFileLargeObjectIdForUpdate(id) == null) {
+            throw NotFoundException.githubEntryNotFound(id);
+        }
+
+        // another instance may have stored a conversion of the same file in the meantime
+        lockConversion(id, rdfFormat);
+
+        RdfFileConversionEntity conversion = rdfFileConversionRepository
+                .findById(new RdfFileConversionEntity.Key(id, rdfFormat))
+                .orElse(null);
+
+        if (conversion != null && isConversionOf(conversion, sourceLargeObjectId)) {
+            return conversion;
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+
+        if (conversion == null) {
+            conversion = RdfFileConversionEntity.of(id, rdfFormat);
+        } else {
+            long outdatedLargeObjectId = conversion.getLargeObjectId();
+            session.doWork(connection -> LargeObjectUtils.delete(connection, outdatedLargeObjectId));
+        }
+
+        long largeObjectId = session.doReturningWork(LargeObjectUtils::create);
+
+        long contentLength = session.doReturningWork(connection -> {
+            try (InputStream inputStream = Files.newInputStream(convertedFile);
+                 OutputStream outputStream = LargeObjectUtils.openOutputStream(connection, largeObjectId)) {
+
+                return inputStream.transferTo(outputStream);
+
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        conversion.setLargeObjectId(largeObjectId);
+        conversion.setContentLength(contentLength);
+        conversion.setSourceLargeObjectId(sourceLargeObjectId);
+        conversion.setSourceContentLength(sourceContentLength);
+        conversion.setCreatedAt(Instant.now());
+
+        return rdfFileConversionRepository.save(conversion);
+    }
+
+    /**
+     * @return The oid of the rdf file, null if the order has none. Locks the row of the rdf file until the transaction
+     *         ends.
+     */
+    private Long findRdfFileLargeObjectIdForUpdate(long id) {
+
+        // the first column is the rdf file of the orders
+        RdfBlobColumn rdfFileColumn = RdfBlobColumn.resolveAll(entityManager.getEntityManagerFactory()).get(0);
+
+        List<?> largeObjectIds = entityManager.createNativeQuery(String.format("select %s from %s where %s = ?1 for update",
+                        rdfFileColumn.blobColumn, rdfFileColumn.tableName, rdfFileColumn.idColumn))
+                .setParameter(1, id)
+                .getResultList();
+
+        if (largeObjectIds.isEmpty() || largeObjectIds.get(0) == null) {
+            return null;
+        }
+
+        return ((Number) largeObjectIds.get(0)).longValue();
+    }
+
+    private static boolean isConversionOf(RdfFileConversionEntity conversion, long sourceLargeObjectId) {
+        return conversion.getSourceLargeObjectId() != null && conversion.getSourceLargeObjectId() == sourceLargeObjectId;
+    }
+
+    private static void awaitConversion(CompletableFuture<RdfFileConversionEntity> conversion) {
+
+        try {
+            conversion.join();
+        } catch (CompletionException ex) {
+            // the failure of another download's conversion, e.g. of a deleted order, is answered by the own attempt
+            log.debug("Awaited conversion failed. Exception is '{}'", ex.getMessage());
+        }
+    }
+
+    private static void deleteTempFile(Path file) {
+
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Couldn't delete temporary conversion file '{}'. Exception is '{}'", file, ex.getMessage());
+        }
+    }
+
+    private void lockConversion(long id, RdfFormat rdfFormat) {
+        entityManager.createNativeQuery("select count(*) from (select pg_advisory_xact_lock(?1, ?2)) as lock")
+                .setParameter(1, CONVERSION_LOCK_NAMESPACE + rdfFormat.ordinal())
+                .setParameter(2, Long.hashCode(id))
+                .getSingleResult();
+    }
+
+    private void writeConversion(long largeObjectId, ByteRange range, OutputStream outputStream) {
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try {
+                LargeObjectUtils.copyRange(connection, largeObjectId, range, outputStream);
+                outputStream.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+}
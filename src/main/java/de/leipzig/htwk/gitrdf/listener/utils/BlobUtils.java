@@ -0,0 +1,92 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.ByteRange;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BlobUtils {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Copies the given range of the blob to the output stream.
+     * For postgres large objects the driver seeks to the start of the range, the preceding bytes are never read.
+     */
+    public static void copyRange(Blob blob, ByteRange range, OutputStream outputStream) throws SQLException, IOException {
+
+        if (range.getLength() <= 0) {
+            return;
+        }
+
+        // jdbc blob positions are one based
+        try (InputStream binaryInputStream = blob.getBinaryStream(range.getStart() + 1, range.getLength())) {
+
+            binaryInputStream.transferTo(outputStream);
+        }
+    }
+
+    /**
+     * Whether the blob is stored gzip compressed, detected by the gzip magic bytes at its start.
+     * Rdf blobs of older orders are stored uncompressed, turtle never starts with these bytes.
+     */
+    public static boolean isGzipCompressed(Blob blob) throws SQLException {
+
+        if (blob.length() < 2) {
+            return false;
+        }
+
+        return isGzipHeader(blob.getBytes(1, 2));
+    }
+
+    /**
+     * Reads the uncompressed content of the blob, gzip compressed blobs are decompressed while they are read and
+     * uncompressed blobs are read as they are.
+     */
+    public static InputStream openUncompressedStream(Blob blob) throws SQLException, IOException {
+        return openUncompressedStream(blob.getBinaryStream());
+    }
+
+    /**
+     * Reads the uncompressed content of the given stream of a blob, like {@link #openUncompressedStream(Blob)}.
+     */
+    public static InputStream openUncompressedStream(InputStream blobInputStream) throws IOException {
+
+        InputStream inputStream = new BufferedInputStream(blobInputStream, BUFFER_SIZE);
+
+        // the header is read from the buffer again, so detecting the format doesn't cost another read of the blob
+        inputStream.mark(2);
+        byte[] header = inputStream.readNBytes(2);
+        inputStream.reset();
+
+        return isGzipHeader(header) ? new GZIPInputStream(inputStream, BUFFER_SIZE) : inputStream;
+    }
+
+    /**
+     * Writes the input stream gzip compressed to the output stream, which is left open.
+     *
+     * @return The number of uncompressed bytes.
+     */
+    public static long writeGzipCompressed(InputStream inputStream, OutputStream outputStream) throws IOException {
+
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        long uncompressedLength = inputStream.transferTo(gzipOutputStream);
+        gzipOutputStream.finish();
+
+        return uncompressedLength;
+    }
+
+    private static boolean isGzipHeader(byte[] header) {
+        return header.length == 2 && ((header[0] & 0xff) | ((header[1] & 0xff) << 8)) == GZIPInputStream.GZIP_MAGIC;
+    }
+
+}
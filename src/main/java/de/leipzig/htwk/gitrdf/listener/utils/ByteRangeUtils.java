@@ -0,0 +1,95 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.http.HttpRange;
+
+import de.leipzig.htwk.gitrdf.listener.api.exception.RangeNotSatisfiableException;
+import de.leipzig.htwk.gitrdf.listener.domain.model.ByteRange;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ByteRangeUtils {
+
+    /**
+     * Resolves the given 'Range' header against a file of the given length.
+     * Only a single byte range is supported, multiple ranges are rejected.
+     */
+    public static ByteRange resolveSingleRangeOrThrowException(String rangeHeader, long contentLength) {
+
+        List<HttpRange> ranges;
+
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException ex) {
+            log.info("Couldn't parse range header '{}'. Exception is '{}'", rangeHeader, ex, ex);
+            throw RangeNotSatisfiableException.invalidRange(rangeHeader, contentLength);
+        }
+
+        if (ranges.size() > 1) {
+            throw RangeNotSatisfiableException.multipleRanges(rangeHeader, contentLength);
+        }
+
+        if (ranges.isEmpty() || contentLength <= 0) {
+            throw RangeNotSatisfiableException.invalidRange(rangeHeader, contentLength);
+        }
+
+        try {
+            long start = ranges.get(0).getRangeStart(contentLength);
+
+            // spring doesn't check the start, e.g. of 'bytes=<length>-' or the empty suffix 'bytes=-0'
+            if (start >= contentLength) {
+                throw RangeNotSatisfiableException.invalidRange(rangeHeader, contentLength);
+            }
+
+            long end = ranges.get(0).getRangeEnd(contentLength);
+            return new ByteRange(start, end - start + 1);
+        } catch (IllegalArgumentException ex) {
+            throw RangeNotSatisfiableException.invalidRange(rangeHeader, contentLength);
+        }
+    }
+
+    /**
+     * Checks whether the range of a request may be served, given its 'If-Range' header. The header either holds the
+     * entity tag or the last modified date of the file the client already has a part of. If it doesn't match the
+     * current file, the whole file has to be sent instead of the range.
+     */
+    public static boolean isIfRangeMatching(String ifRangeHeader, String eTag, Instant lastModified) {
+
+        if (ifRangeHeader == null || ifRangeHeader.isBlank()) {
+            return true;
+        }
+
+        String validator = ifRangeHeader.trim();
+
+        // weak entity tags never match, ranges of two byte wise different files can't be combined
+        if (validator.startsWith("W/")) {
+            return false;
+        }
+
+        if (validator.startsWith("\"")) {
+            return validator.equals(eTag);
+        }
+
+        // without a known modification time a date can't be validated
+        if (lastModified == null) {
+            return false;
+        }
+
+        try {
+            return ZonedDateTime.parse(validator, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond()
+                    == lastModified.getEpochSecond();
+        } catch (DateTimeParseException ex) {
+            log.info("Couldn't parse if-range header '{}'", ifRangeHeader);
+            return false;
+        }
+    }
+
+}
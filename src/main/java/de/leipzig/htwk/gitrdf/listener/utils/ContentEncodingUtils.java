@@ -0,0 +1,92 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.ContentEncoding;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContentEncodingUtils {
+
+    private static final String WILDCARD = "*";
+
+    /**
+     * Whether the client accepts gzip encoded bodies according to the given accept encoding header.
+     * Codings with a quality of zero are refused, a wildcard accepts gzip unless gzip itself is refused.
+     */
+    public static boolean acceptsGzip(String acceptEncodingHeader) {
+        return getQuality(acceptEncodingHeader, ContentEncoding.GZIP) > 0;
+    }
+
+    /**
+     * Selects the content coding with the highest quality in the accept encoding header, equally weighted codings in
+     * the order of {@link ContentEncoding}. Returns null if none of them is accepted, the body isn't encoded then.
+     */
+    public static ContentEncoding negotiate(String acceptEncodingHeader) {
+
+        ContentEncoding selectedEncoding = null;
+        double selectedQuality = 0;
+
+        for (ContentEncoding contentEncoding : ContentEncoding.values()) {
+
+            double quality = getQuality(acceptEncodingHeader, contentEncoding);
+
+            if (quality > selectedQuality) {
+                selectedEncoding = contentEncoding;
+                selectedQuality = quality;
+            }
+        }
+
+        return selectedEncoding;
+    }
+
+    /**
+     * Returns the quality of the given content coding in the accept encoding header, zero if it isn't accepted.
+     * An explicitly listed coding takes precedence over the wildcard.
+     */
+    static double getQuality(String acceptEncodingHeader, ContentEncoding contentEncoding) {
+
+        if (StringUtils.isBlank(acceptEncodingHeader)) {
+            return 0;
+        }
+
+        Double wildcardQuality = null;
+
+        for (String element : acceptEncodingHeader.split(",")) {
+
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = parseQuality(parts);
+
+            if (WILDCARD.equals(coding)) {
+                wildcardQuality = quality;
+            } else if (contentEncoding.getNames().contains(coding)) {
+                return quality;
+            }
+        }
+
+        return wildcardQuality == null ? 0 : wildcardQuality;
+    }
+
+    private static double parseQuality(String[] parts) {
+
+        for (int i = 1; i < parts.length; i++) {
+
+            String parameter = parts[i].trim();
+
+            if (parameter.length() > 2 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+
+        return 1;
+    }
+
+}
@@ -0,0 +1,42 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opaque cursor tokens for keyset pagination. Clients should pass them back as they are.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CursorUtils {
+
+    private static final String ID_PREFIX = "id:";
+
+    public static String encodeIdCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((ID_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decodeIdCursorOrThrowException(String cursor) {
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (!decoded.startsWith(ID_PREFIX)) {
+                throw BadRequestException.invalidCursor(cursor);
+            }
+
+            return Long.parseLong(decoded.substring(ID_PREFIX.length()), 10);
+
+        } catch (IllegalArgumentException ex) {
+            log.info("Couldn't decode cursor '{}'. Exception is '{}'", cursor, ex, ex);
+            throw BadRequestException.invalidCursor(cursor);
+        }
+    }
+
+}
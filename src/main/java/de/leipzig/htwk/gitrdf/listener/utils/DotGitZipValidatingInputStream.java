@@ -0,0 +1,194 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Passes the bytes of a zip file through unchanged while its entries are validated on the fly, so an upload is read
+ * only once. Reading fails with an {@link InvalidDotGitZipEntryException} at the first entry, which isn't part of the
+ * .git directory. Only the bytes between two validation steps are held in memory, never the whole file.
+ */
+public class DotGitZipValidatingInputStream extends InputStream {
+
+    private static final String DOT_GIT_DIRECTORY = ".git";
+
+    private final InputStream source;
+
+    private final ZipInputStream zipInputStream;
+
+    private final byte[] entryBuffer = new byte[8192];
+
+    private byte[] pending = new byte[16384];
+
+    private int pendingStart;
+
+    private int pendingEnd;
+
+    private boolean inEntry;
+
+    private boolean zipFinished;
+
+    public DotGitZipValidatingInputStream(InputStream source) {
+        this.source = source;
+        this.zipInputStream = new ZipInputStream(new CapturingInputStream(source));
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] singleByte = new byte[1];
+        int read = read(singleByte, 0, 1);
+        return read == -1 ? -1 : singleByte[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        if (len == 0) {
+            return 0;
+        }
+
+        while (pendingStart == pendingEnd) {
+
+            // the central directory after the last entry is passed through as is
+            if (zipFinished) {
+                return source.read(b, off, len);
+            }
+
+            validateNextChunk();
+        }
+
+        int read = Math.min(len, pendingEnd - pendingStart);
+        System.arraycopy(pending, pendingStart, b, off, read);
+        pendingStart += read;
+
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return pendingEnd - pendingStart;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipInputStream.close();
+    }
+
+    private void validateNextChunk() throws IOException {
+
+        if (inEntry) {
+            inEntry = zipInputStream.read(entryBuffer) != -1;
+            return;
+        }
+
+        ZipEntry zipEntry = zipInputStream.getNextEntry();
+
+        if (zipEntry == null) {
+            zipFinished = true;
+            return;
+        }
+
+        if (!isPartOfDotGitDirectory(zipEntry)) {
+            throw new InvalidDotGitZipEntryException(zipEntry.getName());
+        }
+
+        inEntry = true;
+    }
+
+    private static boolean isPartOfDotGitDirectory(ZipEntry zipEntry) {
+
+        if (isTopLevelDirectory(zipEntry)) {
+            return removeTrailingSlash(zipEntry.getName()).equals(DOT_GIT_DIRECTORY);
+        }
+
+        return zipEntry.getName().startsWith(DOT_GIT_DIRECTORY);
+    }
+
+    private static boolean isTopLevelDirectory(ZipEntry zipEntry) {
+        return zipEntry.isDirectory() && !removeTrailingSlash(zipEntry.getName()).contains("/");
+    }
+
+    private static String removeTrailingSlash(String value) {
+        return value.substring(0, value.length() - 1);
+    }
+
+    private void capture(byte[] b, int off, int len) {
+
+        if (pendingEnd + len > pending.length) {
+
+            int pendingLength = pendingEnd - pendingStart;
+
+            if (pendingLength + len > pending.length) {
+                pending = Arrays.copyOfRange(pending, pendingStart, pendingStart + Math.max(pending.length * 2, pendingLength + len));
+            } else {
+                System.arraycopy(pending, pendingStart, pending, 0, pendingLength);
+            }
+
+            pendingStart = 0;
+            pendingEnd = pendingLength;
+        }
+
+        System.arraycopy(b, off, pending, pendingEnd, len);
+        pendingEnd += len;
+    }
+
+    /**
+     * Keeps every byte the zip parser reads from the source, so it can be passed on.
+     */
+    private class CapturingInputStream extends FilterInputStream {
+
+        private CapturingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+
+            int b = in.read();
+
+            if (b != -1) {
+                capture(new byte[] {(byte) b}, 0, 1);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+
+            int read = in.read(b, off, len);
+
+            if (read > 0) {
+                capture(b, off, read);
+            }
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // skipped bytes have to be passed on as well
+            return Math.max(0, read(new byte[(int) Math.min(n, 8192)]));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+    }
+
+    public static class InvalidDotGitZipEntryException extends ZipException {
+
+        public InvalidDotGitZipEntryException(String entryName) {
+            super(String.format("Zip entry '%s' isn't part of the .git directory", entryName));
+        }
+
+    }
+
+}
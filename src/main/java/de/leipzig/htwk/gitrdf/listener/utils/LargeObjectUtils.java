@@ -0,0 +1,121 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.postgresql.PGConnection;
+import org.postgresql.largeobject.LargeObject;
+import org.postgresql.largeobject.LargeObjectManager;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.ByteRange;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Direct access to postgres large objects, for writes at arbitrary positions which the jdbc blob api doesn't offer.
+ * Large objects are transactional, the connection has to be part of a transaction.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LargeObjectUtils {
+
+    public static long create(Connection connection) throws SQLException {
+        return getLargeObjectManager(connection).createLO(LargeObjectManager.READWRITE);
+    }
+
+    /**
+     * Writes at most maxLength bytes of the input stream into the large object, starting at the given position.
+     *
+     * @return The number of bytes written.
+     */
+    public static long write(Connection connection, long oid, long position, InputStream inputStream, long maxLength)
+            throws SQLException, IOException {
+
+        LargeObject largeObject = getLargeObjectManager(connection).open(oid, LargeObjectManager.WRITE);
+
+        try {
+            largeObject.seek64(position, LargeObject.SEEK_SET);
+
+            try (OutputStream outputStream = largeObject.getOutputStream()) {
+                return transfer(inputStream, outputStream, maxLength);
+            }
+
+        } finally {
+            largeObject.close();
+        }
+    }
+
+    /**
+     * Opens the large object for writing from its start. Closing the returned stream closes the large object.
+     */
+    public static OutputStream openOutputStream(Connection connection, long oid) throws SQLException {
+        return getLargeObjectManager(connection).open(oid, LargeObjectManager.WRITE).getOutputStream();
+    }
+
+    /**
+     * Copies the given range of the large object to the output stream, the preceding bytes are never read.
+     */
+    public static void copyRange(Connection connection, long oid, ByteRange range, OutputStream outputStream)
+            throws SQLException, IOException {
+
+        if (range.getLength() <= 0) {
+            return;
+        }
+
+        LargeObject largeObject = getLargeObjectManager(connection).open(oid, LargeObjectManager.READ);
+
+        try {
+            largeObject.seek64(range.getStart(), LargeObject.SEEK_SET);
+            transfer(largeObject.getInputStream(), outputStream, range.getLength());
+        } finally {
+            largeObject.close();
+        }
+    }
+
+    /**
+     * Reads the whole large object. The returned stream has to be closed before the transaction ends.
+     */
+    public static InputStream openInputStream(Connection connection, long oid) throws SQLException {
+        return getLargeObjectManager(connection).open(oid, LargeObjectManager.READ).getInputStream();
+    }
+
+    /**
+     * The size of the large object in bytes, without reading its content.
+     */
+    public static long size(Connection connection, long oid) throws SQLException {
+
+        LargeObject largeObject = getLargeObjectManager(connection).open(oid, LargeObjectManager.READ);
+
+        try {
+            return largeObject.size64();
+        } finally {
+            largeObject.close();
+        }
+    }
+
+    public static void delete(Connection connection, long oid) throws SQLException {
+        getLargeObjectManager(connection).delete(oid);
+    }
+
+    private static long transfer(InputStream inputStream, OutputStream outputStream, long maxLength) throws IOException {
+
+        byte[] buffer = new byte[64 * 1024];
+        long transferred = 0;
+        int read;
+
+        while (transferred < maxLength
+                && (read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, maxLength - transferred))) != -1) {
+            outputStream.write(buffer, 0, read);
+            transferred += read;
+        }
+
+        return transferred;
+    }
+
+    private static LargeObjectManager getLargeObjectManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getLargeObjectAPI();
+    }
+
+}
@@ -0,0 +1,53 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryFilterCode;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fingerprints of github repository orders. Orders of the same repository (case insensitive) with an equal filter
+ * have the same fingerprint.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OrderFingerprintUtils {
+
+    public static String fingerprint(String owner, String repository, GithubRepositoryFilterCode filterCode) {
+
+        String canonicalOrder = owner.trim().toLowerCase(Locale.ROOT)
+                + "/" + repository.trim().toLowerCase(Locale.ROOT)
+                + "\n" + filterCode.getFingerprint();
+
+        return HexFormat.of().formatHex(sha256(canonicalOrder.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Key of the database advisory lock which serializes inserts of orders with the given fingerprint.
+     */
+    public static long toLockKey(String fingerprint) {
+        return Long.parseUnsignedLong(fingerprint.substring(0, 16), 16);
+    }
+
+    /**
+     * Key of the database advisory lock which serializes requests with the given idempotency key.
+     */
+    public static long toIdempotencyKeyLockKey(String idempotencyKey) {
+        byte[] hash = sha256(("idempotency-key\n" + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+        return Long.parseUnsignedLong(HexFormat.of().formatHex(hash, 0, 8), 16);
+    }
+
+    private static byte[] sha256(byte[] content) {
+
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 isn't supported by this JVM", ex);
+        }
+    }
+
+}
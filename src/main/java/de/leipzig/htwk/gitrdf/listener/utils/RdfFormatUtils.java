@@ -0,0 +1,90 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.RdfFormat;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RdfFormatUtils {
+
+    /**
+     * Selects the rdf format of the download from the given accept header.
+     * Returns null if the client doesn't ask for a specific rdf format (no header, wildcards or octet streams), in
+     * which case the stored file is downloaded as octet stream, as before content negotiation.
+     */
+    public static RdfFormat negotiate(String acceptHeader) {
+
+        if (StringUtils.isBlank(acceptHeader)) {
+            return null;
+        }
+
+        List<MediaType> acceptedMediaTypes;
+
+        try {
+            acceptedMediaTypes = MediaType.parseMediaTypes(acceptHeader);
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+
+        // stable sort, so equally weighted media types keep the order of the header
+        List<MediaType> byQuality = acceptedMediaTypes.stream()
+                .filter(mediaType -> mediaType.getQualityValue() > 0)
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .toList();
+
+        for (MediaType acceptedMediaType : byQuality) {
+
+            if (acceptedMediaType.isWildcardType() || acceptedMediaType.includes(MediaType.APPLICATION_OCTET_STREAM)) {
+                return null;
+            }
+
+            for (RdfFormat rdfFormat : RdfFormat.values()) {
+                if (acceptedMediaType.includes(rdfFormat.getMediaType())) {
+                    return rdfFormat;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Converts the turtle input stream into the given format. Triples are written while they are parsed, so memory
+     * usage doesn't depend on the size of the file.
+     */
+    public static void transcodeTurtle(InputStream turtleInputStream, OutputStream outputStream, RdfFormat rdfFormat) {
+
+        StreamRDF writer = StreamRDFWriter.getWriterStream(outputStream, toLang(rdfFormat));
+
+        writer.start();
+
+        RDFParser.source(turtleInputStream)
+                .lang(Lang.TURTLE)
+                .parse(writer);
+
+        // flushes the buffered output of the writer
+        writer.finish();
+    }
+
+    private static Lang toLang(RdfFormat rdfFormat) {
+        return switch (rdfFormat) {
+            case TURTLE -> Lang.TURTLE;
+            case N_TRIPLES -> Lang.NTRIPLES;
+            case RDF_THRIFT -> Lang.RDFTHRIFT;
+        };
+    }
+
+}
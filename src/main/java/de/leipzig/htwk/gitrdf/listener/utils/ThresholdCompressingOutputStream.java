@@ -0,0 +1,156 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.ContentEncoding;
+
+/**
+ * Compresses the written bytes once more than the threshold was written, smaller bodies are written uncompressed since
+ * compressing them costs more than it saves. The first bytes are buffered until the decision is made and the listener
+ * is called before any byte reaches the wrapped stream, so the response headers can still be changed.
+ * Closing the stream finishes the body, the wrapped stream is left open.
+ */
+public class ThresholdCompressingOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+
+    private final ContentEncoding contentEncoding;
+
+    private final int compressionLevel;
+
+    private final Runnable compressionListener;
+
+    private byte[] buffer;
+
+    private int bufferedBytes;
+
+    private Deflater deflater;
+
+    private DeflaterOutputStream compressingOutputStream;
+
+    private boolean closed;
+
+    /**
+     * @param threshold           Bodies of at most this many bytes are written uncompressed.
+     * @param compressionLevel    The deflate level from 1 (fastest) to 9 (best compression).
+     * @param compressionListener Called once, right before the compressed body is started.
+     */
+    public ThresholdCompressingOutputStream(
+            OutputStream out,
+            ContentEncoding contentEncoding,
+            int compressionLevel,
+            int threshold,
+            Runnable compressionListener) {
+
+        this.out = out;
+        this.contentEncoding = contentEncoding;
+        this.compressionLevel = compressionLevel;
+        this.compressionListener = compressionListener;
+        this.buffer = new byte[threshold];
+    }
+
+    public boolean isCompressing() {
+        return compressingOutputStream != null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        if (isCompressing()) {
+            compressingOutputStream.write(b, off, len);
+            return;
+        }
+
+        if (bufferedBytes + len <= buffer.length) {
+            System.arraycopy(b, off, buffer, bufferedBytes, len);
+            bufferedBytes += len;
+            return;
+        }
+
+        startCompressing();
+        compressingOutputStream.write(b, off, len);
+    }
+
+    /**
+     * Bytes buffered below the threshold aren't flushed, since the decision about the compression is still pending.
+     */
+    @Override
+    public void flush() throws IOException {
+
+        if (isCompressing()) {
+            compressingOutputStream.flush();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes uncompressed if the threshold wasn't exceeded, or completes the compressed body.
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        if (isCompressing()) {
+            try {
+                compressingOutputStream.finish();
+            } finally {
+                deflater.end();
+            }
+        } else {
+            out.write(buffer, 0, bufferedBytes);
+        }
+
+        buffer = null;
+        out.flush();
+    }
+
+    private void startCompressing() throws IOException {
+
+        compressionListener.run();
+
+        if (contentEncoding == ContentEncoding.GZIP) {
+            LeveledGzipOutputStream gzipOutputStream = new LeveledGzipOutputStream(out, compressionLevel);
+            deflater = gzipOutputStream.getDeflater();
+            compressingOutputStream = gzipOutputStream;
+        } else {
+            deflater = new Deflater(compressionLevel);
+            compressingOutputStream = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+        }
+
+        compressingOutputStream.write(buffer, 0, bufferedBytes);
+        buffer = null;
+    }
+
+    // the gzip stream doesn't take a deflater, its own deflater is configured instead
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(OutputStream out, int compressionLevel) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(compressionLevel);
+        }
+
+        private Deflater getDeflater() {
+            return def;
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package de.leipzig.htwk.gitrdf.listener.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.database.common.entity.lob.GithubRepositoryOrderEntityLobs;
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import de.leipzig.htwk.gitrdf.listener.repository.RdfFileVersionRepository;
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"listener.scheduling.enabled=false", "listener.download.cache-max-age=1d"})
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class GithubControllerRdfDownloadTest {
+
+    private static final String TURTLE = "<urn:s> <urn:p> <urn:o> .\n";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RdfFileVersionRepository rdfFileVersionRepository;
+
+    @Test
+    void answersMatchingIfNoneMatchWithNotModified() throws Exception {
+
+        long orderId = persistOrder(GitRepositoryOrderStatus.DONE, TURTLE.getBytes(StandardCharsets.UTF_8));
+
+        HttpResponse<String> download = download(orderId);
+        String eTag = download.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        assertThat(download.statusCode()).isEqualTo(200);
+        assertThat(download.body()).isEqualTo(TURTLE);
+
+        HttpResponse<String> notModified = download(orderId, HttpHeaders.IF_NONE_MATCH, eTag);
+
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(notModified.headers().firstValue(HttpHeaders.ETAG)).hasValue(eTag);
+        assertThat(download(orderId, HttpHeaders.IF_NONE_MATCH, "\"other\"").statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void answersIfModifiedSinceWithNotModified() throws Exception {
+
+        long orderId = persistOrder(GitRepositoryOrderStatus.DONE, TURTLE.getBytes(StandardCharsets.UTF_8));
+
+        String lastModified = download(orderId).headers().firstValue(HttpHeaders.LAST_MODIFIED).orElseThrow();
+
+        assertThat(download(orderId, HttpHeaders.IF_MODIFIED_SINCE, lastModified).statusCode()).isEqualTo(304);
+        assertThat(download(orderId, HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 1970 00:00:00 GMT").statusCode())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void sendsAnEntityTagPerEncoding() throws Exception {
+
+        long orderId = persistOrder(GitRepositoryOrderStatus.DONE, gzip(TURTLE));
+
+        HttpResponse<byte[]> gzipDownload = downloadBytes(orderId, HttpHeaders.ACCEPT_ENCODING, "gzip");
+        HttpResponse<String> identityDownload = download(orderId);
+
+        String gzipETag = gzipDownload.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        String identityETag = identityDownload.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        assertThat(gzipDownload.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(gzipDownload.body()).isEqualTo(gzip(TURTLE));
+        assertThat(identityDownload.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(identityDownload.body()).isEqualTo(TURTLE);
+        assertThat(gzipETag).isNotEqualTo(identityETag);
+
+        // the gzip encoded representation doesn't validate the decompressed one
+        assertThat(download(orderId, HttpHeaders.IF_NONE_MATCH, gzipETag).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void cachesOnlyRdfFilesOfDoneOrders() throws Exception {
+
+        long doneOrderId = persistOrder(GitRepositoryOrderStatus.DONE, TURTLE.getBytes(StandardCharsets.UTF_8));
+        long pendingOrderId = persistOrder(GitRepositoryOrderStatus.PROCESSING, TURTLE.getBytes(StandardCharsets.UTF_8));
+
+        HttpResponse<String> doneDownload = download(doneOrderId);
+        String doneETag = doneDownload.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        assertThat(doneDownload.headers().firstValue(HttpHeaders.CACHE_CONTROL)).hasValue("max-age=86400, public");
+        assertThat(download(doneOrderId, HttpHeaders.IF_NONE_MATCH, doneETag).headers().firstValue(HttpHeaders.CACHE_CONTROL))
+                .hasValue("max-age=86400, public");
+        assertThat(download(pendingOrderId).headers().firstValue(HttpHeaders.CACHE_CONTROL)).hasValue("no-cache");
+    }
+
+    @Test
+    void downloadsNeverRecordVersions() throws Exception {
+
+        long orderId = persistOrder(GitRepositoryOrderStatus.DONE, TURTLE.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(rdfFileVersionRepository.existsById(orderId)).isTrue();
+        rdfFileVersionRepository.deleteById(orderId);
+
+        HttpResponse<String> download = download(orderId);
+        String eTag = download.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        // without a recorded version only the entity tag validates the download
+        assertThat(download.statusCode()).isEqualTo(200);
+        assertThat(download.headers().firstValue(HttpHeaders.LAST_MODIFIED)).isEmpty();
+        assertThat(download(orderId, HttpHeaders.IF_NONE_MATCH, eTag).statusCode()).isEqualTo(304);
+        assertThat(rdfFileVersionRepository.existsById(orderId)).isFalse();
+    }
+
+    private HttpResponse<String> download(long orderId, String... headers) throws IOException, InterruptedException {
+        return httpClient.send(downloadRequest(orderId, headers), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<byte[]> downloadBytes(long orderId, String... headers) throws IOException, InterruptedException {
+        return httpClient.send(downloadRequest(orderId, headers), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest downloadRequest(long orderId, String... headers) {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(String.format(
+                "http://localhost:%d/listener-service/api/v1/github/rdf/download/%d", port, orderId)));
+
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+
+        return request.build();
+    }
+
+    private long persistOrder(GitRepositoryOrderStatus status, byte[] rdfFile) {
+        return transactionTemplate.execute(transaction -> {
+            GithubRepositoryOrderEntity order
+                    = GithubRepositoryOrderEntity.newOrder("download-owner", "download-repository", GithubRepositoryFilter.DEFAULT);
+            order.setStatus(status);
+            entityManager.persist(order);
+
+            GithubRepositoryOrderEntityLobs lobs = new GithubRepositoryOrderEntityLobs();
+            lobs.setOrderEntity(order);
+            lobs.setRdfFile(BlobProxy.generateProxy(rdfFile));
+            entityManager.persist(lobs);
+
+            return order.getId();
+        });
+    }
+
+    private static byte[] gzip(String content) {
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return compressed.toByteArray();
+    }
+
+}
@@ -0,0 +1,101 @@
+package de.leipzig.htwk.gitrdf.listener.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.ContentEncoding;
+import de.leipzig.htwk.gitrdf.listener.utils.CountingOutputStream;
+import de.leipzig.htwk.gitrdf.listener.utils.ThresholdCompressingOutputStream;
+
+/**
+ * Measures the CPU cost of compressing an rdf bundle per content coding and compression level. The compressed and
+ * uncompressed bytes are reported as secondary results, their ratio is the bandwidth saved per download.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DownloadCompressionBenchmark {
+
+    private static final int WRITE_SIZE = 8 * 1024;
+
+    @Param({"GZIP", "DEFLATE"})
+    private ContentEncoding contentEncoding;
+
+    @Param({"1", "6", "9"})
+    private int compressionLevel;
+
+    @Param({"1048576", "16777216"})
+    private int bundleSize;
+
+    private byte[] bundle;
+
+    @Setup
+    public void setUp() {
+
+        StringBuilder turtle = new StringBuilder(bundleSize + 512);
+
+        for (int i = 0; turtle.length() < bundleSize; i++) {
+            turtle.append("<https://github.com/dotnet/runtime/commit/").append(Integer.toHexString(i * 7919))
+                    .append("> a git:Commit ;\n")
+                    .append("    git:commitHash \"").append(Integer.toHexString(i * 104729)).append("\" ;\n")
+                    .append("    git:authorName \"author").append(i % 97).append("\" ;\n")
+                    .append("    git:authorDate \"2024-01-").append(10 + i % 20).append("T10:00:00Z\"^^xsd:dateTime .\n");
+        }
+
+        bundle = turtle.substring(0, bundleSize).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WrittenBytes {
+
+        public long uncompressedBytes;
+
+        public long compressedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            uncompressedBytes = 0;
+            compressedBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public void compressBundle(WrittenBytes writtenBytes) throws IOException {
+
+        CountingOutputStream countingOutputStream = new CountingOutputStream(OutputStream.nullOutputStream());
+
+        ThresholdCompressingOutputStream compressingOutputStream = new ThresholdCompressingOutputStream(
+                countingOutputStream, contentEncoding, compressionLevel, 64 * 1024, () -> { });
+
+        // the bundle body writes in chunks like the blob streams
+        for (int offset = 0; offset < bundle.length; offset += WRITE_SIZE) {
+            compressingOutputStream.write(bundle, offset, Math.min(WRITE_SIZE, bundle.length - offset));
+        }
+
+        compressingOutputStream.close();
+
+        writtenBytes.uncompressedBytes += bundle.length;
+        writtenBytes.compressedBytes += countingOutputStream.getCount();
+    }
+
+}
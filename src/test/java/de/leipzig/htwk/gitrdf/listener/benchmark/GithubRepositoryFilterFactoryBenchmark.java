@@ -0,0 +1,64 @@
+package de.leipzig.htwk.gitrdf.listener.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.listener.api.model.request.composite.filter.GitCommitFilterRequestModel;
+import de.leipzig.htwk.gitrdf.listener.api.model.request.composite.filter.GithubIssueFilterRequestModel;
+import de.leipzig.htwk.gitrdf.listener.api.model.request.composite.filter.RepoFilterRequestModel;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryFilterCode;
+import de.leipzig.htwk.gitrdf.listener.factory.GithubRepositoryFilterFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GithubRepositoryFilterFactoryBenchmark {
+
+    private static final RepoFilterRequestModel PARTIAL = new RepoFilterRequestModel(
+            new GitCommitFilterRequestModel(true, null, true, null, true, null, true, null, true, null, true, null),
+            new GithubIssueFilterRequestModel(
+                    null, true, null, true, null, true, null, true, null, true, null, true, null, true, null, true));
+
+    @Param({"NONE", "ENABLED", "PARTIAL"})
+    private String filter;
+
+    private final GithubRepositoryFilterFactory factory = new GithubRepositoryFilterFactory();
+
+    private RepoFilterRequestModel repoFilterRequestModel;
+
+    @Setup
+    public void setUp() {
+        repoFilterRequestModel = switch (filter) {
+            case "NONE" -> null;
+            case "ENABLED" -> RepoFilterRequestModel.ENABLED;
+            case "PARTIAL" -> PARTIAL;
+            default -> throw new IllegalArgumentException("Unknown filter " + filter);
+        };
+    }
+
+    @Benchmark
+    public GithubRepositoryFilter fromRepoFilterRequestModel() {
+        return factory.fromRepoFilterRequestModel(repoFilterRequestModel);
+    }
+
+    @Benchmark
+    public GithubRepositoryFilterCode toFilterCode() {
+        return factory.toFilterCode(repoFilterRequestModel);
+    }
+
+}
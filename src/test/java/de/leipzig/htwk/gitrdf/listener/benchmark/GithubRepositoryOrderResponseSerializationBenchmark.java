@@ -0,0 +1,68 @@
+package de.leipzig.htwk.gitrdf.listener.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.listener.api.model.response.GithubRepositoryOrderResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GithubRepositoryOrderResponseSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int orderCount;
+
+    private ObjectMapper objectMapper;
+
+    private List<GithubRepositoryOrderResponse> orders;
+
+    @Setup
+    public void setUp() {
+
+        // Same defaults as the object mapper used by the message converters of the application
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        GitRepositoryOrderStatus[] statuses = GitRepositoryOrderStatus.values();
+        orders = new ArrayList<>(orderCount);
+
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(new GithubRepositoryOrderResponse(
+                    i,
+                    statuses[i % statuses.length],
+                    i % 3,
+                    "owner" + i,
+                    "repository" + i,
+                    (long) i % 40,
+                    (long) i % 25,
+                    (long) i % 5));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrderList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+}
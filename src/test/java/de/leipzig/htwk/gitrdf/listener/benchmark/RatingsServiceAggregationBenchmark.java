@@ -0,0 +1,103 @@
+package de.leipzig.htwk.gitrdf.listener.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisCountRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.OrderAnalysisTypeCount;
+import de.leipzig.htwk.gitrdf.listener.service.RatingsService.OrderAnalysisCounts;
+import de.leipzig.htwk.gitrdf.listener.service.impl.RatingsServiceImpl;
+
+/**
+ * Measures the in memory part of the order listing counts, the grouped rows are served by a stubbed repository
+ * which doesn't record invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatingsServiceAggregationBenchmark {
+
+    @Param({"100", "10000"})
+    private int orderCount;
+
+    private RatingsServiceImpl ratingsService;
+
+    private List<Long> orderIds;
+
+    @Setup
+    public void setUp() {
+
+        List<OrderAnalysisTypeCount> groupedCounts = new ArrayList<>();
+
+        for (long orderId = 0; orderId < orderCount; orderId++) {
+            for (AnalysisType analysisType : AnalysisType.values()) {
+                groupedCounts.add(new SyntheticOrderAnalysisTypeCount(orderId, analysisType, orderId % 40, orderId % 20));
+            }
+        }
+
+        GithubRepositoryOrderAnalysisCountRepository analysisCountRepository
+                = mock(GithubRepositoryOrderAnalysisCountRepository.class, withSettings().stubOnly());
+        when(analysisCountRepository.countByOrderIdsGroupedByOrderIdAndAnalysisType(anyCollection()))
+                .thenReturn(groupedCounts);
+
+        ratingsService = new RatingsServiceImpl();
+        ReflectionTestUtils.setField(ratingsService, "analysisCountRepository", analysisCountRepository);
+
+        orderIds = LongStream.range(0, orderCount).boxed().toList();
+    }
+
+    @Benchmark
+    public Map<Long, OrderAnalysisCounts> getAnalysisCountsByOrderIds() {
+        return ratingsService.getAnalysisCountsByOrderIds(orderIds);
+    }
+
+    private record SyntheticOrderAnalysisTypeCount(Long orderId, AnalysisType analysisType, long total, long withRdf)
+            implements OrderAnalysisTypeCount {
+
+        @Override
+        public Long getOrderId() {
+            return orderId;
+        }
+
+        @Override
+        public AnalysisType getAnalysisType() {
+            return analysisType;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+
+        @Override
+        public long getWithRdf() {
+            return withRdf;
+        }
+    }
+
+}
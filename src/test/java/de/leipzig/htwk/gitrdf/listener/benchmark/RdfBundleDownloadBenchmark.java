@@ -0,0 +1,105 @@
+package de.leipzig.htwk.gitrdf.listener.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.rowset.serial.SerialBlob;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.database.common.repository.GithubRepositoryOrderAnalysisRepository;
+import de.leipzig.htwk.gitrdf.listener.repository.projection.AnalysisRdfInfo;
+import de.leipzig.htwk.gitrdf.listener.service.RatingsService.RdfDownloadResult;
+import de.leipzig.htwk.gitrdf.listener.service.impl.RatingsServiceImpl;
+
+/**
+ * Measures assembling and writing an rdf bundle download, the blobs are served from memory by a stubbed repository.
+ * The stubs don't record invocations and the analyses are real entities, so no mocking overhead is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RdfBundleDownloadBenchmark {
+
+    @Param({"10", "100"})
+    private int analysisCount;
+
+    @Param({"4096", "262144"})
+    private int rdfSize;
+
+    private RatingsServiceImpl ratingsService;
+
+    private List<AnalysisRdfInfo> analyses;
+
+    @Setup
+    public void setUp() throws SQLException {
+
+        byte[] rdfContent = new byte[rdfSize];
+        Arrays.fill(rdfContent, (byte) 'x');
+
+        analyses = new ArrayList<>(analysisCount);
+        List<GithubRepositoryOrderAnalysisEntity> entities = new ArrayList<>(analysisCount);
+
+        for (long id = 0; id < analysisCount; id++) {
+            String metricId = "metric" + id;
+
+            analyses.add(new AnalysisRdfInfo(id, metricId, AnalysisType.RATING, 1L, true));
+
+            GithubRepositoryOrderAnalysisEntity entity = new GithubRepositoryOrderAnalysisEntity();
+            ReflectionTestUtils.setField(entity, "id", id);
+            entity.setMetricId(metricId);
+            entity.setAnalysisType(AnalysisType.RATING);
+            entity.setRdfBlob(new SerialBlob(rdfContent));
+            entities.add(entity);
+        }
+
+        GithubRepositoryOrderAnalysisRepository analysisRepository
+                = mock(GithubRepositoryOrderAnalysisRepository.class, withSettings().stubOnly());
+        when(analysisRepository.findAllById(anyIterable())).thenReturn(entities);
+
+        ratingsService = new RatingsServiceImpl();
+        ReflectionTestUtils.setField(ratingsService, "analysisRepository", analysisRepository);
+        ReflectionTestUtils.setField(ratingsService, "transactionManager", mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public void createAndWriteRdfDownload(Blackhole blackhole) throws IOException {
+
+        RdfDownloadResult downloadResult = ratingsService.createRdfDownload(analyses, "benchmark.ttl");
+
+        try (OutputStream outputStream = OutputStream.nullOutputStream()) {
+            downloadResult.getBody().writeTo(outputStream);
+        }
+
+        blackhole.consume(downloadResult.getFileCount());
+    }
+
+}
@@ -0,0 +1,111 @@
+package de.leipzig.htwk.gitrdf.listener.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.listener.api.model.request.composite.filter.RepoFilterRequestModel;
+import de.leipzig.htwk.gitrdf.listener.domain.model.GithubRepositoryFilterCode;
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.GithubRepositoryFilterOption;
+
+class GithubRepositoryFilterFactoryTest {
+
+    private static final int COMMIT_OPTIONS = GithubRepositoryFilterOption.NUMBER_OF_GIT_COMMIT_OPTIONS;
+
+    private static final long ALL_COMMIT_OPTIONS = (1L << COMMIT_OPTIONS) - 1;
+
+    private static final long ALL_ISSUE_OPTIONS
+            = ((1L << GithubRepositoryFilterOption.NUMBER_OF_GITHUB_ISSUE_OPTIONS) - 1) << COMMIT_OPTIONS;
+
+    private final GithubRepositoryFilterFactory factory = new GithubRepositoryFilterFactory();
+
+    // The commit and issue options are encoded and converted independently of each other, so every combination of
+    // one part is checked with the other part fully disabled and fully enabled.
+
+    @Test
+    void everyGitCommitFilterCombinationRoundTrips() {
+
+        Set<String> fingerprints = new HashSet<>();
+
+        for (long commitOptions = 0; commitOptions <= ALL_COMMIT_OPTIONS; commitOptions++) {
+            assertRoundTrip(commitOptions, fingerprints);
+            assertRoundTrip(commitOptions | ALL_ISSUE_OPTIONS, fingerprints);
+        }
+
+        assertThat(fingerprints).hasSize(2 * (1 << COMMIT_OPTIONS));
+    }
+
+    @Test
+    void everyGithubIssueFilterCombinationRoundTrips() {
+
+        Set<String> fingerprints = new HashSet<>();
+
+        for (long issueOptions = 0; issueOptions <= ALL_ISSUE_OPTIONS; issueOptions += 1L << COMMIT_OPTIONS) {
+            assertRoundTrip(issueOptions, fingerprints);
+            assertRoundTrip(issueOptions | ALL_COMMIT_OPTIONS, fingerprints);
+        }
+
+        assertThat(fingerprints).hasSize(2 * (1 << GithubRepositoryFilterOption.NUMBER_OF_GITHUB_ISSUE_OPTIONS));
+    }
+
+    @Test
+    void everyOptionIsEncodedInItsOwnBit() {
+
+        assertThat(GithubRepositoryFilterOption.values())
+                .hasSize(GithubRepositoryFilterOption.NUMBER_OF_GIT_COMMIT_OPTIONS
+                        + GithubRepositoryFilterOption.NUMBER_OF_GITHUB_ISSUE_OPTIONS);
+
+        for (GithubRepositoryFilterOption option : GithubRepositoryFilterOption.values()) {
+
+            GithubRepositoryFilterCode filterCode = GithubRepositoryFilterCode.of(Set.of(option));
+
+            assertThat(filterCode.getEnabledOptions()).containsExactly(option);
+            assertThat(factory.toFilterCode(factory.toRepoFilterRequestModel(filterCode))).isEqualTo(filterCode);
+            assertThat(factory.toFilterCode(factory.fromFilterCode(filterCode))).isEqualTo(filterCode);
+        }
+    }
+
+    @Test
+    void encodesPredefinedFilters() {
+
+        assertThat(factory.toFilterCode((RepoFilterRequestModel) null)).isEqualTo(GithubRepositoryFilterCode.ALL_ENABLED);
+        assertThat(factory.toFilterCode(RepoFilterRequestModel.ENABLED)).isEqualTo(GithubRepositoryFilterCode.ALL_ENABLED);
+        assertThat(factory.toFilterCode(RepoFilterRequestModel.DISABLED)).isEqualTo(GithubRepositoryFilterCode.NONE_ENABLED);
+        assertThat(factory.toFilterCode(GithubRepositoryFilter.ENABLED)).isEqualTo(GithubRepositoryFilterCode.ALL_ENABLED);
+
+        assertThat(GithubRepositoryFilterCode.NONE_ENABLED.areAllOptionsDisabled()).isTrue();
+        assertThat(GithubRepositoryFilterCode.ALL_ENABLED.getFingerprint()).isEqualTo("010000000fffffff");
+    }
+
+    @Test
+    void rejectsCodesOfOtherLayouts() {
+
+        long validCode = GithubRepositoryFilterCode.ALL_ENABLED.getValue();
+
+        assertThatThrownBy(() -> GithubRepositoryFilterCode.of(validCode + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GithubRepositoryFilterCode.of(validCode & ALL_COMMIT_OPTIONS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GithubRepositoryFilterCode.ofFingerprint("0fffffff"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertRoundTrip(long options, Set<String> fingerprints) {
+
+        GithubRepositoryFilterCode filterCode
+                = GithubRepositoryFilterCode.of(GithubRepositoryFilterCode.NONE_ENABLED.getValue() | options);
+
+        assertThat(GithubRepositoryFilterCode.of(filterCode.getEnabledOptions())).isEqualTo(filterCode);
+        assertThat(GithubRepositoryFilterCode.ofFingerprint(filterCode.getFingerprint())).isEqualTo(filterCode);
+        assertThat(factory.toFilterCode(factory.toRepoFilterRequestModel(filterCode))).isEqualTo(filterCode);
+        assertThat(factory.toFilterCode(factory.fromFilterCode(filterCode))).isEqualTo(filterCode);
+
+        fingerprints.add(filterCode.getFingerprint());
+    }
+
+}
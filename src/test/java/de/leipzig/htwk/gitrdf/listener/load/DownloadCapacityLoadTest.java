@@ -0,0 +1,145 @@
+package de.leipzig.htwk.gitrdf.listener.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.leipzig.htwk.gitrdf.listener.load.LoadDriver.ScenarioResult;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Keeps many slow rdf downloads open and measures the listing endpoint meanwhile. Run once with platform threads
+ * and once with virtual threads to compare the concurrent download capacity of both modes.
+ */
+abstract class DownloadCapacityLoadTest {
+
+    private static final String BASE_PATH = "/listener-service/api/v1/github";
+
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    protected abstract String threadMode();
+
+    @Test
+    void listingStaysResponsiveWhileDownloadsAreOpen() throws Exception {
+
+        int concurrentDownloads = Integer.getInteger("load.concurrentDownloads", 50);
+        long readDelayMillis = Long.getLong("load.downloadReadDelayMillis", 20);
+
+        LoadTestSettings settings = new LoadTestSettings(
+                concurrentDownloads,
+                0,
+                List.of(Integer.getInteger("load.downloadSize", 16 * 1024 * 1024)),
+                Integer.getInteger("load.concurrency", 4),
+                Integer.getInteger("load.requestsPerScenario", 500),
+                Integer.getInteger("load.warmupRequestsPerScenario", 50),
+                Long.getLong("load.seed", 42L),
+                Path.of(System.getProperty("load.reportFile", "target/download-capacity-" + threadMode() + ".json")));
+
+        List<Long> orderIds = new LoadTestCorpusSeeder(entityManager, transactionTemplate).seed(settings);
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService downloadClients = Executors.newFixedThreadPool(concurrentDownloads);
+
+        try {
+            long downloadStart = System.nanoTime();
+            List<Future<Long>> downloads = new ArrayList<>(concurrentDownloads);
+
+            for (Long orderId : orderIds) {
+                downloads.add(downloadClients.submit(() -> slowlyDownload(httpClient, orderId, readDelayMillis)));
+            }
+
+            ScenarioResult listing = new LoadDriver(settings.concurrency()).run(
+                    "listing during downloads (" + threadMode() + ")",
+                    settings.warmupRequestsPerScenario(),
+                    settings.requestsPerScenario(),
+                    i -> HttpRequest.newBuilder(uri(BASE_PATH + "?size=100")).GET().build());
+
+            long downloadedBytes = 0;
+            for (Future<Long> download : downloads) {
+                downloadedBytes += download.get();
+            }
+
+            double downloadSeconds = (System.nanoTime() - downloadStart) / 1_000_000_000.0;
+            DownloadCapacityResult result = new DownloadCapacityResult(
+                    threadMode(), concurrentDownloads, downloadedBytes, downloadSeconds, listing);
+
+            System.out.println(result);
+
+            Files.createDirectories(settings.reportFile().toAbsolutePath().getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(settings.reportFile().toFile(), result);
+
+            assertThat(listing.errors()).isZero();
+            assertThat(downloadedBytes).isEqualTo((long) concurrentDownloads * settings.blobSizes().get(0));
+
+        } finally {
+            downloadClients.shutdownNow();
+        }
+    }
+
+    private long slowlyDownload(HttpClient httpClient, long orderId, long readDelayMillis) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(uri(BASE_PATH + "/rdf/download/" + orderId)).GET().build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        long bytes = 0;
+        byte[] buffer = new byte[READ_CHUNK_SIZE];
+
+        try (InputStream body = response.body()) {
+            for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                bytes += read;
+                Thread.sleep(readDelayMillis);
+            }
+        }
+
+        return bytes;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    public record DownloadCapacityResult(
+            String threadMode,
+            int concurrentDownloads,
+            long downloadedBytes,
+            double downloadSeconds,
+            ScenarioResult listing) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d concurrent downloads, %d bytes in %.1fs (%.1f MB/s)%n  %s",
+                    threadMode, concurrentDownloads, downloadedBytes, downloadSeconds,
+                    downloadedBytes / downloadSeconds / (1024 * 1024), listing);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.leipzig.htwk.gitrdf.listener.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import de.leipzig.htwk.gitrdf.listener.load.LoadDriver.ScenarioResult;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Seeds a corpus and drives the listing, queue and download endpoints, run with {@code mvn -Pload-test verify}.
+ * See {@link LoadTestSettings} for the corpus and load settings.
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "listener.scheduling.enabled=false",
+                "logging.level.org.hibernate.SQL=info",
+                "logging.level.de.leipzig.htwk.gitrdf.listener=info"})
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ListenerLoadTest {
+
+    private static final String BASE_PATH = "/listener-service/api/v1/github";
+
+    private static final int BULK_SIZE = 1000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void driveEndpointsAtFixedConcurrency() throws Exception {
+
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Long> orderIds = new LoadTestCorpusSeeder(entityManager, transactionTemplate).seed(settings);
+
+        LoadDriver driver = new LoadDriver(settings.concurrency());
+        int warmup = settings.warmupRequestsPerScenario();
+        int requests = settings.requestsPerScenario();
+
+        List<ScenarioResult> results = new ArrayList<>();
+
+        results.add(driver.run("github listing", warmup, requests,
+                i -> get(BASE_PATH + "?size=100")));
+
+        results.add(driver.run("queue", warmup, requests,
+                i -> HttpRequest.newBuilder(uri(BASE_PATH + "/queue"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"owner\": \"queued-owner" + i + "\", \"repository\": \"queued-repository\"}"))
+                        .build()));
+
+        int bulkRequests = Math.max(1, requests / BULK_SIZE);
+        results.add(driver.run("bulk queue (" + BULK_SIZE + " per request)", Math.max(1, warmup / BULK_SIZE), bulkRequests,
+                i -> HttpRequest.newBuilder(uri(BASE_PATH + "/queue/bulk"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(createBulkQueueBody(i)))
+                        .build()));
+
+        results.add(driver.run("ratings download", warmup, requests,
+                i -> get(BASE_PATH + "/rdf/ratings/download/" + orderIds.get(i % orderIds.size()))));
+
+        results.add(driver.run("rdf download", warmup, requests,
+                i -> get(BASE_PATH + "/rdf/download/" + orderIds.get(i % orderIds.size()))));
+
+        results.forEach(System.out::println);
+
+        Files.createDirectories(settings.reportFile().toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(settings.reportFile().toFile(), results);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private static String createBulkQueueBody(int request) {
+
+        StringBuilder body = new StringBuilder("{\"repositories\": [");
+
+        for (int i = 0; i < BULK_SIZE; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"owner\": \"bulk-owner").append(request)
+                    .append("\", \"repository\": \"bulk-repository").append(i).append("\"}");
+        }
+
+        return body.append("]}").toString();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+}
@@ -0,0 +1,136 @@
+package de.leipzig.htwk.gitrdf.listener.load;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Sends requests at a fixed concurrency and measures latency, throughput and the heap high-water mark.
+ * The service runs in the same JVM, so the heap high-water mark includes the (small) client side.
+ */
+public class LoadDriver {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private final int concurrency;
+
+    public LoadDriver(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public ScenarioResult run(String scenario, int warmupRequests, int requests, IntFunction<HttpRequest> requestFactory)
+            throws Exception {
+
+        send(warmupRequests, requestFactory, new long[warmupRequests]);
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long[] latencies = new long[requests];
+        long start = System.nanoTime();
+        int errors = send(requests, requestFactory, latencies);
+        long durationNanos = System.nanoTime() - start;
+
+        long heapHighWaterBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        Arrays.sort(latencies);
+
+        return new ScenarioResult(
+                scenario,
+                requests,
+                errors,
+                concurrency,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                requests / (durationNanos / 1_000_000_000.0),
+                heapHighWaterBytes / (1024 * 1024));
+    }
+
+    private int send(int requests, IntFunction<HttpRequest> requestFactory, long[] latencies) throws Exception {
+
+        AtomicInteger nextRequest = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(concurrency);
+
+        try {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.add(executorService.submit(() -> {
+                    for (int i = nextRequest.getAndIncrement(); i < requests; i = nextRequest.getAndIncrement()) {
+                        latencies[i] = sendAndMeasure(requestFactory.apply(i), errors);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+
+        } finally {
+            executorService.shutdown();
+        }
+
+        return errors.get();
+    }
+
+    private long sendAndMeasure(HttpRequest request, AtomicInteger errors) throws IOException, InterruptedException {
+
+        long start = System.nanoTime();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        long latency = System.nanoTime() - start;
+
+        if (response.statusCode() >= 400) {
+            errors.incrementAndGet();
+        }
+
+        return latency;
+    }
+
+    private static double percentileMillis(long[] sortedLatencies, double percentile) {
+
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    public record ScenarioResult(
+            String scenario,
+            int requests,
+            int errors,
+            int concurrency,
+            double p50Millis,
+            double p99Millis,
+            double requestsPerSecond,
+            long heapHighWaterMegabytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%-20s requests=%d errors=%d concurrency=%d p50=%.2fms p99=%.2fms throughput=%.1f/s heapHighWater=%dMB",
+                    scenario, requests, errors, concurrency, p50Millis, p99Millis, requestsPerSecond, heapHighWaterMegabytes);
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package de.leipzig.htwk.gitrdf.listener.load;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.database.common.entity.lob.GithubRepositoryOrderEntityLobs;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Seeds finished orders with rdf files and analyses, the blob sizes are drawn from the configured sizes.
+ */
+public class LoadTestCorpusSeeder {
+
+    private static final int ORDERS_PER_TRANSACTION = 100;
+
+    private static final byte[] RDF_LINE
+            = "<urn:load:subject> <urn:load:predicate> \"load test object\" .\n".getBytes(StandardCharsets.UTF_8);
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public LoadTestCorpusSeeder(EntityManager entityManager, TransactionTemplate transactionTemplate) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @return the ids of the seeded orders
+     */
+    public List<Long> seed(LoadTestSettings settings) {
+
+        Random random = new Random(settings.seed());
+        List<Long> orderIds = new ArrayList<>(settings.orders());
+
+        for (int first = 0; first < settings.orders(); first += ORDERS_PER_TRANSACTION) {
+
+            int last = Math.min(first + ORDERS_PER_TRANSACTION, settings.orders());
+            int batchStart = first;
+
+            transactionTemplate.executeWithoutResult(status -> {
+
+                for (int i = batchStart; i < last; i++) {
+                    orderIds.add(seedOrder(i, settings, random));
+
+                    // releases the blob contents of the order, they can be many megabytes
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            });
+        }
+
+        return orderIds;
+    }
+
+    private long seedOrder(int index, LoadTestSettings settings, Random random) {
+
+        GithubRepositoryOrderEntity order
+                = GithubRepositoryOrderEntity.newOrder("load-owner" + index, "load-repository" + index, GithubRepositoryFilter.DEFAULT);
+        order.setStatus(GitRepositoryOrderStatus.DONE);
+        entityManager.persist(order);
+
+        GithubRepositoryOrderEntityLobs lobs = new GithubRepositoryOrderEntityLobs();
+        lobs.setOrderEntity(order);
+        lobs.setRdfFile(BlobProxy.generateProxy(createRdfContent(settings, random)));
+        entityManager.persist(lobs);
+
+        AnalysisType[] analysisTypes = AnalysisType.values();
+
+        for (int i = 0; i < settings.analysesPerOrder(); i++) {
+            GithubRepositoryOrderAnalysisEntity analysis = new GithubRepositoryOrderAnalysisEntity();
+            analysis.setGithubRepositoryOrder(order);
+            analysis.setMetricId("load-metric" + i);
+            analysis.setAnalysisType(analysisTypes[i % analysisTypes.length]);
+            analysis.setRdfBlob(BlobProxy.generateProxy(createRdfContent(settings, random)));
+            entityManager.persist(analysis);
+        }
+
+        return order.getId();
+    }
+
+    private static byte[] createRdfContent(LoadTestSettings settings, Random random) {
+
+        int size = settings.blobSizes().get(random.nextInt(settings.blobSizes().size()));
+        byte[] content = new byte[size];
+
+        for (int i = 0; i < size; i++) {
+            content[i] = RDF_LINE[i % RDF_LINE.length];
+        }
+
+        return content;
+    }
+
+}
@@ -0,0 +1,39 @@
+package de.leipzig.htwk.gitrdf.listener.load;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Corpus and load settings of the load test, configurable with system properties, e.g. {@code -Dload.orders=10000}.
+ */
+public record LoadTestSettings(
+        int orders,
+        int analysesPerOrder,
+        List<Integer> blobSizes,
+        int concurrency,
+        int requestsPerScenario,
+        int warmupRequestsPerScenario,
+        long seed,
+        Path reportFile) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.orders", 1000),
+                Integer.getInteger("load.analysesPerOrder", 6),
+                parseSizes(System.getProperty("load.blobSizes", "1024,16384,262144")),
+                Integer.getInteger("load.concurrency", 16),
+                Integer.getInteger("load.requestsPerScenario", 2000),
+                Integer.getInteger("load.warmupRequestsPerScenario", 200),
+                Long.getLong("load.seed", 42L),
+                Path.of(System.getProperty("load.reportFile", "target/load-test-report.json")));
+    }
+
+    private static List<Integer> parseSizes(String sizes) {
+        return Arrays.stream(sizes.split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+}
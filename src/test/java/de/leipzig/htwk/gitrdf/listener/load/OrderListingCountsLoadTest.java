@@ -0,0 +1,152 @@
+package de.leipzig.htwk.gitrdf.listener.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.database.common.repository.GithubRepositoryOrderAnalysisRepository;
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import de.leipzig.htwk.gitrdf.listener.service.RatingsService;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Compares the analysis counts of an order listing page before and after the grouped count query, i.e. the former
+ * three count queries and analysis load per order against one {@link RatingsService#getAnalysisCountsByOrderIds} per
+ * page, run with {@code mvn -Pload-test verify -Dload.orders=10000}.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "listener.scheduling.enabled=false",
+        "logging.level.org.hibernate.SQL=info",
+        "logging.level.de.leipzig.htwk.gitrdf.listener=info"})
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class OrderListingCountsLoadTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private RatingsService ratingsService;
+
+    @Autowired
+    private GithubRepositoryOrderAnalysisRepository analysisRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareCountsPerOrderWithGroupedCounts() throws Exception {
+
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Long> orderIds = new LoadTestCorpusSeeder(entityManager, transactionTemplate).seed(settings);
+
+        List<List<Long>> pages = partition(orderIds);
+
+        Consumer<List<Long>> perOrder = page -> page.forEach(this::countPerOrder);
+        Consumer<List<Long>> grouped = ratingsService::getAnalysisCountsByOrderIds;
+
+        // warmup
+        measure("per order", pages, perOrder);
+        measure("grouped", pages, grouped);
+
+        List<CountsResult> results = List.of(
+                measure("per order", pages, perOrder),
+                measure("grouped", pages, grouped));
+
+        results.forEach(System.out::println);
+
+        Path reportFile = settings.reportFile().resolveSibling("order-listing-counts-report.json");
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), results);
+
+        Map<Long, RatingsService.OrderAnalysisCounts> counts = ratingsService.getAnalysisCountsByOrderIds(pages.get(0));
+
+        assertThat(pages.get(0)).allSatisfy(orderId -> {
+            RatingsService.OrderAnalysisCounts orderCounts
+                    = counts.getOrDefault(orderId, RatingsService.OrderAnalysisCounts.EMPTY);
+
+            assertThat(orderCounts.getTotalRatings()).isEqualTo(countPerOrder(orderId)[0]);
+            assertThat(orderCounts.getTotalStatistics()).isEqualTo(countPerOrder(orderId)[1]);
+            assertThat(orderCounts.getTotalExperts()).isEqualTo(countPerOrder(orderId)[2]);
+        });
+    }
+
+    /**
+     * The queries the listing ran per order before the grouped count query.
+     */
+    private long[] countPerOrder(long orderId) {
+
+        long ratings = analysisRepository.countByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.RATING);
+        long statistics = analysisRepository.countByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.STATISTIC);
+        long experts = analysisRepository.countByGithubRepositoryOrderIdAndAnalysisType(orderId, AnalysisType.EXPERT);
+
+        // the former unique metric and "with rdf" counters read all analyses of the order
+        analysisRepository.findAllByGithubRepositoryOrderId(orderId);
+
+        return new long[] {ratings, statistics, experts};
+    }
+
+    private static CountsResult measure(String variant, List<List<Long>> pages, Consumer<List<Long>> countPage) {
+
+        long[] latencies = new long[pages.size() * ROUNDS];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < pages.size(); i++) {
+                long start = System.nanoTime();
+                countPage.accept(pages.get(i));
+                latencies[round * pages.size() + i] = System.nanoTime() - start;
+            }
+        }
+
+        Arrays.sort(latencies);
+
+        return new CountsResult(variant, pages.size() * ROUNDS, PAGE_SIZE,
+                percentileMillis(latencies, 0.5), percentileMillis(latencies, 0.99));
+    }
+
+    private static List<List<Long>> partition(List<Long> orderIds) {
+
+        int pageCount = (orderIds.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+
+        return IntStream.range(0, pageCount)
+                .mapToObj(page -> orderIds.subList(page * PAGE_SIZE, Math.min((page + 1) * PAGE_SIZE, orderIds.size())))
+                .toList();
+    }
+
+    private static double percentileMillis(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    public record CountsResult(String variant, int pages, int pageSize, double p50Millis, double p99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-10s pages=%d pageSize=%d p50=%.2fms p99=%.2fms",
+                    variant, pages, pageSize, p50Millis, p99Millis);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package de.leipzig.htwk.gitrdf.listener.load;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.threads.virtual.enabled=false",
+                "server.tomcat.threads.max=${load.tomcatMaxThreads:50}",
+                // only the thread type differs, the downloads aren't capped by the limiter, connections or executor
+                "listener.download.max-concurrent=${load.concurrentDownloads:50}",
+                "listener.download.executor.pool-size=${load.concurrentDownloads:50}",
+                "spring.datasource.hikari.maximum-pool-size=${load.databaseConnections:64}",
+                "listener.scheduling.enabled=false",
+                "logging.level.org.hibernate.SQL=info",
+                "logging.level.de.leipzig.htwk.gitrdf.listener=info"})
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class PlatformThreadDownloadCapacityLoadTest extends DownloadCapacityLoadTest {
+
+    @Override
+    protected String threadMode() {
+        return "platform-threads";
+    }
+
+}
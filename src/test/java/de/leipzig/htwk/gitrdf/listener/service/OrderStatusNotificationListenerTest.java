@@ -0,0 +1,160 @@
+package de.leipzig.htwk.gitrdf.listener.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "listener.scheduling.enabled=false")
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class OrderStatusNotificationListenerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderStatusNotificationListener orderStatusNotificationListener;
+
+    @Autowired
+    private OrderStatusEventPublisher orderStatusEventPublisher;
+
+    @Test
+    void pushesStatusTransitionsUntilTheOrderIsDone() throws Exception {
+
+        awaitListening();
+
+        long orderId = persistOrder();
+
+        BlockingQueue<String> data = new LinkedBlockingQueue<>();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(String.format(
+                        "http://localhost:%d/listener-service/api/v1/github/orders/%d/events", port, orderId)))
+                .header("Accept", "text/event-stream")
+                .build();
+
+        CompletableFuture<HttpResponse<Void>> response = HttpClient.newHttpClient().sendAsync(
+                request,
+                HttpResponse.BodyHandlers.fromLineSubscriber(new DataLineSubscriber(data)));
+
+        assertThat(data.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).contains(GitRepositoryOrderStatus.RECEIVED.name());
+
+        updateStatus(orderId, GitRepositoryOrderStatus.PROCESSING);
+        assertThat(data.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).contains(GitRepositoryOrderStatus.PROCESSING.name());
+
+        updateStatus(orderId, GitRepositoryOrderStatus.DONE);
+        assertThat(data.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).contains(GitRepositoryOrderStatus.DONE.name());
+
+        // the stream ends with the done order
+        assertThat(response.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void answersWaitingAvailabilityCheckWhenTheOrderIsDone() throws Exception {
+
+        awaitListening();
+
+        long orderId = persistOrder();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(String.format(
+                        "http://localhost:%d/listener-service/api/v1/github/rdf/%d?waitSeconds=%d",
+                        port, orderId, TIMEOUT.toSeconds())))
+                .build();
+
+        CompletableFuture<HttpResponse<String>> response
+                = HttpClient.newHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofString());
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+
+        while (orderStatusEventPublisher.getWaitingCount() == 0) {
+            assertThat(System.nanoTime()).as("request is waiting").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+
+        updateStatus(orderId, GitRepositoryOrderStatus.DONE);
+
+        assertThat(response.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+    }
+
+    private long persistOrder() {
+        return transactionTemplate.execute(status -> {
+            GithubRepositoryOrderEntity order
+                    = GithubRepositoryOrderEntity.newOrder("owner", "repository", GithubRepositoryFilter.DEFAULT);
+            entityManager.persist(order);
+            return order.getId();
+        });
+    }
+
+    private void awaitListening() throws InterruptedException {
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+
+        while (!orderStatusNotificationListener.isListening()) {
+            assertThat(System.nanoTime()).as("listening for notifications").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private void updateStatus(long orderId, GitRepositoryOrderStatus status) {
+        transactionTemplate.executeWithoutResult(transaction ->
+                entityManager.find(GithubRepositoryOrderEntity.class, orderId).setStatus(status));
+    }
+
+    private record DataLineSubscriber(BlockingQueue<String> data) implements Flow.Subscriber<String> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("data:")) {
+                data.add(line);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // the response future completes exceptionally
+        }
+
+        @Override
+        public void onComplete() {
+            // the response future completes
+        }
+    }
+
+}
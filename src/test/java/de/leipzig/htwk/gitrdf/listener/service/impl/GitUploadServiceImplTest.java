@@ -0,0 +1,178 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GitRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
+import de.leipzig.htwk.gitrdf.listener.api.exception.NotFoundException;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GitUploadSessionEntity;
+import de.leipzig.htwk.gitrdf.listener.service.GitUploadService;
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest(properties = {"listener.scheduling.enabled=false", "listener.upload.chunk-size=1KB"})
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class GitUploadServiceImplTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    @Autowired
+    private GitUploadService gitUploadService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void uploadZipQueuesOrderAndRejectsInvalidSize() throws IOException {
+
+        byte[] zipFile = dotGitZip();
+
+        long orderId = gitUploadService.uploadZip(new ByteArrayInputStream(zipFile), zipFile.length, "upload.zip");
+
+        assertThat(transactionTemplate.execute(status -> entityManager.find(GitRepositoryOrderEntity.class, orderId)))
+                .isNotNull();
+        assertThatThrownBy(() -> gitUploadService.uploadZip(new ByteArrayInputStream(zipFile), -1, "upload.zip"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void initUploadSplitsTheFileIntoChunks() {
+
+        GitUploadSessionEntity session = gitUploadService.initUpload("upload.zip", 3 * CHUNK_SIZE + 1);
+
+        assertThat(session.getChunkCount()).isEqualTo(4);
+        assertThat(session.getChunkLength(3)).isEqualTo(1);
+        assertThat(gitUploadService.getUpload(session.getId()).getMissingChunks()).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void uploadChunkRejectsChecksumMismatch() {
+
+        byte[] zipFile = dotGitZip();
+        String uploadId = gitUploadService.initUpload("upload.zip", zipFile.length).getId();
+        byte[] chunk = chunk(zipFile, 0);
+
+        assertThatThrownBy(() -> gitUploadService.uploadChunk(
+                uploadId, 0, new ByteArrayInputStream(chunk), chunk.length, sha256(new byte[0])))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThat(gitUploadService.getUpload(uploadId).getMissingChunks()).contains(0);
+    }
+
+    @Test
+    void resumedUploadCompletesIntoQueuedOrder() throws IOException {
+
+        byte[] zipFile = dotGitZip();
+        String uploadId = gitUploadService.initUpload("upload.zip", zipFile.length).getId();
+        int chunkCount = gitUploadService.getUpload(uploadId).getChunkCount();
+
+        assertThat(chunkCount).isGreaterThan(2);
+
+        // an interrupted upload leaves a gap, which is listed and sent again on resume
+        uploadChunk(uploadId, zipFile, 0);
+        for (int index = 2; index < chunkCount; index++) {
+            uploadChunk(uploadId, zipFile, index);
+        }
+
+        assertThat(gitUploadService.getUpload(uploadId).getMissingChunks()).containsExactly(1);
+        assertThatThrownBy(() -> gitUploadService.completeUpload(uploadId)).isInstanceOf(BadRequestException.class);
+
+        uploadChunk(uploadId, zipFile, 1);
+
+        assertThat(gitUploadService.getUpload(uploadId).getMissingChunks()).isEmpty();
+
+        long orderId = gitUploadService.completeUpload(uploadId);
+
+        assertThat(transactionTemplate.execute(status -> entityManager.find(GitRepositoryOrderEntity.class, orderId)))
+                .isNotNull();
+        assertThatThrownBy(() -> gitUploadService.getUpload(uploadId)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void deleteExpiredUploadsRemovesOnlyExpiredUploads() {
+
+        String expiredUploadId = gitUploadService.initUpload("expired.zip", CHUNK_SIZE).getId();
+        String activeUploadId = gitUploadService.initUpload("active.zip", CHUNK_SIZE).getId();
+
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .find(GitUploadSessionEntity.class, expiredUploadId)
+                .setUpdatedAt(Instant.now().minus(Duration.ofDays(2))));
+
+        gitUploadService.deleteExpiredUploads();
+
+        assertThatThrownBy(() -> gitUploadService.getUpload(expiredUploadId)).isInstanceOf(NotFoundException.class);
+        assertThat(gitUploadService.getUpload(activeUploadId)).isNotNull();
+    }
+
+    private void uploadChunk(String uploadId, byte[] zipFile, int index) throws IOException {
+        byte[] chunk = chunk(zipFile, index);
+        gitUploadService.uploadChunk(uploadId, index, new ByteArrayInputStream(chunk), chunk.length, sha256(chunk));
+    }
+
+    private static byte[] chunk(byte[] file, int index) {
+        return Arrays.copyOfRange(file, index * CHUNK_SIZE, Math.min((index + 1) * CHUNK_SIZE, file.length));
+    }
+
+    private static byte[] dotGitZip() {
+
+        ByteArrayOutputStream zipFile = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipFile)) {
+
+            zipOutputStream.putNextEntry(new ZipEntry(".git/"));
+            zipOutputStream.closeEntry();
+
+            zipOutputStream.putNextEntry(new ZipEntry(".git/HEAD"));
+            zipOutputStream.write("ref: refs/heads/main\n".getBytes());
+            zipOutputStream.closeEntry();
+
+            // random content doesn't compress, so the zip file spans several chunks
+            byte[] pack = new byte[4 * CHUNK_SIZE];
+            new Random(42).nextBytes(pack);
+            zipOutputStream.putNextEntry(new ZipEntry(".git/objects/pack/pack-1.pack"));
+            zipOutputStream.write(pack);
+            zipOutputStream.closeEntry();
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return zipFile.toByteArray();
+    }
+
+    private static String sha256(byte[] content) {
+
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
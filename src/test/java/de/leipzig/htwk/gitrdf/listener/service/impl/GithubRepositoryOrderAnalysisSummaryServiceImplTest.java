@@ -0,0 +1,113 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.GithubRepositoryOrderAnalysisSummaryEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.GithubRepositoryOrderAnalysisSummaryRepository;
+import de.leipzig.htwk.gitrdf.listener.service.GithubRepositoryOrderAnalysisSummaryService;
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest(properties = "listener.scheduling.enabled=false")
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class GithubRepositoryOrderAnalysisSummaryServiceImplTest {
+
+    @Autowired
+    private GithubRepositoryOrderAnalysisSummaryService summaryService;
+
+    @Autowired
+    private GithubRepositoryOrderAnalysisSummaryRepository summaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void unknownOrderHasNoSummaryAndNothingIsStored() {
+
+        long unknownOrderId = Long.MAX_VALUE;
+
+        assertThat(summaryService.getOrRefreshSummary(unknownOrderId)).isEmpty();
+        assertThat(summaryRepository.existsById(unknownOrderId)).isFalse();
+    }
+
+    @Test
+    void refreshCountsRdfBlobsStoredAfterTheAnalysis() {
+
+        long orderId = seedOrder();
+        long analysisId = seedAnalysis(orderId);
+
+        assertThat(summaryService.getOrRefreshSummary(orderId))
+                .hasValueSatisfying(summary -> assertThat(summary.getRatingsWithRdf()).isZero());
+
+        // the analysis id stays the same, only the change trigger reveals the update
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .find(GithubRepositoryOrderAnalysisEntity.class, analysisId)
+                .setRdfBlob(BlobProxy.generateProxy("<urn:s> <urn:p> <urn:o> .".getBytes(StandardCharsets.UTF_8))));
+
+        summaryService.refreshChangedOrders();
+
+        GithubRepositoryOrderAnalysisSummaryEntity summary = summaryRepository.findById(orderId).orElseThrow();
+        assertThat(summary.getTotalRatings()).isEqualTo(1);
+        assertThat(summary.getRatingsWithRdf()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshRemovesSummariesOfDeletedOrders() {
+
+        long orderId = seedOrder();
+        seedAnalysis(orderId);
+
+        summaryService.refreshChangedOrders();
+        assertThat(summaryRepository.existsById(orderId)).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from GithubRepositoryOrderAnalysisEntity a where a.githubRepositoryOrder.id = :orderId")
+                    .setParameter("orderId", orderId)
+                    .executeUpdate();
+            entityManager.remove(entityManager.find(GithubRepositoryOrderEntity.class, orderId));
+        });
+
+        summaryService.refreshChangedOrders();
+
+        assertThat(summaryRepository.existsById(orderId)).isFalse();
+    }
+
+    private long seedOrder() {
+        return transactionTemplate.execute(status -> {
+            GithubRepositoryOrderEntity order
+                    = GithubRepositoryOrderEntity.newOrder("summary-owner", "summary-repository", GithubRepositoryFilter.DEFAULT);
+            entityManager.persist(order);
+            return order.getId();
+        });
+    }
+
+    private long seedAnalysis(long orderId) {
+        return transactionTemplate.execute(status -> {
+            GithubRepositoryOrderAnalysisEntity analysis = new GithubRepositoryOrderAnalysisEntity();
+            analysis.setGithubRepositoryOrder(entityManager.getReference(GithubRepositoryOrderEntity.class, orderId));
+            analysis.setMetricId("summaryMetric");
+            analysis.setAnalysisType(AnalysisType.RATING);
+            entityManager.persist(analysis);
+            return analysis.getId();
+        });
+    }
+
+}
@@ -0,0 +1,94 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.GitRepositoryOrderStatus;
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import de.leipzig.htwk.gitrdf.listener.api.exception.BadRequestException;
+import de.leipzig.htwk.gitrdf.listener.service.GithubService;
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest(properties = "listener.scheduling.enabled=false")
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class GithubServiceImplIdempotencyKeyTest {
+
+    private static final String OWNER = "idempotency-owner";
+
+    @Autowired
+    private GithubService githubService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void sameKeyAndBodyReturnsTheFirstOrder() {
+
+        String key = UUID.randomUUID().toString();
+        String repository = uniqueRepository();
+
+        long firstId = githubService.insertGithubRepositoryIntoQueue(OWNER, repository, GithubRepositoryFilter.DEFAULT, key);
+        markDone(firstId);
+
+        long repeatedId = githubService.insertGithubRepositoryIntoQueue(OWNER, repository, GithubRepositoryFilter.DEFAULT, key);
+
+        assertThat(repeatedId).isEqualTo(firstId);
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsABadRequest() {
+
+        String key = UUID.randomUUID().toString();
+
+        githubService.insertGithubRepositoryIntoQueue(OWNER, uniqueRepository(), GithubRepositoryFilter.DEFAULT, key);
+
+        assertThatThrownBy(() -> githubService.insertGithubRepositoryIntoQueue(
+                OWNER, uniqueRepository(), GithubRepositoryFilter.DEFAULT, key))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void keyAnsweredWithAPendingOrderKeepsReturningIt() {
+
+        String key = UUID.randomUUID().toString();
+        String repository = uniqueRepository();
+
+        long pendingId = githubService.insertGithubRepositoryIntoQueue(OWNER, repository, GithubRepositoryFilter.DEFAULT, null);
+        long idOfKey = githubService.insertGithubRepositoryIntoQueue(OWNER, repository, GithubRepositoryFilter.DEFAULT, key);
+
+        assertThat(idOfKey).isEqualTo(pendingId);
+
+        // no longer pending, a retry without the stored key would queue a new order
+        markDone(pendingId);
+
+        long retriedId = githubService.insertGithubRepositoryIntoQueue(OWNER, repository, GithubRepositoryFilter.DEFAULT, key);
+
+        assertThat(retriedId).isEqualTo(pendingId);
+    }
+
+    private void markDone(long orderId) {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .find(GithubRepositoryOrderEntity.class, orderId)
+                .setStatus(GitRepositoryOrderStatus.DONE));
+    }
+
+    private static String uniqueRepository() {
+        return "repository-" + UUID.randomUUID();
+    }
+
+}
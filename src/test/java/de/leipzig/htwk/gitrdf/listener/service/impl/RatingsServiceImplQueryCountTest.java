@@ -0,0 +1,120 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Consumer;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import de.leipzig.htwk.gitrdf.listener.service.RatingsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "listener.scheduling.enabled=false"})
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class RatingsServiceImplQueryCountTest {
+
+    private static final String METRIC_ID = "commitMessageQuality";
+
+    private static final long MAX_STATEMENTS_PER_CALL = 2;
+
+    @Autowired
+    private RatingsService ratingsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void metricStatisticsAreReadFromTheRollupWithASingleStatement() {
+
+        seedOrders(5);
+        ratingsService.getMetricStatistics(METRIC_ID); // computes and stores the rollup
+
+        seedOrders(50);
+
+        assertThat(countStatements(service -> service.getMetricStatistics(METRIC_ID))).isEqualTo(1);
+    }
+
+    @Test
+    void metricBasedOperationsUseBoundedNumberOfStatementsIndependentOfOrderCount() {
+
+        seedOrders(5);
+        long[] statementsWithFewOrders = countStatementsOfMetricOperations();
+
+        seedOrders(50);
+        long[] statementsWithManyOrders = countStatementsOfMetricOperations();
+
+        assertThat(statementsWithManyOrders).containsExactly(statementsWithFewOrders);
+        assertThat(statementsWithManyOrders).allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(MAX_STATEMENTS_PER_CALL));
+    }
+
+    private long[] countStatementsOfMetricOperations() {
+        return new long[] {
+                countStatements(service -> service.getRatingsByMetricId(METRIC_ID)),
+                countStatements(service -> service.getStatisticsByMetricId(METRIC_ID)),
+                countStatements(RatingsService::getAllMetricIds),
+                countStatements(service -> service.getOrderIdsByMetricId(METRIC_ID)),
+                countStatements(RatingsService::getOrderIdsWithExperts)
+        };
+    }
+
+    private long countStatements(Consumer<RatingsService> operation) {
+        statistics.clear();
+        operation.accept(ratingsService);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedOrders(int numberOfOrders) {
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            for (int i = 0; i < numberOfOrders; i++) {
+
+                GithubRepositoryOrderEntity order
+                        = GithubRepositoryOrderEntity.newOrder("owner" + i, "repository" + i, GithubRepositoryFilter.DEFAULT);
+                entityManager.persist(order);
+
+                for (AnalysisType analysisType : AnalysisType.values()) {
+                    GithubRepositoryOrderAnalysisEntity analysis = new GithubRepositoryOrderAnalysisEntity();
+                    analysis.setGithubRepositoryOrder(order);
+                    // metric ids are unique per order, so only the ratings share the queried metric id
+                    analysis.setMetricId(analysisType == AnalysisType.RATING
+                            ? METRIC_ID
+                            : METRIC_ID + "-" + analysisType.name().toLowerCase());
+                    analysis.setAnalysisType(analysisType);
+                    entityManager.persist(analysis);
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,240 @@
+package de.leipzig.htwk.gitrdf.listener.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryFilter;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderAnalysisEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.GithubRepositoryOrderEntity;
+import de.leipzig.htwk.gitrdf.database.common.entity.enums.AnalysisType;
+import de.leipzig.htwk.gitrdf.database.common.entity.lob.GithubRepositoryOrderEntityLobs;
+import de.leipzig.htwk.gitrdf.listener.TestListenerApplication;
+import de.leipzig.htwk.gitrdf.listener.domain.entity.RdfBlobEntity;
+import de.leipzig.htwk.gitrdf.listener.repository.RdfBlobRepository;
+import de.leipzig.htwk.gitrdf.listener.service.GithubService;
+import de.leipzig.htwk.gitrdf.listener.service.RdfBlobDeduplicationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "listener.scheduling.enabled=false")
+@Import(TestListenerApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class RdfBlobDeduplicationServiceImplTest {
+
+    @Autowired
+    private RdfBlobDeduplicationService deduplicationService;
+
+    @Autowired
+    private RdfBlobRepository rdfBlobRepository;
+
+    @Autowired
+    private GithubService githubService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void registersBlobWithUnseenContent() {
+
+        String rdf = uniqueRdf();
+        long orderId = persistOrder(rdf.getBytes(StandardCharsets.UTF_8));
+
+        deduplicationService.deduplicateStoredRdfBlobs();
+
+        RdfBlobEntity rdfBlob = rdfBlobRepository.findById(sha256(rdf)).orElseThrow();
+
+        assertThat(rdfBlob.getReferenceCount()).isEqualTo(1);
+        assertThat(rdfBlob.getLargeObjectId()).isEqualTo(rdfFileLargeObjectId(orderId));
+    }
+
+    @Test
+    void deduplicatesEqualBlobsAndDeletesTheLargeObjectWithItsLastReference() {
+
+        String rdf = uniqueRdf();
+        long firstOrderId = persistOrder(rdf.getBytes(StandardCharsets.UTF_8));
+        long secondOrderId = persistOrder(rdf.getBytes(StandardCharsets.UTF_8));
+        long duplicateLargeObjectId = rdfFileLargeObjectId(secondOrderId);
+
+        assertThat(deduplicationService.deduplicateStoredRdfBlobs()).isPositive();
+
+        RdfBlobEntity rdfBlob = rdfBlobRepository.findById(sha256(rdf)).orElseThrow();
+        long sharedLargeObjectId = rdfBlob.getLargeObjectId();
+
+        assertThat(rdfBlob.getReferenceCount()).isEqualTo(2);
+        assertThat(rdfFileLargeObjectId(firstOrderId)).isEqualTo(sharedLargeObjectId);
+        assertThat(rdfFileLargeObjectId(secondOrderId)).isEqualTo(sharedLargeObjectId);
+        assertThat(largeObjectExists(duplicateLargeObjectId)).isFalse();
+
+        githubService.completeDelete(firstOrderId);
+
+        assertThat(rdfBlobRepository.findById(sha256(rdf))).hasValueSatisfying(
+                remainingBlob -> assertThat(remainingBlob.getReferenceCount()).isEqualTo(1));
+        assertThat(largeObjectExists(sharedLargeObjectId)).isTrue();
+
+        githubService.completeDelete(secondOrderId);
+
+        assertThat(rdfBlobRepository.findById(sha256(rdf))).isEmpty();
+        assertThat(largeObjectExists(sharedLargeObjectId)).isFalse();
+    }
+
+    @Test
+    void deduplicatesCompressedCopyOfAnUncompressedBlob() {
+
+        String rdf = uniqueRdf();
+        long uncompressedOrderId = persistOrder(rdf.getBytes(StandardCharsets.UTF_8));
+        long compressedOrderId = persistOrder(gzip(rdf));
+
+        deduplicationService.deduplicateStoredRdfBlobs();
+
+        RdfBlobEntity rdfBlob = rdfBlobRepository.findById(sha256(rdf)).orElseThrow();
+
+        assertThat(rdfBlob.getReferenceCount()).isEqualTo(2);
+        assertThat(rdfBlob.getContentLength()).isEqualTo(rdf.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(rdfFileLargeObjectId(compressedOrderId)).isEqualTo(rdfFileLargeObjectId(uncompressedOrderId));
+    }
+
+    @Test
+    void releasesReferenceOfDeletedAnalysis() {
+
+        String rdf = uniqueRdf();
+        long orderId = persistOrder(rdf.getBytes(StandardCharsets.UTF_8));
+        long analysisId = persistAnalysis(orderId, rdf.getBytes(StandardCharsets.UTF_8));
+
+        deduplicationService.deduplicateStoredRdfBlobs();
+
+        assertThat(rdfBlobRepository.findById(sha256(rdf)).orElseThrow().getReferenceCount()).isEqualTo(2);
+
+        // analyses are deleted by other services, the trigger releases their reference
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("delete from GithubRepositoryOrderAnalysisEntity a where a.id = :analysisId")
+                .setParameter("analysisId", analysisId)
+                .executeUpdate());
+
+        RdfBlobEntity rdfBlob = rdfBlobRepository.findById(sha256(rdf)).orElseThrow();
+
+        assertThat(rdfBlob.getReferenceCount()).isEqualTo(1);
+        assertThat(largeObjectExists(rdfBlob.getLargeObjectId())).isTrue();
+    }
+
+    @Test
+    void releasesReferenceOfReplacedRdfFile() {
+
+        String rdf = uniqueRdf();
+        long firstOrderId = persistOrder(rdf.getBytes(StandardCharsets.UTF_8));
+        persistOrder(rdf.getBytes(StandardCharsets.UTF_8));
+
+        deduplicationService.deduplicateStoredRdfBlobs();
+
+        assertThat(rdfBlobRepository.findById(sha256(rdf)).orElseThrow().getReferenceCount()).isEqualTo(2);
+
+        // rdf files are replaced by other services as well, the trigger releases the reference
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .find(GithubRepositoryOrderEntityLobs.class, firstOrderId)
+                .setRdfFile(BlobProxy.generateProxy(uniqueRdf().getBytes(StandardCharsets.UTF_8))));
+
+        RdfBlobEntity rdfBlob = rdfBlobRepository.findById(sha256(rdf)).orElseThrow();
+
+        assertThat(rdfBlob.getReferenceCount()).isEqualTo(1);
+        assertThat(largeObjectExists(rdfBlob.getLargeObjectId())).isTrue();
+    }
+
+    private long persistOrder(byte[] rdfFile) {
+        return transactionTemplate.execute(status -> {
+            GithubRepositoryOrderEntity order
+                    = GithubRepositoryOrderEntity.newOrder("dedup-owner", "dedup-repository", GithubRepositoryFilter.DEFAULT);
+            entityManager.persist(order);
+
+            GithubRepositoryOrderEntityLobs lobs = new GithubRepositoryOrderEntityLobs();
+            lobs.setOrderEntity(order);
+            lobs.setRdfFile(BlobProxy.generateProxy(rdfFile));
+            entityManager.persist(lobs);
+
+            return order.getId();
+        });
+    }
+
+    private long persistAnalysis(long orderId, byte[] rdfBlob) {
+        return transactionTemplate.execute(status -> {
+            GithubRepositoryOrderAnalysisEntity analysis = new GithubRepositoryOrderAnalysisEntity();
+            analysis.setGithubRepositoryOrder(entityManager.getReference(GithubRepositoryOrderEntity.class, orderId));
+            analysis.setMetricId("dedupMetric");
+            analysis.setAnalysisType(AnalysisType.RATING);
+            analysis.setRdfBlob(BlobProxy.generateProxy(rdfBlob));
+            entityManager.persist(analysis);
+            return analysis.getId();
+        });
+    }
+
+    private long rdfFileLargeObjectId(long orderId) {
+
+        // the first column is the rdf file of the orders
+        RdfBlobColumn column = RdfBlobColumn.resolveAll(entityManagerFactory).get(0);
+
+        List<Long> largeObjectIds = jdbcTemplate.queryForList(String.format("select %s from %s where %s = ?",
+                column.blobColumn, column.tableName, column.idColumn), Long.class, orderId);
+
+        return largeObjectIds.get(0);
+    }
+
+    private boolean largeObjectExists(long largeObjectId) {
+        return jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_largeobject_metadata where oid = cast(? as oid))",
+                Boolean.class, largeObjectId);
+    }
+
+    private static String uniqueRdf() {
+        return String.format("<urn:order:%s> <urn:p> <urn:o> .%n", UUID.randomUUID());
+    }
+
+    private static byte[] gzip(String content) {
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return compressed.toByteArray();
+    }
+
+    private static String sha256(String content) {
+
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
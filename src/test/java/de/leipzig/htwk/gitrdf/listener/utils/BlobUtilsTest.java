@@ -0,0 +1,67 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.sql.rowset.serial.SerialBlob;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.SneakyThrows;
+
+class BlobUtilsTest {
+
+    private static final byte[] TURTLE = """
+            @prefix git: <https://purl.archive.org/git2rdf/v2/git2RDFLab-git#> .
+
+            <https://github.com/dotnet/core/commit/0a1b2c> a git:Commit ;
+                git:commitHash "0a1b2c" .
+            """.repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @SneakyThrows
+    void readsUncompressedBlobsAsTheyAreStored() {
+
+        SerialBlob blob = new SerialBlob(TURTLE);
+
+        assertThat(BlobUtils.isGzipCompressed(blob)).isFalse();
+        assertThat(readUncompressed(blob)).isEqualTo(TURTLE);
+    }
+
+    @Test
+    @SneakyThrows
+    void decompressesGzipCompressedBlobsWhileTheyAreRead() {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long uncompressedLength = BlobUtils.writeGzipCompressed(new ByteArrayInputStream(TURTLE), outputStream);
+
+        SerialBlob blob = new SerialBlob(outputStream.toByteArray());
+
+        assertThat(uncompressedLength).isEqualTo(TURTLE.length);
+        assertThat(blob.length()).isLessThan(TURTLE.length / 10);
+        assertThat(BlobUtils.isGzipCompressed(blob)).isTrue();
+        assertThat(readUncompressed(blob)).isEqualTo(TURTLE);
+    }
+
+    @Test
+    @SneakyThrows
+    void treatsBlobsShorterThanTheGzipHeaderAsUncompressed() {
+
+        SerialBlob blob = new SerialBlob(new byte[] { 0x1f });
+
+        assertThat(BlobUtils.isGzipCompressed(blob)).isFalse();
+        assertThat(readUncompressed(blob)).containsExactly(0x1f);
+    }
+
+    @SneakyThrows
+    private static byte[] readUncompressed(SerialBlob blob) {
+        try (InputStream inputStream = BlobUtils.openUncompressedStream(blob)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.Random;
+
+import javax.sql.rowset.serial.SerialBlob;
+
+import org.junit.jupiter.api.Test;
+
+import de.leipzig.htwk.gitrdf.listener.api.exception.RangeNotSatisfiableException;
+import de.leipzig.htwk.gitrdf.listener.domain.model.ByteRange;
+import lombok.SneakyThrows;
+
+class ByteRangeUtilsTest {
+
+    private static final int FILE_LENGTH = 64 * 1024 + 17;
+
+    @Test
+    void resolvesOpenEndedRange() {
+
+        ByteRange range = ByteRangeUtils.resolveSingleRangeOrThrowException("bytes=1000-", FILE_LENGTH);
+
+        assertThat(range.getStart()).isEqualTo(1000);
+        assertThat(range.getEnd()).isEqualTo(FILE_LENGTH - 1);
+        assertThat(range.toContentRangeHeaderValue(FILE_LENGTH))
+                .isEqualTo("bytes 1000-" + (FILE_LENGTH - 1) + "/" + FILE_LENGTH);
+    }
+
+    @Test
+    void resolvesSuffixRangeAndClampsEndToFileLength() {
+
+        assertThat(ByteRangeUtils.resolveSingleRangeOrThrowException("bytes=-100", FILE_LENGTH))
+                .isEqualTo(new ByteRange(FILE_LENGTH - 100, 100));
+
+        assertThat(ByteRangeUtils.resolveSingleRangeOrThrowException("bytes=10-" + (FILE_LENGTH * 2), FILE_LENGTH))
+                .isEqualTo(new ByteRange(10, FILE_LENGTH - 10));
+    }
+
+    @Test
+    void rejectsMultipleRanges() {
+        assertThatThrownBy(() -> ByteRangeUtils.resolveSingleRangeOrThrowException("bytes=0-9,20-29", FILE_LENGTH))
+                .isInstanceOf(RangeNotSatisfiableException.class);
+    }
+
+    @Test
+    void rejectsRangesOutsideOfTheFileAndMalformedRanges() {
+
+        assertThatThrownBy(() -> ByteRangeUtils.resolveSingleRangeOrThrowException("bytes=" + FILE_LENGTH + "-", FILE_LENGTH))
+                .isInstanceOf(RangeNotSatisfiableException.class);
+
+        assertThatThrownBy(() -> ByteRangeUtils.resolveSingleRangeOrThrowException("bytes=-0", FILE_LENGTH))
+                .isInstanceOf(RangeNotSatisfiableException.class);
+
+        assertThatThrownBy(() -> ByteRangeUtils.resolveSingleRangeOrThrowException("lines=0-9", FILE_LENGTH))
+                .isInstanceOf(RangeNotSatisfiableException.class);
+
+        assertThatThrownBy(() -> ByteRangeUtils.resolveSingleRangeOrThrowException("bytes=0-", 0))
+                .isInstanceOf(RangeNotSatisfiableException.class);
+    }
+
+    @Test
+    @SneakyThrows
+    void resumedDownloadsMatchTheFullFile() {
+
+        byte[] file = new byte[FILE_LENGTH];
+        new Random(42).nextBytes(file);
+        SerialBlob blob = new SerialBlob(file);
+
+        ByteArrayOutputStream fullDownload = new ByteArrayOutputStream();
+        BlobUtils.copyRange(blob, ByteRange.full(FILE_LENGTH), fullDownload);
+
+        assertThat(fullDownload.toByteArray()).isEqualTo(file);
+
+        for (int disconnectedAt : new int[] {1, 4096, FILE_LENGTH / 2, FILE_LENGTH - 1}) {
+
+            ByteArrayOutputStream resumedDownload = new ByteArrayOutputStream();
+            BlobUtils.copyRange(blob, new ByteRange(0, disconnectedAt), resumedDownload);
+
+            ByteRange remainingRange
+                    = ByteRangeUtils.resolveSingleRangeOrThrowException("bytes=" + disconnectedAt + "-", FILE_LENGTH);
+            BlobUtils.copyRange(blob, remainingRange, resumedDownload);
+
+            assertThat(resumedDownload.toByteArray()).isEqualTo(fullDownload.toByteArray());
+        }
+    }
+
+    @Test
+    void servesRangesOnlyIfTheIfRangeValidatorMatches() {
+
+        String eTag = "\"42-4e21-ttl\"";
+        Instant lastModified = Instant.parse("2024-03-01T10:15:30Z");
+
+        assertThat(ByteRangeUtils.isIfRangeMatching(null, eTag, lastModified)).isTrue();
+        assertThat(ByteRangeUtils.isIfRangeMatching(eTag, eTag, lastModified)).isTrue();
+        assertThat(ByteRangeUtils.isIfRangeMatching("Fri, 01 Mar 2024 10:15:30 GMT", eTag, lastModified)).isTrue();
+
+        assertThat(ByteRangeUtils.isIfRangeMatching("\"42-4e20-ttl\"", eTag, lastModified)).isFalse();
+        assertThat(ByteRangeUtils.isIfRangeMatching("W/" + eTag, eTag, lastModified)).isFalse();
+        assertThat(ByteRangeUtils.isIfRangeMatching("Fri, 01 Mar 2024 10:15:29 GMT", eTag, lastModified)).isFalse();
+        assertThat(ByteRangeUtils.isIfRangeMatching("yesterday", eTag, lastModified)).isFalse();
+    }
+
+}
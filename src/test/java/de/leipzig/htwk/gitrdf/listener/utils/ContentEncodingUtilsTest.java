@@ -0,0 +1,40 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.ContentEncoding;
+
+class ContentEncodingUtilsTest {
+
+    @Test
+    void negotiatesTheContentCodingWithTheHighestQuality() {
+        assertThat(ContentEncodingUtils.negotiate("gzip, deflate, br")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncodingUtils.negotiate("deflate, gzip")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncodingUtils.negotiate("gzip;q=0.5, deflate")).isEqualTo(ContentEncoding.DEFLATE);
+        assertThat(ContentEncodingUtils.negotiate("x-gzip")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncodingUtils.negotiate("*")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncodingUtils.negotiate("gzip;q=0, *")).isEqualTo(ContentEncoding.DEFLATE);
+    }
+
+    @Test
+    void doesNotEncodeWithoutAcceptedContentCoding() {
+        assertThat(ContentEncodingUtils.negotiate(null)).isNull();
+        assertThat(ContentEncodingUtils.negotiate("")).isNull();
+        assertThat(ContentEncodingUtils.negotiate("identity")).isNull();
+        assertThat(ContentEncodingUtils.negotiate("br, zstd")).isNull();
+        assertThat(ContentEncodingUtils.negotiate("gzip;q=0, deflate;q=0")).isNull();
+        assertThat(ContentEncodingUtils.negotiate("*;q=0")).isNull();
+    }
+
+    @Test
+    void acceptsGzipUnlessItIsRefused() {
+        assertThat(ContentEncodingUtils.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(ContentEncodingUtils.acceptsGzip("*")).isTrue();
+        assertThat(ContentEncodingUtils.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(ContentEncodingUtils.acceptsGzip("deflate")).isFalse();
+        assertThat(ContentEncodingUtils.acceptsGzip(null)).isFalse();
+    }
+
+}
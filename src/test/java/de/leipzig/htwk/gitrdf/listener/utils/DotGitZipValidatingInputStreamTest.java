@@ -0,0 +1,108 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.leipzig.htwk.gitrdf.listener.utils.DotGitZipValidatingInputStream.InvalidDotGitZipEntryException;
+
+class DotGitZipValidatingInputStreamTest {
+
+    @Test
+    void passesValidZipFileThroughUnchanged() throws IOException {
+
+        byte[] zipFile = zip(".git/", ".git/HEAD", ".git/objects/", ".git/objects/pack/pack-1.pack");
+
+        assertThat(readFully(new DotGitZipValidatingInputStream(new ByteArrayInputStream(zipFile)))).isEqualTo(zipFile);
+    }
+
+    @Test
+    void failsAtFirstEntryOutsideOfDotGitDirectoryBeforeTheWholeFileIsRead() throws IOException {
+
+        byte[] zipFile = zip(".git/", ".git/HEAD", "src/", ".git/objects/pack/pack-1.pack");
+        CountingInputStream source = new CountingInputStream(zipFile);
+
+        assertThatThrownBy(() -> readFully(new DotGitZipValidatingInputStream(source)))
+                .isInstanceOf(InvalidDotGitZipEntryException.class)
+                .hasMessageContaining("src/");
+
+        assertThat(source.position).isLessThan(zipFile.length);
+    }
+
+    @Test
+    void rejectsOtherTopLevelDirectory() {
+
+        byte[] zipFile = zip("project/", "project/.git/HEAD");
+
+        assertThatThrownBy(() -> readFully(new DotGitZipValidatingInputStream(new ByteArrayInputStream(zipFile))))
+                .isInstanceOf(InvalidDotGitZipEntryException.class);
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[777];
+        int read;
+
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] zip(String... entryNames) {
+
+        Random random = new Random(42);
+        ByteArrayOutputStream zipFile = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipFile)) {
+
+            for (String entryName : entryNames) {
+
+                zipOutputStream.putNextEntry(new ZipEntry(entryName));
+
+                if (!entryName.endsWith("/")) {
+                    // random content doesn't compress, so the entries span many reads
+                    byte[] content = new byte[64 * 1024];
+                    random.nextBytes(content);
+                    zipOutputStream.write(content);
+                }
+
+                zipOutputStream.closeEntry();
+            }
+
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        return zipFile.toByteArray();
+    }
+
+    private static class CountingInputStream extends ByteArrayInputStream {
+
+        private long position;
+
+        private CountingInputStream(byte[] content) {
+            super(content);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int read = super.read(b, off, len);
+            position += Math.max(read, 0);
+            return read;
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.junit.jupiter.api.Test;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.RdfFormat;
+
+class RdfFormatUtilsTest {
+
+    private static final String TURTLE = """
+            @prefix git: <https://purl.archive.org/git2rdf/v2/git2RDFLab-git#> .
+            @prefix xsd: <http://www.w3.org/2001/XMLSchema#> .
+
+            <https://github.com/dotnet/core/commit/0a1b2c> a git:Commit ;
+                git:commitHash "0a1b2c" ;
+                git:authorName "Ada \\"Lovelace\\"" ;
+                git:authorDate "2024-01-01T10:00:00Z"^^xsd:dateTime ;
+                git:commitMessage \"\"\"first line
+            second line\"\"\"@en ;
+                git:parent [ git:commitHash "ffffff" ] .
+            """;
+
+    @Test
+    void fallsBackToTheStoredFileWithoutSpecificRdfFormat() {
+        assertThat(RdfFormatUtils.negotiate(null)).isNull();
+        assertThat(RdfFormatUtils.negotiate(" ")).isNull();
+        assertThat(RdfFormatUtils.negotiate("*/*")).isNull();
+        assertThat(RdfFormatUtils.negotiate("application/octet-stream")).isNull();
+        assertThat(RdfFormatUtils.negotiate("application/*")).isNull();
+        assertThat(RdfFormatUtils.negotiate("not a media type")).isNull();
+    }
+
+    @Test
+    void selectsTheRequestedRdfFormat() {
+        assertThat(RdfFormatUtils.negotiate("text/turtle")).isEqualTo(RdfFormat.TURTLE);
+        assertThat(RdfFormatUtils.negotiate("application/n-triples")).isEqualTo(RdfFormat.N_TRIPLES);
+        assertThat(RdfFormatUtils.negotiate("application/rdf+thrift")).isEqualTo(RdfFormat.RDF_THRIFT);
+    }
+
+    @Test
+    void prefersTheHighestQualityAndKeepsTheHeaderOrderOtherwise() {
+        assertThat(RdfFormatUtils.negotiate("text/turtle;q=0.5, application/n-triples")).isEqualTo(RdfFormat.N_TRIPLES);
+        assertThat(RdfFormatUtils.negotiate("application/rdf+thrift, text/turtle")).isEqualTo(RdfFormat.RDF_THRIFT);
+        assertThat(RdfFormatUtils.negotiate("application/n-triples;q=0, text/turtle;q=0.1")).isEqualTo(RdfFormat.TURTLE);
+        assertThat(RdfFormatUtils.negotiate("application/n-triples, */*;q=0.1")).isEqualTo(RdfFormat.N_TRIPLES);
+        assertThat(RdfFormatUtils.negotiate("*/*, application/n-triples;q=0.1")).isNull();
+    }
+
+    @Test
+    void transcodesTurtleWithoutChangingTheGraph() {
+
+        Graph expected = parse(TURTLE.getBytes(StandardCharsets.UTF_8), Lang.TURTLE);
+
+        for (RdfFormat rdfFormat : RdfFormat.values()) {
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            RdfFormatUtils.transcodeTurtle(
+                    new ByteArrayInputStream(TURTLE.getBytes(StandardCharsets.UTF_8)), outputStream, rdfFormat);
+
+            Graph actual = parse(outputStream.toByteArray(), toLang(rdfFormat));
+
+            assertThat(actual.size()).as(rdfFormat.name()).isEqualTo(expected.size());
+            assertThat(actual.isIsomorphicWith(expected)).as(rdfFormat.name()).isTrue();
+        }
+    }
+
+    @Test
+    void writesOneTriplePerLineAsNTriples() {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        RdfFormatUtils.transcodeTurtle(
+                new ByteArrayInputStream(TURTLE.getBytes(StandardCharsets.UTF_8)), outputStream, RdfFormat.N_TRIPLES);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8).lines())
+                .hasSize(7)
+                .allSatisfy(line -> assertThat(line).endsWith(" ."));
+    }
+
+    private static Graph parse(byte[] content, Lang lang) {
+        Graph graph = GraphFactory.createDefaultGraph();
+        RDFParser.source(new ByteArrayInputStream(content)).lang(lang).parse(graph);
+        return graph;
+    }
+
+    private static Lang toLang(RdfFormat rdfFormat) {
+        return switch (rdfFormat) {
+            case TURTLE -> Lang.TURTLE;
+            case N_TRIPLES -> Lang.NTRIPLES;
+            case RDF_THRIFT -> Lang.RDFTHRIFT;
+        };
+    }
+
+}
@@ -0,0 +1,90 @@
+package de.leipzig.htwk.gitrdf.listener.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.leipzig.htwk.gitrdf.listener.domain.model.enums.ContentEncoding;
+import lombok.SneakyThrows;
+
+class ThresholdCompressingOutputStreamTest {
+
+    private static final int THRESHOLD = 1024;
+
+    private static final byte[] TURTLE = "<https://github.com/dotnet/core/commit/0a1b2c> git:commitHash \"0a1b2c\" .\n"
+            .repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @SneakyThrows
+    void writesBodiesUpToTheThresholdUncompressed() {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AtomicInteger compressionListenerCalls = new AtomicInteger();
+
+        ThresholdCompressingOutputStream compressingOutputStream = new ThresholdCompressingOutputStream(
+                outputStream, ContentEncoding.GZIP, 6, THRESHOLD, compressionListenerCalls::incrementAndGet);
+
+        compressingOutputStream.write(TURTLE, 0, THRESHOLD - 1);
+        compressingOutputStream.write(TURTLE[THRESHOLD - 1]);
+        compressingOutputStream.flush();
+
+        // nothing reaches the response before the decision is made
+        assertThat(outputStream.size()).isZero();
+
+        compressingOutputStream.close();
+
+        assertThat(compressingOutputStream.isCompressing()).isFalse();
+        assertThat(compressionListenerCalls).hasValue(0);
+        assertThat(outputStream.toByteArray()).containsExactly(Arrays.copyOf(TURTLE, THRESHOLD));
+    }
+
+    @Test
+    @SneakyThrows
+    void compressesBodiesAboveTheThresholdWithTheGivenContentCoding() {
+
+        for (ContentEncoding contentEncoding : ContentEncoding.values()) {
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            AtomicInteger compressionListenerCalls = new AtomicInteger();
+
+            ThresholdCompressingOutputStream compressingOutputStream = new ThresholdCompressingOutputStream(
+                    outputStream, contentEncoding, 6, THRESHOLD, () -> {
+                        // called before any byte was written
+                        assertThat(outputStream.size()).isZero();
+                        compressionListenerCalls.incrementAndGet();
+                    });
+
+            for (int offset = 0; offset < TURTLE.length; offset += 100) {
+                compressingOutputStream.write(TURTLE, offset, Math.min(100, TURTLE.length - offset));
+            }
+
+            compressingOutputStream.close();
+
+            assertThat(compressingOutputStream.isCompressing()).as(contentEncoding.name()).isTrue();
+            assertThat(compressionListenerCalls).as(contentEncoding.name()).hasValue(1);
+            assertThat(outputStream.size()).as(contentEncoding.name()).isLessThan(TURTLE.length / 10);
+            assertThat(decompress(outputStream.toByteArray(), contentEncoding)).as(contentEncoding.name()).isEqualTo(TURTLE);
+        }
+    }
+
+    @SneakyThrows
+    private static byte[] decompress(byte[] compressed, ContentEncoding contentEncoding) {
+
+        try (InputStream inputStream = contentEncoding == ContentEncoding.GZIP
+                ? new GZIPInputStream(new ByteArrayInputStream(compressed))
+                : new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+
+            return inputStream.readAllBytes();
+        }
+    }
+
+}